@@ -0,0 +1,81 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scans 100,000 patient profiles for a name given in a different case, as MedicalRecord.findOrCreatePatient
+ * does, once with Profile.equals on the stored keys and once with the comparison it replaced, which
+ * lower-cased both names of both profiles on every call. Run with: mvn -P jmh verify
+ * @author Sriya Vemuri, Zeel Patel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileEqualsBenchmark {
+    private static final int PATIENTS = 100_000;
+
+    private Profile[] profiles;
+    private Profile target;
+
+    /**
+     * Builds the profiles to scan, with the target last.
+     */
+    @Setup
+    public void setUp() {
+        profiles = new Profile[PATIENTS];
+        for (int i = 0; i < PATIENTS; i++) {
+            profiles[i] = new Profile("Patient" + i, "Lastname" + (i % 977), new Date(1950 + i % 50, 1 + i % 12, 1 + i % 28));
+        }
+        Profile last = profiles[PATIENTS - 1];
+        target = new Profile(last.getFname().toUpperCase(), last.getLname().toUpperCase(), last.getDob());
+    }
+
+    /**
+     * Scans with Profile.equals.
+     * @return number of profiles found.
+     */
+    @Benchmark
+    public int scanWithKeys() {
+        int found = 0;
+        for (Profile profile : profiles) {
+            if (profile.equals(target)) found++;
+        }
+        return found;
+    }
+
+    /**
+     * Scans with the comparison Profile.equals used before it stored case-folded keys.
+     * @return number of profiles found.
+     */
+    @Benchmark
+    public int scanWithLowerCase() {
+        int found = 0;
+        for (Profile profile : profiles) {
+            if (equalsLowerCase(profile, target)) found++;
+        }
+        return found;
+    }
+
+    /**
+     * Helper method. Compares two profiles the way Profile.equals did before it stored case-folded keys.
+     */
+    private static boolean equalsLowerCase(Profile a, Profile b) {
+        return a.getFname().toLowerCase().equals(b.getFname().toLowerCase()) &&
+                a.getLname().toLowerCase().equals(b.getLname().toLowerCase()) &&
+                a.getDob().equals(b.getDob());
+    }
+}
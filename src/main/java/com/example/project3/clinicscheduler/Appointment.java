@@ -7,10 +7,16 @@ import com.example.project3.util.Date;
  * @author Sriya Vemuri, Zeel Patel
  */
 public class Appointment implements Comparable<Appointment> {
+    /** Number of low bits of the date/time key holding the slot index. */
+    public static final int SLOT_BITS = 4;
+
     private Date date;
     private Timeslot timeslot;
     private Person patient;   // Changed from Profile to Person
     private Person provider;  // Changed from Provider to Person
+    private int slotCount = 1; // consecutive timeslots taken, starting at timeslot
+    private long dateTimeKey;  // epoch day and slot index packed, kept in step with date and timeslot
+    private long bookingSequence; // set by the ScheduleEngine each time the appointment is indexed
 
     /**
      * Default constructor, also known as the no-argument constructor.
@@ -18,9 +24,10 @@ public class Appointment implements Comparable<Appointment> {
      */
     public Appointment() {
         this.date = new Date(2000, 01, 01);
-        this.timeslot = new Timeslot(9,0);
+        this.timeslot = Timeslot.of(9, 0);
         this.patient = new Patient(new Profile("Olivia", "Benson", new Date(1968, 2, 7)), null);
         this.provider = new Doctor(new Profile("Patel", "Patel", new Date(1968, 3, 7)), Location.EDISON, Specialty.FAMILY, "123456789");
+        updateDateTimeKey();
     }
 
     /**
@@ -36,6 +43,24 @@ public class Appointment implements Comparable<Appointment> {
         this.timeslot = timeslot;
         this.patient = patient;
         this.provider = provider;
+        updateDateTimeKey();
+    }
+
+    /**
+     * Parameterized Constructor of an Appointment Object taking several consecutive timeslots.
+     * Overloading constructor.
+     * @param date date in the format of a Date object.
+     * @param timeslot first timeslot of the appointment.
+     * @param patient patient of type Person (subclass Patient or others).
+     * @param provider provider of type Person (subclass Provider).
+     * @param slotCount number of consecutive timeslots the appointment takes, at least 1.
+     */
+    public Appointment(Date date, Timeslot timeslot, Person patient, Person provider, int slotCount) {
+        this(date, timeslot, patient, provider);
+        if (slotCount < 1) {
+            throw new IllegalArgumentException("Invalid slot count: " + slotCount);
+        }
+        this.slotCount = slotCount;
     }
 
     /**
@@ -52,6 +77,7 @@ public class Appointment implements Comparable<Appointment> {
      */
     public void setDate(Date date) {
         this.date = date;
+        updateDateTimeKey();
     }
 
     /**
@@ -68,6 +94,55 @@ public class Appointment implements Comparable<Appointment> {
      */
     public void setTimeslot(Timeslot timeslot) {
         this.timeslot = timeslot;
+        updateDateTimeKey();
+    }
+
+    /**
+     * Obtains the date and time of the appointment as one number, so appointments order by date and then
+     * time with a single comparison. The epoch day sits above the low SLOT_BITS bits, which hold the slot index.
+     * @return packed date/time key.
+     */
+    public long getDateTimeKey() {
+        return dateTimeKey;
+    }
+
+    /**
+     * Obtains when the appointment was last indexed by the ScheduleEngine, relative to the others.
+     * @return booking sequence number, later bookings and reschedules having larger numbers.
+     */
+    long getBookingSequence() {
+        return bookingSequence;
+    }
+
+    /**
+     * Records when the appointment is indexed by the ScheduleEngine.
+     * @param bookingSequence booking sequence number.
+     */
+    void setBookingSequence(long bookingSequence) {
+        this.bookingSequence = bookingSequence;
+    }
+
+    /**
+     * Helper method. Recomputes the date/time key after the date or timeslot changes.
+     */
+    private void updateDateTimeKey() {
+        dateTimeKey = ((long) date.toEpochDay() << SLOT_BITS) | timeslot.getSlotIndex();
+    }
+
+    /**
+     * Obtains the number of consecutive timeslots the appointment takes.
+     * @return slot count, at least 1.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Obtains the slots of the day the appointment covers.
+     * @return mask with a bit set for each slot index covered, 0 if it runs past the end of its session.
+     */
+    public int getSpanMask() {
+        return timeslot.spanMask(slotCount);
     }
 
     /**
@@ -103,13 +178,14 @@ public class Appointment implements Comparable<Appointment> {
     }
 
     /**
-     * Tests if two appointments are duplicates of each other.
+     * Tests if two appointments are duplicates of each other. An office visit never equals an imaging
+     * appointment, which also compares its room, so equals stays symmetric and matches hashCode.
      * @param obj The object to be compared.
      * @return true if they are duplicates, false otherwise.
      */
     @Override
     public boolean equals(Object obj) {
-        if (obj instanceof Appointment) {
+        if (obj != null && obj.getClass() == getClass()) {
             Appointment appointment = (Appointment) obj;
             return ((appointment.date.equals(this.date))
                     && (appointment.timeslot.equals(this.timeslot))
@@ -119,6 +195,19 @@ public class Appointment implements Comparable<Appointment> {
         return false;
     }
 
+    /**
+     * Hash code matching equals, built from the date, timeslot, patient and provider.
+     * Not cached, since an appointment can be rescheduled.
+     * @return hash code of the appointment.
+     */
+    @Override
+    public int hashCode() {
+        int h = date.hashCode();
+        h = 31 * h + timeslot.hashCode();
+        h = 31 * h + patient.hashCode();
+        return 31 * h + provider.hashCode();
+    }
+
     /**
      * Returns a textual representation of the Appointment object.
      * @return a string in the format of mm/dd/yyyy timeslot Patient [Provider].
@@ -130,20 +219,16 @@ public class Appointment implements Comparable<Appointment> {
     }
 
     /**
-     * Compare two Appointment objects based on their "key" value.
+     * Compare two Appointment objects based on their "key" value: the date/time key, then the provider and patient.
      * @param appointment the appointment object to be compared.
      * @return return 1 if this appointment occurs after "appointment", return -1 if it occurs earlier;
      * 0 if they occur at the same time.
      */
     @Override
     public int compareTo(Appointment appointment) {
-        // Compare dates first
-        int dateComparison = this.date.compareTo(appointment.date);
-        if (dateComparison != 0) return dateComparison;
-
-        // Compare timeslots
-        int timeslotComparison = this.timeslot.compareTo(appointment.timeslot);
-        if (timeslotComparison != 0) return timeslotComparison;
+        // Compare dates and timeslots first, as one packed key
+        int dateTimeComparison = Long.compare(this.dateTimeKey, appointment.dateTimeKey);
+        if (dateTimeComparison != 0) return dateTimeComparison;
 
         // Compare providers (using the profile comparison)
         int providerComparison = this.provider.getProfile().compareTo(appointment.provider.getProfile());
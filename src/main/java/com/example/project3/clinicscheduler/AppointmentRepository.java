@@ -0,0 +1,62 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Store of appointments, with the providers they are booked with and the patients who attend them, that
+ * can be kept in memory or on disk. The ClinicManager keeps the visits it has billed in one, so the visit
+ * history of a patient outlives the schedule it was booked on.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public interface AppointmentRepository extends Closeable {
+    /**
+     * Registers a provider, so appointments read back are booked with the same provider object.
+     * @param provider the provider.
+     */
+    void addProvider(Provider provider);
+
+    /**
+     * Finds a registered provider.
+     * @param profile profile of the provider.
+     * @return the provider, null if none is registered with that profile.
+     */
+    Provider findProvider(Profile profile);
+
+    /**
+     * Stores an appointment, replacing the one its patient had at the same date and time, whoever it was
+     * booked with: a patient has at most one stored appointment at a time.
+     * @param appointment the appointment.
+     */
+    void add(Appointment appointment);
+
+    /**
+     * Removes an appointment.
+     * @param appointment the appointment.
+     * @return true if it was stored, false otherwise.
+     */
+    boolean remove(Appointment appointment);
+
+    /**
+     * Walks the appointments between two dates, ordered by date and time.
+     * @param from first date, included.
+     * @param to last date, included.
+     * @param action receives each appointment.
+     */
+    void forEachBetween(Date from, Date to, Consumer<Appointment> action);
+
+    /**
+     * Finds a patient with their visits: every stored appointment of theirs, ordered by date and time.
+     * @param profile profile of the patient.
+     * @return the patient, null if no appointment of theirs is stored.
+     */
+    Patient findPatient(Profile profile);
+
+    /**
+     * Makes the changes so far durable, for stores that keep anything on disk.
+     * @throws IOException if they cannot be written.
+     */
+    void flush() throws IOException;
+}
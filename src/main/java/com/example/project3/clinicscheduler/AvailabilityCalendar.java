@@ -0,0 +1,155 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import java.util.HashMap;
+
+/**
+ * Availability calendar. Keeps one bitmask per provider per day, with one bit for each of the
+ * Timeslot.SLOTS_PER_DAY bookable slots; a set bit means the provider is booked at that slot.
+ * Availability checks are a single mask test, also for appointments spanning several slots, and the
+ * free slots of a day are a single mask read.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class AvailabilityCalendar {
+    public static final int ALL_SLOTS = (1 << Timeslot.SLOTS_PER_DAY) - 1;
+
+    private final HashMap<Provider, DayMasks> calendars = new HashMap<>(); // providers are equal when their profiles are
+
+    /**
+     * Checks if a provider is free at a date and timeslot.
+     * @param provider provider to check.
+     * @param date date requested.
+     * @param timeslot time requested.
+     * @return true if the provider is free, false otherwise.
+     */
+    public boolean isAvailable(Provider provider, Date date, Timeslot timeslot) {
+        return (bookedSlots(provider, date) & bit(timeslot)) == 0;
+    }
+
+    /**
+     * Checks if a provider is free for every slot of an appointment spanning several timeslots.
+     * @param provider provider to check.
+     * @param date date requested.
+     * @param timeslot first timeslot requested.
+     * @param slotCount number of consecutive timeslots.
+     * @return true if the provider is free, false otherwise.
+     * @throws IllegalArgumentException if the appointment runs past the end of its session.
+     */
+    public boolean isAvailable(Provider provider, Date date, Timeslot timeslot, int slotCount) {
+        return (bookedSlots(provider, date) & span(timeslot, slotCount)) == 0;
+    }
+
+    /**
+     * Obtains the slots a provider is booked at on a date.
+     * @param provider provider to check.
+     * @param date date requested.
+     * @return mask with bit i set if the provider is booked at slot index i.
+     */
+    public int bookedSlots(Provider provider, Date date) {
+        DayMasks days = calendars.get(provider);
+        return days == null ? 0 : (int) days.get(date.toEpochDay());
+    }
+
+    /**
+     * Obtains the day masks of a provider, creating them if the provider was never booked.
+     * Callers may hold on to the result; it stays valid across clear().
+     * @param provider provider to look up.
+     * @return day masks of the provider.
+     */
+    DayMasks masksOf(Provider provider) {
+        DayMasks days = calendars.get(provider);
+        if (days == null) {
+            days = new DayMasks();
+            calendars.put(provider, days);
+        }
+        return days;
+    }
+
+    /**
+     * Obtains the slots a provider is free at on a date.
+     * @param provider provider to check.
+     * @param date date requested.
+     * @return mask with bit i set if the provider is free at slot index i.
+     */
+    public int freeSlots(Provider provider, Date date) {
+        return ~bookedSlots(provider, date) & ALL_SLOTS;
+    }
+
+    /**
+     * Marks a provider as booked at a date and timeslot.
+     * @param provider provider being booked.
+     * @param date date of the appointment.
+     * @param timeslot time of the appointment.
+     */
+    public void book(Provider provider, Date date, Timeslot timeslot) {
+        book(provider, date, timeslot, 1);
+    }
+
+    /**
+     * Marks a provider as booked for every slot of an appointment spanning several timeslots.
+     * @param provider provider being booked.
+     * @param date date of the appointment.
+     * @param timeslot first timeslot of the appointment.
+     * @param slotCount number of consecutive timeslots.
+     * @throws IllegalArgumentException if the appointment runs past the end of its session.
+     */
+    public void book(Provider provider, Date date, Timeslot timeslot, int slotCount) {
+        int day = date.toEpochDay();
+        DayMasks days = masksOf(provider);
+        days.set(day, days.get(day) | span(timeslot, slotCount));
+    }
+
+    /**
+     * Marks a provider as free at a date and timeslot.
+     * @param provider provider being released.
+     * @param date date of the appointment.
+     * @param timeslot time of the appointment.
+     */
+    public void release(Provider provider, Date date, Timeslot timeslot) {
+        release(provider, date, timeslot, 1);
+    }
+
+    /**
+     * Marks a provider as free for every slot of an appointment spanning several timeslots.
+     * @param provider provider being released.
+     * @param date date of the appointment.
+     * @param timeslot first timeslot of the appointment.
+     * @param slotCount number of consecutive timeslots.
+     * @throws IllegalArgumentException if the appointment runs past the end of its session.
+     */
+    public void release(Provider provider, Date date, Timeslot timeslot, int slotCount) {
+        DayMasks days = calendars.get(provider);
+        if (days != null) {
+            int day = date.toEpochDay();
+            days.set(day, days.get(day) & ~span(timeslot, slotCount));
+        }
+    }
+
+    /**
+     * Removes every booking from the calendar.
+     */
+    public void clear() {
+        for (DayMasks days : calendars.values()) {
+            days.clear();
+        }
+    }
+
+    /**
+     * Helper method. Obtains the mask bit of a timeslot.
+     */
+    static int bit(Timeslot timeslot) {
+        return 1 << timeslot.getSlotIndex();
+    }
+
+    /**
+     * Helper method. Obtains the mask bits of an appointment spanning several timeslots.
+     * @throws IllegalArgumentException if the appointment runs past the end of its session.
+     */
+    static int span(Timeslot timeslot, int slotCount) {
+        int mask = timeslot.spanMask(slotCount);
+        if (mask == 0) {
+            throw new IllegalArgumentException(slotCount + " slots from " + timeslot + " run past the end of the session.");
+        }
+        return mask;
+    }
+}
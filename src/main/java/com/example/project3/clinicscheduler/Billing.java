@@ -0,0 +1,103 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.List;
+import com.example.project3.util.Sort;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Billing aggregation over the visit history, for statements of a period such as a month-end run. The
+ * BillingLedger keeps running totals of the live schedule only; billed visits move to the
+ * AppointmentRepository, so statements of past periods are aggregated here. Visits are grouped by the
+ * provider or patient's profile in one hashed pass and their service costs summed; large periods are
+ * reduced in parallel, each worker summing its own part of the list into its own map before the maps are
+ * merged in order. Every cost is a whole number of dollars, so the sums are exact whatever the merge
+ * order, and each group is named after its first visit in date and time order.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class Billing {
+    private static final int PARALLEL_THRESHOLD = 1 << 13; // visits below which a sequential pass is faster
+
+    /**
+     * Running total of one group during the reduction.
+     */
+    private static final class Total {
+        private final Person person;
+        private double amount;
+
+        /**
+         * Starts a total with one visit.
+         * @param person the provider or patient the group is named after.
+         * @param amount service cost of the visit.
+         */
+        Total(Person person, double amount) {
+            this.person = person;
+            this.amount = amount;
+        }
+
+        /**
+         * Adds a later total into this one, keeping this one's name.
+         * @param later total of visits after this one's first.
+         * @return this total.
+         */
+        Total add(Total later) {
+            amount += later.amount;
+            return this;
+        }
+    }
+
+    /**
+     * Reads the visits of a period from the visit history.
+     * @param history the visit history.
+     * @param from first date, included.
+     * @param to last date, included.
+     * @return the visits, ordered by date and time.
+     * @throws java.io.UncheckedIOException if the history cannot be read.
+     */
+    public static List<Appointment> visitsBetween(AppointmentRepository history, Date from, Date to) {
+        List<Appointment> visits = new List<>();
+        history.forEachBetween(from, to, visits::append);
+        return visits;
+    }
+
+    /**
+     * Totals the credit owed to each provider, ordered by last name, first name and date of birth.
+     * Visits whose provider is no longer on the provider list count for nothing.
+     * @param visits visits ordered by date and time.
+     * @return one line per provider.
+     */
+    public static BillingLedger.Line[] providerCredits(List<Appointment> visits) {
+        return aggregate(visits, Appointment::getProvider);
+    }
+
+    /**
+     * Totals the amount due from each patient, ordered by last name, first name and date of birth.
+     * @param visits visits ordered by date and time.
+     * @return one line per patient.
+     */
+    public static BillingLedger.Line[] patientBills(List<Appointment> visits) {
+        return aggregate(visits, Appointment::getPatient);
+    }
+
+    /**
+     * Helper method. Groups visits by the profile of one of their people, sums the costs and sorts the groups.
+     */
+    private static BillingLedger.Line[] aggregate(List<Appointment> visits, Function<Appointment, Person> party) {
+        Stream<Appointment> stream = visits.size() >= PARALLEL_THRESHOLD ? visits.parallelStream() : visits.stream();
+        LinkedHashMap<Profile, Total> totals = stream.collect(Collectors.toMap(
+                visit -> party.apply(visit).getProfile(),
+                visit -> new Total(party.apply(visit), visit.getServiceCost()),
+                Total::add,
+                LinkedHashMap::new));
+        BillingLedger.Line[] lines = new BillingLedger.Line[totals.size()];
+        int i = 0;
+        for (Total total : totals.values()) {
+            lines[i++] = new BillingLedger.Line(total.person, total.amount);
+        }
+        Sort.sort(lines, (line1, line2) -> Sort.BY_NAME_DOB.compare(line1.person(), line2.person()));
+        return lines;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.PrefixSums;
+import com.example.project3.util.Sort;
+import java.util.HashMap;
+import java.util.function.Function;
+
+/**
+ * Running billing ledger, posted to by the ScheduleEngine on every book, cancel and reschedule. Keeps
+ * the credit owed to each provider and the balance due from each patient, keyed by profile, so a
+ * statement reads one total per person instead of pricing every appointment again, and the charges of
+ * each day as prefix sums, so the charges between two dates are a subtraction. Amounts are kept in
+ * cents. Each patient is named after their first appointment in booking order, as the statements
+ * always were; when that appointment goes, the name is found again the next time it is needed.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class BillingLedger {
+    private static final Account[] NO_ACCOUNTS = new Account[0];
+
+    /**
+     * One line of a statement: a provider or patient and the total of their appointments.
+     * @param person the provider or patient.
+     * @param amount total service cost, in dollars.
+     */
+    public record Line(Person person, double amount) { }
+
+    /**
+     * Running total of one provider or patient.
+     */
+    private static final class Account {
+        private Person person;
+        private Appointment first; // appointment the account is named after, null once it is cancelled
+        private long cents;
+        private int count;
+    }
+
+    private final HashMap<Profile, Account> providers = new HashMap<>();
+    private final HashMap<Profile, Account> patients = new HashMap<>();
+    private final PrefixSums dailyCharges = new PrefixSums();
+    private final Function<Profile, Iterable<Appointment>> appointmentsOf;
+
+    /**
+     * Creates an empty ledger.
+     * @param appointmentsOf obtains the booked appointments of a patient, to rename an account with.
+     */
+    BillingLedger(Function<Profile, Iterable<Appointment>> appointmentsOf) {
+        this.appointmentsOf = appointmentsOf;
+    }
+
+    /**
+     * Posts a booked appointment.
+     * @param appointment the appointment, with its booking sequence set.
+     */
+    void post(Appointment appointment) {
+        long cents = centsOf(appointment);
+        credit(providers, appointment.getProvider(), appointment, cents);
+        credit(patients, appointment.getPatient(), appointment, cents);
+        dailyCharges.add(appointment.getDate().toEpochDay(), cents);
+    }
+
+    /**
+     * Reverses a posted appointment that is cancelled or about to be moved.
+     * @param appointment the appointment, with the fields it was posted with.
+     */
+    void reverse(Appointment appointment) {
+        long cents = centsOf(appointment);
+        debit(providers, appointment.getProvider(), appointment, cents);
+        debit(patients, appointment.getPatient(), appointment, cents);
+        dailyCharges.add(appointment.getDate().toEpochDay(), -cents);
+    }
+
+    /**
+     * Removes every account and charge.
+     */
+    void clear() {
+        providers.clear();
+        patients.clear();
+        dailyCharges.clear();
+    }
+
+    /**
+     * Obtains the credit owed to a provider.
+     * @param provider the provider.
+     * @return total service cost of the provider's appointments, in dollars.
+     */
+    public double creditOf(Person provider) {
+        return dollars(providers.get(provider.getProfile()));
+    }
+
+    /**
+     * Obtains the balance due from a patient.
+     * @param patient profile of the patient.
+     * @return total service cost of the patient's appointments, in dollars.
+     */
+    public double balanceOf(Profile patient) {
+        return dollars(patients.get(patient));
+    }
+
+    /**
+     * Obtains the charges of the appointments between two dates.
+     * @param from first date, included.
+     * @param to last date, included.
+     * @return total service cost of the appointments on those dates, in dollars.
+     */
+    public double chargesBetween(Date from, Date to) {
+        return dailyCharges.sum(from.toEpochDay(), to.toEpochDay()) / 100.0;
+    }
+
+    /**
+     * Obtains the credit owed to each provider, ordered by last name, first name and date of birth.
+     * @return one line per provider.
+     */
+    public Line[] providerCredits() {
+        return statement(providers, false);
+    }
+
+    /**
+     * Obtains the amount due from each patient, ordered by last name, first name and date of birth.
+     * @return one line per patient.
+     */
+    public Line[] patientBills() {
+        return statement(patients, true);
+    }
+
+    /**
+     * Helper method. Adds an appointment to the account of one of its people, opening the account if needed.
+     */
+    private static void credit(HashMap<Profile, Account> accounts, Person person, Appointment appointment, long cents) {
+        Account account = accounts.computeIfAbsent(person.getProfile(), profile -> new Account());
+        if (account.count++ == 0) {
+            account.person = person;
+            account.first = appointment;
+        }
+        account.cents += cents;
+    }
+
+    /**
+     * Helper method. Takes an appointment out of the account of one of its people, closing the account if it was the last.
+     */
+    private static void debit(HashMap<Profile, Account> accounts, Person person, Appointment appointment, long cents) {
+        Profile profile = person.getProfile();
+        Account account = accounts.get(profile);
+        if (account == null) {
+            return;
+        }
+        if (--account.count == 0) {
+            accounts.remove(profile);
+            return;
+        }
+        account.cents -= cents;
+        if (account.first == appointment) {
+            account.first = null;
+        }
+    }
+
+    /**
+     * Helper method. Lists the accounts as statement lines sorted by name, renaming patients whose first appointment went.
+     */
+    private Line[] statement(HashMap<Profile, Account> accounts, boolean rename) {
+        Account[] open = accounts.values().toArray(NO_ACCOUNTS);
+        Line[] lines = new Line[open.length];
+        for (int i = 0; i < open.length; i++) {
+            Account account = open[i];
+            if (rename && account.first == null) {
+                rename(account);
+            }
+            lines[i] = new Line(account.person, account.cents / 100.0);
+        }
+        Sort.sort(lines, (line1, line2) -> Sort.BY_NAME_DOB.compare(line1.person(), line2.person()));
+        return lines;
+    }
+
+    /**
+     * Helper method. Names a patient's account after their earliest booked appointment still on the schedule.
+     */
+    private void rename(Account account) {
+        for (Appointment appointment : appointmentsOf.apply(account.person.getProfile())) {
+            if (account.first == null || appointment.getBookingSequence() < account.first.getBookingSequence()) {
+                account.first = appointment;
+            }
+        }
+        if (account.first != null) {
+            account.person = account.first.getPatient();
+        }
+    }
+
+    /**
+     * Helper method. Obtains the service cost of an appointment in cents.
+     */
+    private static long centsOf(Appointment appointment) {
+        return Math.round(appointment.getServiceCost() * 100);
+    }
+
+    /**
+     * Helper method. Obtains the total of an account in dollars, 0 if there is no account.
+     */
+    private static double dollars(Account account) {
+        return account == null ? 0 : account.cents / 100.0;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Validation context for dates. Reads today from a clock once and keeps it, together with the last
+ * bookable day six months out, as epoch days, so checking a date against the window is a couple of
+ * integer comparisons. A fixed clock replays command files as of a past or future day.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class BookingWindow {
+    public static final int BOOKING_MONTHS = 6;
+
+    private final int today;
+    private final int lastDay;
+    private final long expiresAt; // clock millis at which today is over
+
+    /**
+     * Creates the booking window as of the current day on a clock.
+     * @param clock clock to read today from, in its own time zone.
+     */
+    public BookingWindow(Clock clock) {
+        LocalDate date = LocalDate.now(clock);
+        this.today = (int) date.toEpochDay();
+        this.lastDay = Date.plusMonths(today, BOOKING_MONTHS);
+        this.expiresAt = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Creates the booking window as of a given day.
+     * @param today the day to treat as today.
+     */
+    public BookingWindow(Date today) {
+        this.today = today.toEpochDay();
+        this.lastDay = Date.plusMonths(this.today, BOOKING_MONTHS);
+        this.expiresAt = Long.MAX_VALUE;
+    }
+
+    /**
+     * Obtains today as an epoch day.
+     * @return number of days from Jan. 1st, 1970 to today.
+     */
+    public int getToday() {
+        return today;
+    }
+
+    /**
+     * Obtains the last day of the window as an epoch day.
+     * @return number of days from Jan. 1st, 1970 to six months from today.
+     */
+    public int getLastDay() {
+        return lastDay;
+    }
+
+    /**
+     * Checks if the window still describes the current day of a clock.
+     * @param clock clock the window was created from.
+     * @return true if the clock has not passed midnight since, false otherwise.
+     */
+    public boolean isCurrent(Clock clock) {
+        return clock.millis() < expiresAt;
+    }
+
+    /**
+     * Checks if a date is after today.
+     * @param date date to check.
+     * @return true if after today, false if today or before today.
+     */
+    public boolean isAfterToday(Date date) {
+        return date.toEpochDay() > today;
+    }
+
+    /**
+     * Checks if a date falls between today and six months from today, both included.
+     * @param date date to check.
+     * @return true if within six months of today, false otherwise.
+     */
+    public boolean isWithinSixMonths(Date date) {
+        int day = date.toEpochDay();
+        return day >= today && day <= lastDay;
+    }
+
+    /**
+     * Checks if a date is today or in the future.
+     * @param date date to check.
+     * @return true if today or after today, false otherwise.
+     */
+    public boolean isTodayOrFuture(Date date) {
+        return date.toEpochDay() >= today;
+    }
+
+    /**
+     * Checks if an appointment can be booked on a valid calendar date: after today, within six
+     * months of today and not on a weekend.
+     * @param date valid calendar date to check.
+     * @return true if bookable, false otherwise.
+     */
+    public boolean isBookable(Date date) {
+        int day = date.toEpochDay();
+        return day > today && day <= lastDay && !Date.isWeekend(day);
+    }
+}
@@ -0,0 +1,1031 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.LineParseException;
+import com.example.project3.util.FileReportSink;
+import com.example.project3.util.List;
+import com.example.project3.util.ReportBuffer;
+import com.example.project3.util.Sort;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+/**
+ * Clinic manager. Holds the providers and the schedule, and carries out the validation and booking
+ * rules and the reports of the clinic. Every message is written to an output sink, so the same rules
+ * run behind the JavaFX front-end and the headless batch processor. Providers come from a ProviderRoster,
+ * which can be read on another thread, and are indexed by NPI and by location. Provider listings and reports are
+ * collected in a ReportBuffer and reach the sink in one piece, or stream to a file through exportReport.
+ * Once a ScheduleJournal is opened, every book, cancel and reschedule is recorded in it, and the schedule
+ * it holds is replayed when it is opened again. The visits billed by a statement are archived in an
+ * AppointmentRepository before the schedule is cleared, in memory unless a file-backed history is opened,
+ * so the visit history of a patient outlives the schedule.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ClinicManager {
+    private static final int SUGGESTION_COUNT = 3; // open slots suggested when a booking is rejected
+    private static final int EXPORT_CHUNK_CHARS = 1 << 15; // characters buffered before a write to an export file
+    private static final int CHECKPOINT_RECORDS = 1 << 14; // journal records after which a snapshot is taken
+
+    /**
+     * List to store all providers and technicians, and the engine holding all appointments
+     */
+    private List<Provider> providers = new List<>(0, true); // hashed, so reloading a roster checks duplicates in O(1)
+    private final HashMap<String, Doctor> doctorsByNpi = new HashMap<>();
+    private final EnumMap<Location, List<Provider>> providersByLocation = new EnumMap<>(Location.class);
+    private ScheduleEngine scheduleEngine = new ScheduleEngine();
+    private TechnicianRotation technicianRotation;
+    private final Consumer<String> output;
+    private ReportBuffer reportOutput; // reports go here; swapped for a file buffer while exporting
+    private final Clock clock;
+    private BookingWindow bookingWindow;
+    private ScheduleJournal journal; // null until openJournal
+    private AppointmentRepository history = new InMemoryAppointmentRepository(); // visits billed so far
+
+    /**
+     * Creates a clinic manager with no providers and an empty schedule, validating dates against the system clock.
+     * @param output sink receiving every message and report line.
+     */
+    public ClinicManager(Consumer<String> output) {
+        this(output, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a clinic manager with no providers and an empty schedule.
+     * @param output sink receiving every message and report line.
+     * @param clock clock giving today for date validation; a fixed clock replays a past or future day.
+     */
+    public ClinicManager(Consumer<String> output, Clock clock) {
+        this.output = output;
+        this.reportOutput = new ReportBuffer(output);
+        this.clock = clock;
+        this.bookingWindow = new BookingWindow(clock);
+    }
+
+    /**
+     * Obtains the booking window for today, reading the clock again only once the day is over.
+     * @return current booking window.
+     */
+    public BookingWindow getBookingWindow() {
+        if (!bookingWindow.isCurrent(clock)) {
+            bookingWindow = new BookingWindow(clock);
+        }
+        return bookingWindow;
+    }
+
+    /**
+     * Loads the providers from a text file and creates the technician rotation.
+     * @param file provider text file.
+     */
+    public void loadProviders(File file) {
+        ProviderRoster roster;
+        try {
+            roster = ProviderRoster.read(file.toPath());
+        } catch (IOException | UncheckedIOException e) {
+            roster = null;
+        }
+        addProviders(file.getName(), roster);
+    }
+
+    /**
+     * Adds the providers of a roster read from a provider file and creates the technician rotation.
+     * The roster can be read on another thread, but must be added on the thread using the manager.
+     * @param fileName name of the provider file, for error messages.
+     * @param roster providers read from the file, null if it could not be read.
+     */
+    public void addProviders(String fileName, ProviderRoster roster) {
+        try {
+            addRoster(fileName, roster);
+            createTechnicianRotation();
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * Runs a report into a file instead of the output, for example exportReport(file, manager::listByDateTime).
+     * The report streams through a FileChannel in chunks, so memory stays bounded however long it is.
+     * @param file file to write, replaced if it exists.
+     * @param report report to run.
+     * @return true if the report was written, false if the file could not be written.
+     */
+    public boolean exportReport(File file, Runnable report) {
+        ReportBuffer screen = reportOutput;
+        try (FileReportSink sink = new FileReportSink(file.toPath())) {
+            reportOutput = new ReportBuffer(sink, EXPORT_CHUNK_CHARS);
+            report.run();
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            output.accept("Error writing report to " + file.getName() + ".\n");
+            return false;
+        } finally {
+            reportOutput = screen;
+        }
+    }
+
+    /**
+     * Opens the journal of the schedule, loads its snapshot and replays it, then records every change in it. Call once the
+     * providers are loaded; bookings whose provider is no longer on the provider list, or which clash
+     * with the schedule, are skipped, and the bytes of damaged records are reported.
+     * @param file journal file, created if it does not exist.
+     * @param policy when changes are forced to disk.
+     * @return true if the journal is open, false if it could not be opened.
+     */
+    public boolean openJournal(Path file, ScheduleJournal.FsyncPolicy policy) {
+        if (journal != null) {
+            return true;
+        }
+        if (technicianRotation == null) {
+            output.accept("Load the providers before opening the schedule journal.\n");
+            return false;
+        }
+        ScheduleJournal opened = null;
+        try {
+            opened = new ScheduleJournal(file, policy);
+            JournalReplay replay = new JournalReplay();
+            int records = opened.replay(replay);
+            journal = opened;
+            if (journal.getDroppedBytes() > 0) {
+                output.accept("Schedule journal " + file.getFileName() + " is damaged: " + journal.getDroppedBytes()
+                        + " byte(s) could not be read and were dropped.\n");
+            }
+            if (records > 0) {
+                output.accept("Schedule restored from " + file.getFileName() + ": " + scheduleEngine.size()
+                        + " appointment(s)" + (replay.skipped > 0 ? ", " + replay.skipped + " change(s) skipped" : "") + ".\n");
+            }
+            if (journal.getRecordsSinceCheckpoint() >= CHECKPOINT_RECORDS) {
+                checkpointJournal();
+            }
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            output.accept("Error opening schedule journal " + file.getFileName() + ".\n");
+            closeQuietly(opened);
+            return false;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the schedule and closes the journal. Changes are no longer recorded.
+     */
+    public void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        checkpointJournal();
+        closeQuietly(journal);
+        journal = null;
+    }
+
+    /**
+     * Opens a visit history kept on disk in a directory, replacing the current history.
+     * @param directory directory of the history, created if it does not exist.
+     * @return true if the history is open, false if it could not be opened.
+     */
+    public boolean openHistory(Path directory) {
+        try {
+            setHistory(new FileAppointmentRepository(directory));
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            output.accept("Error opening visit history " + directory.getFileName() + ".\n");
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the repository visits are archived in, closing the current one. The providers loaded so
+     * far are registered with the new repository.
+     * @param repository the repository.
+     */
+    public void setHistory(AppointmentRepository repository) {
+        closeHistory();
+        for (Provider provider : providers) {
+            repository.addProvider(provider);
+        }
+        history = repository;
+    }
+
+    /**
+     * Obtains the repository visits are archived in.
+     * @return visit history.
+     */
+    public AppointmentRepository getHistory() {
+        return history;
+    }
+
+    /**
+     * Closes the visit history, writing out what it holds; an empty history in memory takes its place.
+     */
+    public void closeHistory() {
+        try {
+            history.close();
+        } catch (IOException | UncheckedIOException e) {
+            output.accept("Error saving the visit history.\n");
+        }
+        history = new InMemoryAppointmentRepository();
+    }
+
+    /**
+     * Obtains the providers loaded so far.
+     * @return list of providers.
+     */
+    public List<Provider> getProviders() {
+        return providers;
+    }
+
+    /**
+     * Obtains the providers at a location, in the order they were loaded.
+     * @param location the location.
+     * @return list of providers, empty if there are none.
+     */
+    public List<Provider> getProvidersAt(Location location) {
+        List<Provider> atLocation = providersByLocation.get(location);
+        return atLocation == null ? new List<>() : atLocation;
+    }
+
+    /**
+     * Obtains the engine holding the schedule.
+     * @return schedule engine.
+     */
+    public ScheduleEngine getScheduleEngine() {
+        return scheduleEngine;
+    }
+
+    /**
+     * Helper method. Adds the providers of a roster to the list and to the NPI and location indexes,
+     * reporting the lines that could not be parsed, and prints the providers.
+     * @param fileName name of the provider file.
+     * @param roster providers read from the file, null if it could not be read.
+     */
+    private void addRoster(String fileName, ProviderRoster roster) {
+        if (roster == null) {
+            reportOutput.accept("Error loading providers from file.\n");
+            return;
+        }
+        reportOutput.accept("Providers loaded to the list.\n");
+        for (LineParseException e : roster.getErrors()) {
+            reportOutput.accept("Error in " + fileName + " at " + e.getMessage() + "\n");
+        }
+        Provider[] loaded = roster.getProviders();
+        providers.ensureCapacity(providers.size() + loaded.length);
+        for (Provider provider : loaded) {
+            if (!providers.add(provider)) continue; // listed before, in this file or an earlier one
+            if (provider instanceof Doctor doctor) {
+                doctorsByNpi.putIfAbsent(doctor.getNpi(), doctor);
+            }
+            providersByLocation.computeIfAbsent(provider.getLocation(), location -> new List<>()).append(provider);
+            history.addProvider(provider);
+        }
+        printAllProviders();
+    }
+
+    /**
+     * Helper method. Lists the technicians in rotation order: the reverse of the order they were loaded in,
+     * so that it matches with test cases. The list is built afresh from the providers on every load.
+     * @return technicians in rotation order.
+     */
+    private Technician[] technicianRotationOrder() {
+        List<Technician> loaded = new List<>();
+        for (Provider provider : providers) {
+            if (provider instanceof Technician technician) {
+                loaded.append(technician);
+            }
+        }
+        Technician[] rotationOrder = new Technician[loaded.size()];
+        for (int i = 0; i < rotationOrder.length; i++) {
+            rotationOrder[i] = loaded.get(rotationOrder.length - i - 1);
+        }
+        return rotationOrder;
+    }
+
+    /**
+     * Creates the circular list of technicians for imaging appointments. If the technicians are the same
+     * as in the current rotation, the rotation is kept, so it carries on from the current technician.
+     */
+    private void createTechnicianRotation() {
+        reportOutput.accept("\nRotation list for the technicians.\n");
+        Technician[] rotationOrder = technicianRotationOrder();
+        if (technicianRotation == null || !Arrays.equals(technicianRotation.getTechnicians(), rotationOrder)) {
+            technicianRotation = new TechnicianRotation(rotationOrder,
+                    scheduleEngine.getProviderCalendar(), scheduleEngine.getRoomOccupancy());
+        }
+        for (int i = 0; i < rotationOrder.length; i++) {
+            Technician tech = rotationOrder[i];
+            reportOutput.accept(tech.getProfile().getFname().toUpperCase() + " "
+                    + tech.getProfile().getLname().toUpperCase()
+                    + " (" + tech.getLocation().name() + ")");
+            if (i < rotationOrder.length - 1) {
+                reportOutput.accept(" --> ");
+            } else {
+                reportOutput.accept("\n");
+            }
+        }
+    }
+
+    /**
+     * Prints all providers in the correct format in output Area.
+     */
+    private void printAllProviders() {
+        Provider[] providerArray = providers.stream().toArray(Provider[]::new);
+        Sort.sort(providerArray, Sort.BY_LAST_NAME);
+        for (Provider provider : providerArray) {
+            String prov = provider.toString();
+            reportOutput.accept(prov+ "\n");
+        }
+    }
+
+    /**
+     * T - Schedules technician appointment.
+     * @param apptDate appointment Date as a Date object
+     * @param patientProfile patient basic profile (name, dob)
+     * @param imagingType radiology room (xray, catscan, ultrasound)
+     * @param timeslot time for requested appointment
+     */
+    public void scheduleImagingAppointment(Date apptDate, Profile patientProfile, Radiology imagingType, Timeslot timeslot) {
+        int slotCount = imagingType.getSlotCount();
+        if (!fitsInSession(timeslot, slotCount, imagingType.toString())) {
+            return;
+        }
+        if (!scheduleEngine.isPatientAvailable(patientProfile, apptDate, timeslot, slotCount)) {
+            output.accept(formatPatientName(patientProfile) + " has an existing appointment at the same time slot.\n");
+            return;
+        }
+        Technician availableTechnician = findAvailableTechnician(apptDate, timeslot, imagingType);
+        if (availableTechnician == null) {
+            output.accept("Cannot find an available technician at all locations for " + imagingType + " at slot " + timeslot + ".\n");
+            if (technicianRotation != null) {
+                appendSuggestions(technicianRotation.findOpenSlots(imagingType, slotCount, apptDate, getBookingWindow(), SUGGESTION_COUNT));
+            }
+            return;
+        }
+        bookImagingAppointment(apptDate, timeslot, patientProfile, availableTechnician, imagingType);
+    }
+
+    /**
+     * Helper method. Checks that an appointment of several timeslots ends within its session, printing a message if not.
+     * @param timeslot first timeslot requested.
+     * @param slotCount number of consecutive timeslots the appointment takes.
+     * @param service name of the service, for the message.
+     * @return true if the appointment fits, false otherwise.
+     */
+    private boolean fitsInSession(Timeslot timeslot, int slotCount, String service) {
+        if (timeslot.spanMask(slotCount) != 0) {
+            return true;
+        }
+        output.accept(timeslot + " is too late for a " + slotCount * Timeslot.SLOT_DURATION_MINUTES
+                + "-minute " + service + " appointment.\n");
+        return false;
+    }
+
+    /**
+     * Books a new imaging appointment by adding it to the appointment list.
+     * @param appointmentDate The appointment date.
+     * @param appointmentTimeslot The appointment timeslot.
+     * @param patientProfile The patient's profile.
+     * @param availableTechnician The available technician.
+     * @param requestedRoom The requested imaging room.
+     */
+    private void bookImagingAppointment(Date appointmentDate, Timeslot appointmentTimeslot, Profile patientProfile, Technician availableTechnician, Radiology requestedRoom) {
+        Imaging newImagingAppointment = newImaging(appointmentDate, appointmentTimeslot, patientProfile, availableTechnician, requestedRoom);
+        scheduleEngine.book(newImagingAppointment);
+        journal(j -> j.logBook(newImagingAppointment, technicianRotation.getPosition()));
+        output.accept(newImagingAppointment + " booked.\n");
+    }
+
+    /**
+     * Finds an available technician by rotating through the technicians.
+     * @param date date requested
+     * @param timeslot time requested
+     * @param room room requested
+     * @return Technician available, null if none is.
+     */
+    private Technician findAvailableTechnician(Date date, Timeslot timeslot, Radiology room) {
+        if (technicianRotation == null) {
+            return null; // providers have not been loaded yet
+        }
+        return technicianRotation.next(date, timeslot, room, room.getSlotCount());
+    }
+
+    /**
+     * Finds a provider by their NPI, in the NPI index.
+     * @param npi NPI of the doctor.
+     * @return the first doctor loaded with that NPI, null if there is none.
+     */
+    public Provider findProviderByNPI(String npi) {
+        return doctorsByNpi.get(npi);
+    }
+
+    /**
+     * D - Schedules doctor appointment
+     * @param apptDate appointment Date
+     * @param patientProfile patient basic info (name and DOB)
+     * @param providerString requested provider as a string.
+     * @param timeslot time of requested appointment.
+     * @param providerByNPI NPI of requested doctor.
+     */
+    public void scheduleDoctorAppointment(Date apptDate, Profile patientProfile, String providerString, Timeslot timeslot, Provider providerByNPI) {
+        int slotCount = slotCountOf(providerByNPI);
+        if (providerByNPI instanceof Doctor doctor && !fitsInSession(timeslot, slotCount, doctor.getSpecialty().getSpecialty())) {
+            return;
+        }
+        if (!scheduleEngine.isPatientAvailable(patientProfile, apptDate, timeslot, slotCount)) {
+            output.accept(formatPatientName(patientProfile) + " has an existing appointment at the same time slot.\n");
+            return;
+        }
+        if (!scheduleEngine.isProviderAvailable(providerByNPI, apptDate, timeslot, slotCount)) {
+            output.accept(providerString + " is not available at slot " + timeslot + "\n");
+            appendSuggestions(scheduleEngine.findOpenSlots(providerByNPI, slotCount, apptDate, getBookingWindow(), SUGGESTION_COUNT));
+            return;
+        }
+        bookAppointment(apptDate, timeslot, patientProfile, providerByNPI);
+    }
+
+    /**
+     * Helper method. Obtains how many consecutive timeslots an office visit with a provider takes.
+     * @param provider provider of the visit.
+     * @return number of timeslots set by the doctor's specialty, 1 for any other provider.
+     */
+    private static int slotCountOf(Provider provider) {
+        return provider instanceof Doctor doctor ? doctor.getSpecialty().getSlotCount() : 1;
+    }
+
+    /**
+     * Helper method. Prints the open slots suggested after a booking is rejected.
+     * @param openSlots open slots, earliest first.
+     */
+    private void appendSuggestions(OpenSlot[] openSlots) {
+        if (openSlots.length == 0) {
+            output.accept("No open slots within six months.\n");
+            return;
+        }
+        output.accept("Next open slots:");
+        for (int i = 0; i < openSlots.length; i++) {
+            output.accept((i == 0 ? " " : ", ") + openSlots[i]);
+        }
+        output.accept("\n");
+    }
+
+    /**
+     * D Helper Method. Books an appointment by adding it to the appointment list.
+     * @param appointmentDate The appointment date.
+     * @param appointmentTimeslot The appointment timeslot.
+     * @param patientProfile The patient's profile.
+     * @param provider The provider for the appointment.
+     */
+    private void bookAppointment(Date appointmentDate, Timeslot appointmentTimeslot, Profile patientProfile, Provider provider) {
+        Appointment appointment = newOfficeVisit(appointmentDate, appointmentTimeslot, patientProfile, provider);
+        scheduleEngine.book(appointment);
+        journal(j -> j.logBook(appointment, ScheduleJournal.NO_ROTATION));
+        output.accept(appointment + " booked.\n");
+    }
+
+    /**
+     * Helper method. Creates an office visit with a provider.
+     * @param date The appointment date.
+     * @param timeslot The first timeslot of the appointment.
+     * @param patientProfile The patient's profile.
+     * @param provider The provider for the appointment.
+     * @return the appointment, not yet booked.
+     */
+    private static Appointment newOfficeVisit(Date date, Timeslot timeslot, Profile patientProfile, Provider provider) {
+        Patient patient = new Patient(patientProfile, new Visit(null, null));
+        return new Appointment(date, timeslot, patient, provider, slotCountOf(provider));
+    }
+
+    /**
+     * Helper method. Creates an imaging appointment with a technician.
+     * @param date The appointment date.
+     * @param timeslot The first timeslot of the appointment.
+     * @param patientProfile The patient's profile.
+     * @param technician The technician for the appointment.
+     * @param room The imaging room.
+     * @return the appointment, not yet booked.
+     */
+    private static Imaging newImaging(Date date, Timeslot timeslot, Profile patientProfile, Provider technician, Radiology room) {
+        Imaging imaging = new Imaging(date, timeslot, null, technician, room, room.getSlotCount());
+        imaging.setPatient(new Patient(patientProfile, new Visit(imaging, null)));
+        return imaging;
+    }
+
+    /**
+     * Formats the patient's name and date of birth into a readable string.
+     * @param patientProfile The patient's profile.
+     * @return The formatted patient name string.
+     */
+    private String formatPatientName(Profile patientProfile) {
+        String firstName = patientProfile.getFname();
+        String lastName = patientProfile.getLname();
+        return firstName.substring(0, 1).toUpperCase() + firstName.substring(1).toLowerCase() + " " +
+                lastName.substring(0, 1).toUpperCase() + lastName.substring(1).toLowerCase() + " " +
+                patientProfile.getDob();
+    }
+
+    /**
+     * Helper method. Checks if the date is a date where there can be an appointment.
+     * @param appointmentDate Requested appointment as a Date object
+     * @return false and prints reason if not a valid date for appointment, true otherwise.
+     */
+    public boolean isValidAppointmentDate(Date appointmentDate) {
+        if (!appointmentDate.isValid()) {
+            output.accept("Appointment date: " + appointmentDate + " is not a valid calendar date.\n");
+            return false;
+        }
+        BookingWindow window = getBookingWindow();
+        if (window.isBookable(appointmentDate)) {
+            return true;
+        }
+        if (!window.isAfterToday(appointmentDate)) {
+            output.accept("Appointment date: " + appointmentDate + " is today or a date before today.\n");
+            return false;
+        }
+        if (!window.isWithinSixMonths(appointmentDate)) {
+            output.accept("Appointment date: " + appointmentDate + " is not within six months.\n");
+            return false;
+        }
+        if (appointmentDate.isWeekend()) {
+            output.accept("Appointment date: " + appointmentDate + " is Saturday or Sunday.\n");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a DOB is a valid date to be a date of birth.
+     * @param DOB Date of Birth as a Date object
+     * @return true if it is a valid date to be a date of birth, false otherwise.
+     */
+    public boolean isValidDOB(Date DOB){
+        if (!DOB.isValid()){
+            output.accept("Patient dob: " + DOB + " is not a valid calendar date.\n");
+            return false;
+        }
+        if (getBookingWindow().isTodayOrFuture(DOB)){
+            output.accept("Patient dob: " + DOB + " is today or a date after today.\n");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * C - Cancels the appointment a patient has at a date and timeslot.
+     * @param apptDate appointment Date as a Date object
+     * @param timeslot time of the appointment
+     * @param patientProfile patient basic profile (name, dob)
+     * @return true if the appointment was cancelled, false if it does not exist.
+     */
+    public boolean cancelAppointment(Date apptDate, Timeslot timeslot, Profile patientProfile) {
+        Appointment appointmentToCancel = scheduleEngine.cancel(patientProfile, apptDate, timeslot);
+        String appointmentInfo = apptDate + " " + timeslot + " " + patientProfile.getFname() + " "
+                + patientProfile.getLname() + " " + patientProfile.getDob();
+        if (appointmentToCancel != null) {
+            journal(j -> j.logCancel(appointmentToCancel));
+            output.accept(appointmentInfo + " - appointment has been canceled.\n");
+            return true;
+        }
+        output.accept(appointmentInfo + " - appointment does not exist.\n");
+        return false;
+    }
+
+    /**
+     * R Helper Methdod. Checks if there is an appointment that can be rescheduled.
+     * @param oldDate old Date
+     * @param oldAppointmentTimeslot old appointment time
+     * @param patientProfile profile of the patient
+     * @return appointment that will be rescheduled, null otherwise.
+     */
+    private Appointment findAppointmentToReschedule(Date oldDate, Timeslot oldAppointmentTimeslot, Profile patientProfile) {
+        Appointment appointment = scheduleEngine.find(patientProfile, oldDate, oldAppointmentTimeslot);
+        if (appointment != null) {
+            return appointment;
+        }
+        // If no matching appointment was found, log a message and return null
+        output.accept(oldDate + " " + oldAppointmentTimeslot + " " +
+                patientProfile + " does not exist.\n");
+        return null;
+    }
+
+    /**
+     * R Helper Method. Checks if the patient is free for the whole appointment at the requested time.
+     * Other slots of the appointment being moved do not count, but its own starting time does.
+     * @param appointment appointment being rescheduled
+     * @param newAppointmentTimeslot Requested time of appointment
+     * @return true if the patient is free at requested time, false otherwise.
+     */
+    private boolean hasAppointmentAtThatTime(Appointment appointment, Timeslot newAppointmentTimeslot) {
+        return !appointment.getTimeslot().equals(newAppointmentTimeslot)
+                && scheduleEngine.isPatientAvailable(appointment, newAppointmentTimeslot);
+    }
+
+    /**
+     * R Helper Method. Names the service of an appointment: the imaging room or the doctor's specialty.
+     * @param appointment appointment to name.
+     * @return name of the service.
+     */
+    private static String serviceOf(Appointment appointment) {
+        if (appointment instanceof Imaging imaging) {
+            return imaging.getRoom().toString();
+        }
+        return appointment.getProvider() instanceof Doctor doctor ? doctor.getSpecialty().getSpecialty() : "office";
+    }
+
+    /**
+     * R Helper Method. Checks if the provider (and room, for imaging) is available at the requested time.
+     * @param appointment appointment being rescheduled
+     * @param newAppointmentTimeslot requested Time
+     * @return true is available, false otherwise.
+     */
+    private boolean checkIfDoctorAvailableAtNewTime(Appointment appointment, Timeslot newAppointmentTimeslot){
+        return scheduleEngine.isProviderAndRoomAvailable(appointment, newAppointmentTimeslot);
+    }
+
+    /**
+     * R - Reschedules a patient's appointment to a new time on the same day.
+     * @param oldDate date of the appointment
+     * @param oldAppointmentTimeslot current time of the appointment
+     * @param newAppointmentTimeslot requested time of the appointment
+     * @param patientProfile patient basic profile (name, dob)
+     * @return true if the appointment was rescheduled, false otherwise.
+     */
+    public boolean rescheduleAppointment(Date oldDate, Timeslot oldAppointmentTimeslot, Timeslot newAppointmentTimeslot, Profile patientProfile) {
+        Appointment appointmentToReschedule = findAppointmentToReschedule(oldDate, oldAppointmentTimeslot, patientProfile);
+        if (appointmentToReschedule == null) { return false; }
+        if (!fitsInSession(newAppointmentTimeslot, appointmentToReschedule.getSlotCount(), serviceOf(appointmentToReschedule))) {
+            return false;
+        }
+        boolean hasAppointmentatTime = hasAppointmentAtThatTime(appointmentToReschedule, newAppointmentTimeslot);
+        if (!hasAppointmentatTime) {
+            output.accept(patientProfile + " has an existing appointment at " +
+                    oldDate + " " + newAppointmentTimeslot + "\n");
+            return false;
+        }
+        boolean newTimeAvailable = checkIfDoctorAvailableAtNewTime(appointmentToReschedule, newAppointmentTimeslot);
+        if (!newTimeAvailable) {
+            output.accept("The new timeslot " + oldDate + " " + newAppointmentTimeslot +
+                    " is already booked by another patient.\n");
+            return false;
+        }
+        scheduleEngine.reschedule(appointmentToReschedule, newAppointmentTimeslot);
+        journal(j -> j.logReschedule(appointmentToReschedule, oldAppointmentTimeslot));
+        String providerInfo = appointmentToReschedule.getProvider().toString();
+        output.accept("Rescheduled to " + oldDate + " " +
+                newAppointmentTimeslot + " " +
+                patientProfile + " " +
+                providerInfo + "\n");
+        return true;
+    }
+
+    /**
+     * PA - List of all appointments, ordered by date/time/provider.
+     */
+    public void listByDateTime() {
+        try {
+            if (scheduleEngine.isEmpty()) {
+                reportOutput.accept("Schedule calendar is empty.\n");
+            } else {
+                reportOutput.accept("\n** List of appointments, ordered by date/time/provider.**\n");
+                for (Appointment appointment : scheduleEngine.byDateTimeProvider()) {
+                    reportOutput.accept(appointment.toString() + "\n");
+                }
+                reportOutput.accept("** end of list **");
+            }
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * PL - List appointments by county/date/time
+     */
+    public void listByLocation() {
+        try {
+            if (scheduleEngine.isEmpty()) {
+                reportOutput.accept("Schedule calendar is empty.\n");
+                return;
+            }
+            reportOutput.accept("\n** List of appointments, ordered by county/date/time. **\n");
+            for (Appointment appointment : scheduleEngine.byCountyDateTimePatient()) {
+                reportOutput.accept(appointment.toString());
+            }
+            reportOutput.accept("** end of list **\n");
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * PP - List of all appointments ordered by patient/date/time
+     */
+    public void listByPatient() {
+        try {
+            if (scheduleEngine.isEmpty()) {
+                reportOutput.accept("Schedule calendar is empty.\n");
+                return;
+            }
+            reportOutput.accept("\n** Appointments ordered by patient/date/time **\n");
+            for (Appointment appointment : scheduleEngine.byPatientDateTime()) {
+                reportOutput.accept(appointment.toString() + "\n");
+            }
+            reportOutput.accept("** end of list **\n");
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * PO - List of office appointments ordered by county/date/time.
+     */
+    public void listOfficeVisits() {
+        try {
+            if (scheduleEngine.isEmpty()) {
+                reportOutput.accept("Schedule calendar is empty.\n");
+                return;
+            }
+            reportOutput.accept("\n** List of office appointments ordered by county/date/time.**\n");
+            for (Appointment appointment : scheduleEngine.byCountyDateTimeProvider()) {
+                if (!(appointment instanceof Imaging)) {
+                    reportOutput.accept(appointment + "\n");
+                }
+            }
+            reportOutput.accept("** end of list **\n");
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * PI - List of radiology appointments by county/date/time
+     */
+    public void listImagingVisits() {
+        try {
+            if (scheduleEngine.isEmpty()) {
+                reportOutput.accept("Schedule calendar is empty.\n");
+                return;
+            }
+            reportOutput.accept("\n** List of radiology appointments ordered by county/date/time.**\n");
+            for (Appointment appointment : scheduleEngine.byCountyDateTimeProvider()) {
+                if (appointment instanceof Imaging) {
+                    reportOutput.accept(appointment + "\n");
+                }
+            }
+            reportOutput.accept("** end of list **\n");
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * PC - credit amount ordered by provider
+     */
+    public void printProviderCredits() {
+        try {
+            if (scheduleEngine.isEmpty()) {
+                reportOutput.accept("Schedule calendar is empty.");
+                return;
+            }
+            printSortedCreditAmounts(scheduleEngine.getLedger().providerCredits());
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * PC Helper Method. Prints the sorted list of credit amounts for each provider.
+     *
+     * @param credits The credit amount of each provider, in order.
+     */
+    private void printSortedCreditAmounts(BillingLedger.Line[] credits) {
+        reportOutput.accept("\n** Credit amount ordered by provider. **\n");
+        for (int i = 0; i < credits.length; i++) {
+            Profile profile = credits[i].person().getProfile();
+            reportOutput.accept("(" + (i + 1) + ") " +
+                    profile.getFname().toUpperCase() + " " +
+                    profile.getLname().toUpperCase() + " " +
+                    profile.getDob() + " [" +
+                    "credit amount: $" + String.format("%,.2f", credits[i].amount()) + "]\n");
+        }
+        reportOutput.accept("** end of list **\n");
+    }
+
+    /**
+     * PS - Billing statement ordered by patient.
+     */
+    public void printPatientBilling() {
+        try {
+            if (scheduleEngine.isEmpty()) {
+                reportOutput.accept("Schedule calendar is empty.\n");
+                return;
+            }
+            printSortedBillingStatements(scheduleEngine.getLedger().patientBills());
+            archiveVisits();
+            scheduleEngine.clear();
+            if (journal != null) {
+                checkpointJournal();
+            }
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * PS Helper Method. Prints the sorted billing statements for each patient.
+     *
+     * @param bills The amount due from each patient, in order.
+     */
+    private void printSortedBillingStatements(BillingLedger.Line[] bills) {
+        DecimalFormat formatter = new DecimalFormat("#,##0.00");
+        reportOutput.accept("\n** Billing statement ordered by patient. **\n");
+        for (int i = 0; i < bills.length; i++) {
+            reportOutput.accept("(" + (i + 1) + ") " + bills[i].person().getProfile() +
+                    " [due: $" + formatter.format(bills[i].amount()) + "]\n");
+        }
+        reportOutput.accept("** end of list **\n");
+    }
+
+    /**
+     * Lists the visits of a patient kept in the visit history, ordered by date and time.
+     * @param patientProfile The patient's profile.
+     */
+    public void listPatientHistory(Profile patientProfile) {
+        try {
+            Patient patient = history.findPatient(patientProfile);
+            if (patient == null) {
+                reportOutput.accept(formatPatientName(patientProfile) + " has no visits on record.\n");
+                return;
+            }
+            reportOutput.accept("\n** Visit history of " + patient.getProfile() + " **\n");
+            for (Visit visit = patient.getVisits(); visit != null; visit = visit.getNext()) {
+                reportOutput.accept(visit.getAppointment() + "\n");
+            }
+            reportOutput.accept("** end of list **\n");
+        } catch (UncheckedIOException e) {
+            reportOutput.accept("Error reading the visit history.\n");
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * Prints the credit owed to each provider and the amount due from each patient for the visits kept in
+     * the visit history between two dates, aggregated by Billing.
+     * @param from first date, included.
+     * @param to last date, included.
+     */
+    public void printHistoryStatements(Date from, Date to) {
+        try {
+            List<Appointment> visits = Billing.visitsBetween(history, from, to);
+            if (visits.isEmpty()) {
+                reportOutput.accept("No visits on record from " + from + " to " + to + ".\n");
+                return;
+            }
+            reportOutput.accept("\n** Visits billed from " + from + " to " + to + ": " + visits.size() + " **\n");
+            printSortedCreditAmounts(Billing.providerCredits(visits));
+            printSortedBillingStatements(Billing.patientBills(visits));
+        } catch (UncheckedIOException e) {
+            reportOutput.accept("Error reading the visit history.\n");
+        } finally {
+            reportOutput.flush();
+        }
+    }
+
+    /**
+     * Helper method. Archives the appointments of the schedule in the visit history once they are billed.
+     */
+    private void archiveVisits() {
+        try {
+            for (Appointment appointment : scheduleEngine.toArray()) {
+                history.add(appointment);
+            }
+            history.flush();
+        } catch (IOException | UncheckedIOException e) {
+            reportOutput.accept("Error saving the visit history.\n");
+        }
+    }
+
+    /**
+     * Helper method. Records a change in the journal, if one is open, taking a snapshot once enough changes pile up.
+     * @param change records the change.
+     */
+    private void journal(Consumer<ScheduleJournal> change) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            change.accept(journal);
+        } catch (UncheckedIOException | IllegalStateException | IllegalArgumentException e) {
+            journalFailed();
+            return;
+        }
+        if (journal.getRecordsSinceCheckpoint() >= CHECKPOINT_RECORDS) {
+            checkpointJournal();
+        }
+    }
+
+    /**
+     * Helper method. Snapshots the schedule and the position of the technician rotation, emptying the journal.
+     */
+    private void checkpointJournal() {
+        try {
+            journal.checkpoint(scheduleEngine.toArray(), technicianRotation.getPosition());
+        } catch (IOException | UncheckedIOException | IllegalStateException e) {
+            journalFailed();
+        }
+    }
+
+    /**
+     * Helper method. Stops recording changes after the journal could not be written.
+     */
+    private void journalFailed() {
+        output.accept("Error writing the schedule journal; changes are no longer saved.\n");
+        closeQuietly(journal);
+        journal = null;
+    }
+
+    /**
+     * Helper method. Closes a journal, ignoring errors.
+     * @param toClose journal to close, may be null.
+     */
+    private static void closeQuietly(ScheduleJournal toClose) {
+        if (toClose == null) {
+            return;
+        }
+        try {
+            toClose.close();
+        } catch (IOException e) {
+            // already reported, or nothing left to save
+        }
+    }
+
+    /**
+     * Applies the changes read back from the journal to the schedule, without any message per change.
+     */
+    private class JournalReplay implements ScheduleJournal.Replay {
+        private final HashMap<Profile, Provider> providersByProfile = new HashMap<>();
+        private int skipped;
+
+        /**
+         * Creates a replay against the loaded providers.
+         */
+        JournalReplay() {
+            for (Provider provider : providers) {
+                providersByProfile.putIfAbsent(provider.getProfile(), provider);
+            }
+        }
+
+        /**
+         * Books an appointment again, skipping it if its provider is gone or it clashes.
+         */
+        @Override
+        public void book(Date date, Timeslot timeslot, Profile patient, Profile provider, Radiology room) {
+            Provider booked = providersByProfile.get(provider);
+            boolean imaging = room != null;
+            if (booked == null || imaging != (booked instanceof Technician)) {
+                skipped++;
+                return;
+            }
+            Appointment appointment = imaging ? newImaging(date, timeslot, patient, booked, room)
+                    : newOfficeVisit(date, timeslot, patient, booked);
+            if (!scheduleEngine.book(appointment)) {
+                skipped++;
+            }
+        }
+
+        /**
+         * Cancels an appointment again.
+         */
+        @Override
+        public void cancel(Profile patient, Date date, Timeslot timeslot) {
+            if (scheduleEngine.cancel(patient, date, timeslot) == null) {
+                skipped++;
+            }
+        }
+
+        /**
+         * Moves an appointment again.
+         */
+        @Override
+        public void reschedule(Profile patient, Date date, Timeslot from, Timeslot to) {
+            Appointment appointment = scheduleEngine.find(patient, date, from);
+            if (appointment == null || !scheduleEngine.reschedule(appointment, to)) {
+                skipped++;
+            }
+        }
+
+        /**
+         * Moves the technician rotation back to where it was.
+         */
+        @Override
+        public void rotate(int position) {
+            try {
+                technicianRotation.setPosition(position);
+            } catch (IllegalArgumentException e) {
+                skipped++;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.project3.clinicscheduler;
+
+/**
+ * Slot masks of consecutive days, indexed by epoch day. The array grows in both directions
+ * as earlier or later days are booked, so any day is one array read away. It doubles at least, with
+ * the new room on the side that grew, so booking day by day further out either way copies it only
+ * a logarithmic number of times.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class DayMasks {
+    private static final int INITIAL_DAYS = 32;
+    private int firstDay;
+    private long[] masks = new long[0];
+
+    /**
+     * Obtains the mask of a day.
+     * @param day epoch day.
+     * @return mask of the day, 0 if nothing was ever set on it.
+     */
+    long get(int day) {
+        int offset = day - firstDay;
+        return (offset >= 0 && offset < masks.length) ? masks[offset] : 0;
+    }
+
+    /**
+     * Changes the mask of a day, growing the array if the day is outside of it.
+     * @param day epoch day.
+     * @param mask new mask of the day.
+     */
+    void set(int day, long mask) {
+        if (mask == 0 && get(day) == 0) {
+            return;
+        }
+        if (masks.length == 0) {
+            masks = new long[INITIAL_DAYS];
+            firstDay = day;
+        } else if (day < firstDay) { // the new room goes below, where the array grew
+            long[] grown = new long[Math.max(masks.length * 2, masks.length + firstDay - day)];
+            int shift = grown.length - masks.length;
+            System.arraycopy(masks, 0, grown, shift, masks.length);
+            masks = grown;
+            firstDay -= shift;
+        } else if (day - firstDay >= masks.length) {
+            long[] grown = new long[Math.max(masks.length * 2, day - firstDay + 1)];
+            System.arraycopy(masks, 0, grown, 0, masks.length);
+            masks = grown;
+        }
+        masks[day - firstDay] = mask;
+    }
+
+    /**
+     * Resets the mask of every day to 0, keeping the array.
+     */
+    void clear() {
+        java.util.Arrays.fill(masks, 0);
+    }
+}
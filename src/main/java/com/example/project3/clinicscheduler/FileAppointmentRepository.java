@@ -0,0 +1,225 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.LsmStore;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+/**
+ * Appointment repository kept on disk in an LsmStore, so years of appointments can be stored without
+ * holding them on the heap; the blocks of the dates and patients in use are paged into memory by the
+ * store's block cache. Each appointment is stored twice, under a key by date, time and patient for range
+ * scans, and under a key by patient, date and time for visit histories. A patient has at most one stored
+ * appointment at a time: storing another one replaces it. Providers are registered in memory, as they are
+ * loaded from the provider file on every run; an appointment whose provider is not registered is read
+ * back with a plain Person holding the provider's profile.
+ * <pre>
+ * date key    'D', date/time key (long, sign flipped), patient key
+ * patient key 'P', folded last name, 0, folded first name, 0, epoch day of birth (int, sign flipped)
+ * history key patient key, date/time key (long, sign flipped)
+ * value       epoch day (int), slot index, slot count, room ordinal + 1 (0 if none), patient profile, provider profile
+ * </pre>
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class FileAppointmentRepository implements AppointmentRepository {
+    private static final byte BY_DATE = 'D';
+    private static final byte BY_PATIENT = 'P';
+    private static final Radiology[] ROOMS = Radiology.values();
+
+    private final LsmStore store;
+    private final HashMap<Profile, Provider> providers = new HashMap<>();
+
+    /**
+     * Opens the repository in a directory, creating it if needed.
+     * @param directory directory holding the store.
+     * @throws IOException if the store cannot be opened.
+     */
+    public FileAppointmentRepository(Path directory) throws IOException {
+        store = new LsmStore(directory);
+    }
+
+    /**
+     * Registers a provider.
+     * @param provider the provider.
+     */
+    @Override
+    public void addProvider(Provider provider) {
+        providers.put(provider.getProfile(), provider);
+    }
+
+    /**
+     * Finds a registered provider.
+     * @param profile profile of the provider.
+     * @return the provider, null if none is registered with that profile.
+     */
+    @Override
+    public Provider findProvider(Profile profile) {
+        return providers.get(profile);
+    }
+
+    /**
+     * Stores an appointment, replacing the one its patient had at the same time.
+     * @param appointment the appointment.
+     */
+    @Override
+    public void add(Appointment appointment) {
+        byte[] patient = patientKey(appointment.getPatient().getProfile());
+        byte[] value = encode(appointment);
+        store.put(dateKey(appointment.getDateTimeKey(), patient), value);
+        store.put(historyKey(patient, appointment.getDateTimeKey()), value);
+    }
+
+    /**
+     * Removes an appointment.
+     * @param appointment the appointment.
+     * @return true if it was stored, false otherwise.
+     */
+    @Override
+    public boolean remove(Appointment appointment) {
+        byte[] patient = patientKey(appointment.getPatient().getProfile());
+        byte[] dateKey = dateKey(appointment.getDateTimeKey(), patient);
+        byte[] value = store.get(dateKey);
+        if (value == null || !decode(value).equals(appointment)) {
+            return false;
+        }
+        store.delete(dateKey);
+        store.delete(historyKey(patient, appointment.getDateTimeKey()));
+        return true;
+    }
+
+    /**
+     * Walks the appointments between two dates, ordered by date and time.
+     * @param from first date, included.
+     * @param to last date, included.
+     * @param action receives each appointment.
+     */
+    @Override
+    public void forEachBetween(Date from, Date to, Consumer<Appointment> action) {
+        long first = (long) from.toEpochDay() << Appointment.SLOT_BITS;
+        long last = ((long) to.toEpochDay() + 1) << Appointment.SLOT_BITS;
+        store.scan(dateKey(first, new byte[0]), dateKey(last, new byte[0]), (key, value) -> action.accept(decode(value)));
+    }
+
+    /**
+     * Finds a patient with their visits, ordered by date and time.
+     * @param profile profile of the patient.
+     * @return the patient, null if no appointment of theirs is stored.
+     */
+    @Override
+    public Patient findPatient(Profile profile) {
+        byte[] patient = patientKey(profile);
+        Patient found = new Patient(profile, null);
+        Visit[] last = new Visit[1];
+        store.scan(patient, after(patient), (key, value) -> {
+            Appointment appointment = decode(value);
+            Visit visit = new Visit(appointment, null);
+            if (last[0] == null) {
+                found.setProfile(appointment.getPatient().getProfile());
+                found.setVisits(visit);
+            } else {
+                last[0].setNext(visit);
+            }
+            last[0] = visit;
+        });
+        return last[0] == null ? null : found;
+    }
+
+    /**
+     * Writes the appointments stored since the last flush to disk.
+     * @throws IOException if they cannot be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        store.flush();
+    }
+
+    /**
+     * Flushes the repository and closes the store.
+     * @throws IOException if the store cannot be flushed.
+     */
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+
+    /**
+     * Helper method. Encodes a profile as a key: folded names, so profiles equal ignoring case have
+     * the same key, then the date of birth.
+     */
+    private static byte[] patientKey(Profile profile) {
+        byte[] lname = profile.getLnameKey().getBytes(StandardCharsets.UTF_8);
+        byte[] fname = profile.getFnameKey().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(1 + lname.length + 1 + fname.length + 1 + 4).put(BY_PATIENT)
+                .put(lname).put((byte) 0).put(fname).put((byte) 0)
+                .putInt(profile.getDob().toEpochDay() ^ Integer.MIN_VALUE).array();
+    }
+
+    /**
+     * Helper method. Builds the key of an appointment by date and time.
+     */
+    private static byte[] dateKey(long dateTimeKey, byte[] patient) {
+        return ByteBuffer.allocate(1 + 8 + patient.length).put(BY_DATE)
+                .putLong(dateTimeKey ^ Long.MIN_VALUE).put(patient).array();
+    }
+
+    /**
+     * Helper method. Builds the key of an appointment by patient.
+     */
+    private static byte[] historyKey(byte[] patient, long dateTimeKey) {
+        return ByteBuffer.allocate(patient.length + 8).put(patient).putLong(dateTimeKey ^ Long.MIN_VALUE).array();
+    }
+
+    /**
+     * Helper method. Obtains the first key after every key starting with a prefix.
+     */
+    private static byte[] after(byte[] prefix) {
+        byte[] key = prefix.clone();
+        for (int i = key.length - 1; i >= 0; i--) {
+            if (++key[i] != 0) {
+                return key;
+            }
+        }
+        return new byte[] {(byte) 0xFF, (byte) 0xFF}; // above every key, which all start with a letter
+    }
+
+    /**
+     * Helper method. Encodes an appointment as a value.
+     */
+    private static byte[] encode(Appointment appointment) {
+        Profile patient = appointment.getPatient().getProfile();
+        Profile provider = appointment.getProvider().getProfile();
+        ByteBuffer out = ByteBuffer.allocate(7 + ScheduleSnapshot.encodedLength(patient) + ScheduleSnapshot.encodedLength(provider));
+        out.putInt(appointment.getDate().toEpochDay())
+                .put((byte) appointment.getTimeslot().getSlotIndex())
+                .put((byte) appointment.getSlotCount())
+                .put((byte) (appointment instanceof Imaging imaging ? imaging.getRoom().ordinal() + 1 : 0));
+        ScheduleSnapshot.putProfile(out, patient);
+        ScheduleSnapshot.putProfile(out, provider);
+        return out.array();
+    }
+
+    /**
+     * Helper method. Decodes an appointment, booked with the registered provider if there is one.
+     */
+    private Appointment decode(byte[] value) {
+        ByteBuffer in = ByteBuffer.wrap(value);
+        Date date = Date.fromEpochDay(in.getInt());
+        Timeslot timeslot = Timeslot.fromSlotIndex(in.get());
+        int slotCount = in.get();
+        int room = in.get();
+        Patient patient = new Patient(ScheduleSnapshot.getProfile(in), null);
+        Profile providerProfile = ScheduleSnapshot.getProfile(in);
+        Person provider = providers.get(providerProfile);
+        if (provider == null) {
+            provider = new Person(providerProfile);
+        }
+        if (room > 0) {
+            return new Imaging(date, timeslot, patient, provider, ROOMS[room - 1], slotCount);
+        }
+        return new Appointment(date, timeslot, patient, provider, slotCount);
+    }
+}
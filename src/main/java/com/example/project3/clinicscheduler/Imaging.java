@@ -23,6 +23,21 @@ public class Imaging extends Appointment {
         this.room = room;
     }
 
+    /**
+     * Constructor for an Imaging appointment taking as many consecutive timeslots as the service needs.
+     *
+     * @param date Date of the appointment.
+     * @param timeslot First timeslot of the appointment.
+     * @param patient Person object representing the patient.
+     * @param provider Person object representing the technician.
+     * @param room Type of imaging service (X-ray, Ultrasound, CAT scan).
+     * @param slotCount Number of consecutive timeslots the appointment takes, at least 1.
+     */
+    public Imaging(Date date, Timeslot timeslot, Person patient, Person provider, Radiology room, int slotCount) {
+        super(date, timeslot, patient, provider, slotCount);
+        this.room = room;
+    }
+
     /**
      * Gets the imaging room type (X-ray, Ultrasound, CAT scan).
      *
@@ -56,5 +71,15 @@ public class Imaging extends Appointment {
         }
         return false;
     }
+
+    /**
+     * Hash code matching equals: the appointment hash combined with the room.
+     *
+     * @return hash code of the imaging appointment.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + room.ordinal();
+    }
 }
 
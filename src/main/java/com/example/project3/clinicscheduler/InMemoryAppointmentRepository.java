@@ -0,0 +1,130 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Appointment repository held on the heap: appointments in a tree by date and time, and in a hash map
+ * by patient. Nothing survives the application.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class InMemoryAppointmentRepository implements AppointmentRepository {
+    private final HashMap<Profile, Provider> providers = new HashMap<>();
+    private final TreeMap<Long, ArrayList<Appointment>> byDateTime = new TreeMap<>();
+    private final HashMap<Profile, ArrayList<Appointment>> byPatient = new HashMap<>();
+
+    /**
+     * Registers a provider.
+     * @param provider the provider.
+     */
+    @Override
+    public void addProvider(Provider provider) {
+        providers.put(provider.getProfile(), provider);
+    }
+
+    /**
+     * Finds a registered provider.
+     * @param profile profile of the provider.
+     * @return the provider, null if none is registered with that profile.
+     */
+    @Override
+    public Provider findProvider(Profile profile) {
+        return providers.get(profile);
+    }
+
+    /**
+     * Stores an appointment, replacing the one its patient had at the same time.
+     * @param appointment the appointment.
+     */
+    @Override
+    public void add(Appointment appointment) {
+        ArrayList<Appointment> sameTime = byDateTime.get(appointment.getDateTimeKey());
+        if (sameTime != null) {
+            Profile patient = appointment.getPatient().getProfile();
+            for (Appointment stored : sameTime) {
+                if (stored.getPatient().getProfile().equals(patient)) {
+                    remove(stored);
+                    break;
+                }
+            }
+        }
+        byDateTime.computeIfAbsent(appointment.getDateTimeKey(), key -> new ArrayList<>()).add(appointment);
+        byPatient.computeIfAbsent(appointment.getPatient().getProfile(), key -> new ArrayList<>()).add(appointment);
+    }
+
+    /**
+     * Removes an appointment.
+     * @param appointment the appointment.
+     * @return true if it was stored, false otherwise.
+     */
+    @Override
+    public boolean remove(Appointment appointment) {
+        ArrayList<Appointment> sameTime = byDateTime.get(appointment.getDateTimeKey());
+        if (sameTime == null || !sameTime.remove(appointment)) {
+            return false;
+        }
+        if (sameTime.isEmpty()) {
+            byDateTime.remove(appointment.getDateTimeKey());
+        }
+        Profile patient = appointment.getPatient().getProfile();
+        ArrayList<Appointment> visits = byPatient.get(patient);
+        visits.remove(appointment);
+        if (visits.isEmpty()) {
+            byPatient.remove(patient);
+        }
+        return true;
+    }
+
+    /**
+     * Walks the appointments between two dates, ordered by date and time.
+     * @param from first date, included.
+     * @param to last date, included.
+     * @param action receives each appointment.
+     */
+    @Override
+    public void forEachBetween(Date from, Date to, Consumer<Appointment> action) {
+        long first = (long) from.toEpochDay() << Appointment.SLOT_BITS;
+        long last = ((long) to.toEpochDay() + 1) << Appointment.SLOT_BITS;
+        for (ArrayList<Appointment> sameTime : byDateTime.subMap(first, last).values()) {
+            sameTime.forEach(action);
+        }
+    }
+
+    /**
+     * Finds a patient with their visits, ordered by date and time.
+     * @param profile profile of the patient.
+     * @return the patient, null if no appointment of theirs is stored.
+     */
+    @Override
+    public Patient findPatient(Profile profile) {
+        ArrayList<Appointment> visits = byPatient.get(profile);
+        if (visits == null) {
+            return null;
+        }
+        ArrayList<Appointment> ordered = new ArrayList<>(visits);
+        ordered.sort(Comparator.comparingLong(Appointment::getDateTimeKey));
+        Visit first = null;
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            first = new Visit(ordered.get(i), first);
+        }
+        return new Patient(ordered.get(0).getPatient().getProfile(), first);
+    }
+
+    /**
+     * Does nothing: nothing is kept on disk.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Does nothing: there is nothing to release.
+     */
+    @Override
+    public void close() {
+    }
+}
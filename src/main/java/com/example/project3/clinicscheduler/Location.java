@@ -1,5 +1,8 @@
 package com.example.project3.clinicscheduler;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Defines the locations of the providers with the county and zip code.
  * @author Sriya Vemuri, Zeel Patel
@@ -21,6 +24,7 @@ public enum Location {
     private final String location;
     private final String county;
     private final String zip;
+    private static final int[] COUNTY_RANKS = countyRanks();
 
     /**
      * Constructor. Location information
@@ -57,4 +61,31 @@ public enum Location {
     public String getZip() {
         return zip;
     }
+
+    /**
+     * Obtain the position of the county in alphabetical order, for sorting without comparing Strings.
+     * Locations in the same county have the same rank.
+     * @return number of distinct counties ordered before this location's county.
+     */
+    public int getCountyRank() {
+        return COUNTY_RANKS[ordinal()];
+    }
+
+    /**
+     * Helper method. Ranks the county of every location.
+     */
+    private static int[] countyRanks() {
+        Location[] locations = values();
+        int[] ranks = new int[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            Set<String> before = new HashSet<>();
+            for (Location other : locations) {
+                if (other.county.compareTo(locations[i].county) < 0) {
+                    before.add(other.county);
+                }
+            }
+            ranks[i] = before.size();
+        }
+        return ranks;
+    }
 }
\ No newline at end of file
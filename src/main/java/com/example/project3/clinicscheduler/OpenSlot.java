@@ -0,0 +1,79 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A date and timeslot that is still open for booking, as suggested by the slot searches.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class OpenSlot {
+
+    private final Date date;
+    private final Timeslot timeslot;
+
+    /**
+     * Creates an open slot.
+     * @param date date of the slot.
+     * @param timeslot time of the slot.
+     */
+    public OpenSlot(Date date, Timeslot timeslot) {
+        this.date = date;
+        this.timeslot = timeslot;
+    }
+
+    /**
+     * Obtains the date of the slot.
+     * @return date object.
+     */
+    public Date getDate() {
+        return date;
+    }
+
+    /**
+     * Obtains the time of the slot.
+     * @return timeslot object.
+     */
+    public Timeslot getTimeslot() {
+        return timeslot;
+    }
+
+    /**
+     * Returns a textual representation of the slot.
+     * @return a string in the format of mm/dd/yyyy timeslot.
+     */
+    @Override
+    public String toString() {
+        return date + " " + timeslot;
+    }
+
+    /**
+     * Walks the weekdays from a date up to the end of the six-month booking window and collects
+     * the first open slots, reading one mask of free slots per day.
+     * @param from first date to search.
+     * @param window booking window bounding the search.
+     * @param count maximum number of slots to collect.
+     * @param freeSlotsOfDay gives the mask of free slot indexes for an epoch day.
+     * @return the open slots found, earliest first; may be shorter than count.
+     */
+    static OpenSlot[] collect(Date from, BookingWindow window, int count, IntUnaryOperator freeSlotsOfDay) {
+        OpenSlot[] found = new OpenSlot[count];
+        int size = 0;
+        int today = window.getToday();
+        int lastDay = window.getLastDay();
+        for (int day = from.toEpochDay(); day >= today && day <= lastDay && size < count; day++) {
+            if (!Date.isWeekend(day)) {
+                int free = freeSlotsOfDay.applyAsInt(day);
+                Date date = free == 0 ? null : Date.fromEpochDay(day);
+                while (free != 0 && size < count) {
+                    int index = Integer.numberOfTrailingZeros(free);
+                    found[size++] = new OpenSlot(date, Timeslot.fromSlotIndex(index));
+                    free &= free - 1;
+                }
+            }
+        }
+        OpenSlot[] result = new OpenSlot[size];
+        System.arraycopy(found, 0, result, 0, size);
+        return result;
+    }
+}
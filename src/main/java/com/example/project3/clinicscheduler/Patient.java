@@ -106,6 +106,15 @@ public class Patient extends Person {
         return false;
     }
 
+    /**
+     * Hash code matching equals: patients are duplicates when their profiles are.
+     * @return hash code of the profile.
+     */
+    @Override
+    public int hashCode() {
+        return profile.hashCode();
+    }
+
     /**
      * Print's patients name, given patient object.
      * @return patient's full name as a string.
@@ -37,6 +37,15 @@ public class Person implements Comparable<Person> {
         return false;
     }
 
+    /**
+     * Hash code matching equals: people are the same person when their profiles are.
+     * @return hash code of the profile.
+     */
+    @Override
+    public int hashCode() {
+        return profile.hashCode();
+    }
+
     /**
      * Compares two person objects.
      * @param other the object to be compared.
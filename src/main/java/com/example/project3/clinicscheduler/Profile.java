@@ -4,13 +4,21 @@ import com.example.project3.util.Date;
 
 /**
  * Represents the profile of a person, including their first name, last name, and date of birth.
+ * The names are case-folded and the date of birth turned into its epoch day once, when the profile is built,
+ * so equals, hashCode and compareTo compare the stored keys without creating any strings. The date of birth
+ * must be a valid calendar date, so no two dates of birth share a key. A profile cannot be changed once
+ * built, so it is safe to use as a hash key.
  *
  * @author Sriya Vemuri, Zeel Patel
  */
 public class Profile implements Comparable<Profile>{
-    private String fname;
-    private String lname;
-    private Date dob;
+    private final String fname;
+    private final String lname;
+    private final Date dob;
+    private final String fnameKey; // case-folded first name
+    private final String lnameKey; // case-folded last name
+    private final String fullName; // "first last", as given
+    private final int dobKey;      // DOB as days since the epoch
 
     /**
      * Constructs a new Profile with the given first name, last name, and date of birth.
@@ -18,11 +26,50 @@ public class Profile implements Comparable<Profile>{
      * @param fname   The first name of the person.
      * @param lname    The last name of the person.
      * @param dob The date of birth of the person.
+     * @throws IllegalArgumentException if the date of birth is not a valid calendar date.
      */
     public Profile(String fname, String lname, Date dob) {
         this.fname = fname;
         this.lname = lname;
+        this.dobKey = key(dob);
         this.dob = dob;
+        this.fnameKey = fold(fname);
+        this.lnameKey = fold(lname);
+        this.fullName = fname + " " + lname;
+    }
+
+    /**
+     * Helper method. Folds a name so that two names are equal, ignoring case, exactly when their folded forms
+     * are equal, and folded names sort in the same order as String.compareToIgnoreCase.
+     * @param name name to fold.
+     * @return folded name, the same instance if no character changes.
+     */
+    private static String fold(String name) {
+        if (name == null) return null;
+        char[] chars = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            char folded = Character.toLowerCase(Character.toUpperCase(c));
+            if (folded != c) {
+                if (chars == null) chars = name.toCharArray();
+                chars[i] = folded;
+            }
+        }
+        return chars == null ? name : new String(chars);
+    }
+
+    /**
+     * Helper method. Obtains the key of a date of birth: its epoch day, which is unique to the date and
+     * orders like Date.compareTo.
+     * @param date date of birth.
+     * @return days since the epoch.
+     * @throws IllegalArgumentException if the date is missing or not a valid calendar date.
+     */
+    private static int key(Date date) {
+        if (date == null || !date.isValid()) {
+            throw new IllegalArgumentException("Not a valid date of birth: " + date);
+        }
+        return date.toEpochDay();
     }
 
     /**
@@ -53,12 +100,28 @@ public class Profile implements Comparable<Profile>{
     }
 
     /**
-     * Changes the date of birth (DOB) to a given DOB
+     * Gets the full name of the person, built once when the profile is created.
      *
-     * @param dob DOB as a Date object
+     * @return first name and last name, as given, separated by a space.
      */
-    public void setDob(Date dob) {
-        this.dob = dob;
+    public String getFullName() {
+        return fullName;
+    }
+
+    /**
+     * Obtains the case-folded first name that equals and compareTo use.
+     * @return folded first name.
+     */
+    String getFnameKey() {
+        return fnameKey;
+    }
+
+    /**
+     * Obtains the case-folded last name that equals and compareTo use.
+     * @return folded last name.
+     */
+    String getLnameKey() {
+        return lnameKey;
     }
 
     /**
@@ -70,13 +133,23 @@ public class Profile implements Comparable<Profile>{
     public boolean equals(Object obj) {
         if (obj instanceof Profile) {
             Profile profile = (Profile) obj;
-            return profile.fname.toLowerCase().equals(this.fname.toLowerCase()) &&
-                    profile.lname.toLowerCase().equals(this.lname.toLowerCase()) &&
-                    profile.dob.equals(this.dob);
+            return profile.dobKey == this.dobKey &&
+                    profile.lnameKey.equals(this.lnameKey) &&
+                    profile.fnameKey.equals(this.fnameKey);
         }
         return false;
     }
 
+    /**
+     * Hash code matching equals, so names that differ only in case hash the same.
+     * Built from the stored keys; String caches its own hash, so nothing is recomputed.
+     * @return hash code of the profile.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * fnameKey.hashCode() + lnameKey.hashCode()) + dobKey;
+    }
+
     /**
      * Return textual representation of Profile object as first_name last_name mm/dd/yyyy.
      * @return a string
@@ -97,13 +170,12 @@ public class Profile implements Comparable<Profile>{
     @Override
     public int compareTo(Profile profile) {
         // Last names
-        int lastNameComparison = this.lname.compareToIgnoreCase(profile.lname);
+        int lastNameComparison = this.lnameKey.compareTo(profile.lnameKey);
         if (lastNameComparison != 0) return Integer.signum(lastNameComparison);
         // First names
-        int firstNameComparison = this.fname.compareToIgnoreCase(profile.fname);
+        int firstNameComparison = this.fnameKey.compareTo(profile.fnameKey);
         if (firstNameComparison != 0) return Integer.signum(firstNameComparison);
         // DOBs
-        return Integer.signum(this.dob.compareTo(profile.dob));
+        return Integer.compare(this.dobKey, profile.dobKey);
     }
 }
-
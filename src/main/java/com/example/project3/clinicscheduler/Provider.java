@@ -69,4 +69,16 @@ public abstract class Provider extends Person {
         }
         return true; // The provider is available
     }
+
+    /**
+     * Checks if the provider is available at a given date and timeslot using an availability calendar.
+     *
+     * @param date     The date to check for availability.
+     * @param timeslot The timeslot to check for availability.
+     * @param calendar Calendar holding the booked slots of every provider.
+     * @return true if the provider is available; false otherwise.
+     */
+    public boolean isAvailable(Date date, Timeslot timeslot, AvailabilityCalendar calendar) {
+        return calendar.isAvailable(this, date, timeslot);
+    }
 }
@@ -0,0 +1,171 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.EnumLookup;
+import com.example.project3.util.LineParseException;
+
+/**
+ * Parser for provider files, working directly on the characters of the whole file (for example a
+ * CharBuffer). Each line is
+ * D first last mm/dd/yyyy location specialty npi   or   T first last mm/dd/yyyy location rate
+ * with fields separated by spaces or tabs. Dates are decoded and locations and specialties looked up in
+ * place, so the only Strings created are the names and NPIs the providers keep. A malformed line is
+ * reported with its line and column, and parsing carries on with the next line.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ProviderParser {
+    private static final EnumLookup<Location> LOCATIONS = new EnumLookup<>(Location.class);
+    private static final EnumLookup<Specialty> SPECIALTIES = new EnumLookup<>(Specialty.class);
+
+    private final CharSequence input;
+    private int position;     // start of the next line
+    private int lineNumber;   // number of the line last returned by next()
+    private int lineStart;
+    private int lineEnd;
+    private int fieldStart;   // bounds of the field last read by nextField()
+    private int fieldEnd;
+
+    /**
+     * Creates a parser over the characters of a provider file.
+     * @param input contents of the file.
+     */
+    public ProviderParser(CharSequence input) {
+        this.input = input;
+    }
+
+    /**
+     * Checks if there is another non-blank line, moving past blank ones.
+     * @return true if there is another provider line, false at the end of the input.
+     */
+    public boolean hasNext() {
+        while (position < input.length()) {
+            int end = position;
+            while (end < input.length() && input.charAt(end) != '\n') end++;
+            int start = position;
+            while (start < end && isBlank(input.charAt(start))) start++;
+            if (start < end) {
+                return true;
+            }
+            position = end + 1;
+            lineNumber++;
+        }
+        return false;
+    }
+
+    /**
+     * Parses the next provider line. On error the parser has still moved past the line.
+     * @return the provider on the line.
+     * @throws LineParseException if the line is malformed.
+     */
+    public Provider next() {
+        if (!hasNext()) {
+            throw new IllegalStateException("No more provider lines.");
+        }
+        lineNumber++;
+        lineStart = position;
+        lineEnd = position;
+        while (lineEnd < input.length() && input.charAt(lineEnd) != '\n') lineEnd++;
+        position = lineEnd + 1;
+        fieldEnd = lineStart;
+        return parseLine();
+    }
+
+    /**
+     * Obtains the number of the line last parsed.
+     * @return line number, counted from 1.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Helper method. Parses the fields of the current line.
+     */
+    private Provider parseLine() {
+        requireField("provider type");
+        char providerType = input.charAt(fieldStart);
+        if (providerType != 'D' && providerType != 'T') {
+            throw error("unknown provider type, expected D or T");
+        }
+        requireField("first name");
+        String firstName = fieldText();
+        requireField("last name");
+        String lastName = fieldText();
+        requireField("date of birth");
+        long dob = Date.parsePacked(input, fieldStart, fieldEnd);
+        if (dob == Date.NOT_A_DATE) {
+            throw error("date of birth is not in the format of mm/dd/yyyy");
+        }
+        Date dobDate = Date.fromPacked(dob);
+        if (!dobDate.isValid()) {
+            throw error("date of birth is not a valid calendar date");
+        }
+        requireField("location");
+        Location location = LOCATIONS.find(input, fieldStart, fieldEnd);
+        if (location == null) {
+            throw error("unknown location");
+        }
+        Profile profile = new Profile(firstName, lastName, dobDate);
+        if (providerType == 'D') {
+            requireField("specialty");
+            Specialty specialty = SPECIALTIES.find(input, fieldStart, fieldEnd);
+            if (specialty == null) {
+                throw error("unknown specialty");
+            }
+            requireField("NPI");
+            return new Doctor(profile, location, specialty, fieldText());
+        }
+        requireField("rate per visit");
+        return new Technician(profile, location, parseRate());
+    }
+
+    /**
+     * Helper method. Decodes the current field as a whole number of dollars.
+     */
+    private int parseRate() {
+        int rate = 0;
+        for (int i = fieldStart; i < fieldEnd; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9' || rate > (Integer.MAX_VALUE - (c - '0')) / 10) {
+                throw new LineParseException(lineNumber, i - lineStart + 1, "rate per visit is not a whole number");
+            }
+            rate = rate * 10 + (c - '0');
+        }
+        return rate;
+    }
+
+    /**
+     * Helper method. Moves to the next field of the current line, failing if there is none.
+     */
+    private void requireField(String name) {
+        int i = fieldEnd;
+        while (i < lineEnd && isBlank(input.charAt(i))) i++;
+        if (i == lineEnd) {
+            throw new LineParseException(lineNumber, i - lineStart + 1, "missing " + name);
+        }
+        fieldStart = i;
+        while (i < lineEnd && !isBlank(input.charAt(i))) i++;
+        fieldEnd = i;
+    }
+
+    /**
+     * Helper method. Copies the current field into a String.
+     */
+    private String fieldText() {
+        return input.subSequence(fieldStart, fieldEnd).toString();
+    }
+
+    /**
+     * Helper method. Creates the exception for a problem with the current field.
+     */
+    private LineParseException error(String reason) {
+        return new LineParseException(lineNumber, fieldStart - lineStart + 1, reason);
+    }
+
+    /**
+     * Helper method. Checks if a character separates fields; carriage returns end Windows lines.
+     */
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.LineParseException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Providers read from a provider file, with the lines that could not be parsed and how fast the file
+ * was read. The file is memory-mapped and split into chunks that end at line breaks, and the chunks are
+ * decoded and parsed by a ProviderParser each, in parallel for large files; the results are joined in
+ * file order with the line numbers of later chunks shifted, so they match a line-by-line read. Reading
+ * a roster has no side effects, so it can run off the JavaFX application thread; the ClinicManager then
+ * adds the providers on that thread.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ProviderRoster {
+    private static final int CHUNK_BYTES = 1 << 18; // smallest chunk worth parsing on its own
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Provider[] providers;
+    private final LineParseException[] errors;
+    private final int lineCount;
+    private final long byteCount;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a roster from the results of a read.
+     */
+    private ProviderRoster(Provider[] providers, LineParseException[] errors, int lineCount, long byteCount, long elapsedNanos) {
+        this.providers = providers;
+        this.errors = errors;
+        this.lineCount = lineCount;
+        this.byteCount = byteCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Reads a provider file.
+     * @param file provider file, in UTF-8.
+     * @return the providers and errors, in file order.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ProviderRoster read(Path file) throws IOException {
+        return read(file, CHUNK_BYTES);
+    }
+
+    /**
+     * Reads a provider file split into chunks of a given size, for example to exercise the splitting on a small file.
+     * @param file provider file, in UTF-8.
+     * @param chunkBytes smallest chunk worth parsing on its own, at least 1.
+     * @return the providers and errors, in file order.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the chunk size is less than 1.
+     */
+    public static ProviderRoster read(Path file, int chunkBytes) throws IOException {
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkBytes);
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Provider file too large: " + file);
+            }
+            MappedByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int[] bounds = chunkBounds(contents, chunkBytes);
+            Chunk[] chunks = IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToObj(i -> Chunk.parse(contents.slice(bounds[i], bounds[i + 1] - bounds[i])))
+                    .toArray(Chunk[]::new);
+            ArrayList<Provider> providers = new ArrayList<>();
+            ArrayList<LineParseException> errors = new ArrayList<>();
+            int lines = 0;
+            for (Chunk chunk : chunks) {
+                providers.addAll(chunk.providers);
+                for (LineParseException e : chunk.errors) {
+                    errors.add(lines == 0 ? e : new LineParseException(e.getLine() + lines, e.getColumn(), e.getReason()));
+                }
+                lines += chunk.lineCount;
+            }
+            return new ProviderRoster(providers.toArray(new Provider[0]), errors.toArray(new LineParseException[0]),
+                    lines, size, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Obtains the providers read, in file order.
+     * @return array of providers.
+     */
+    public Provider[] getProviders() {
+        return providers.clone();
+    }
+
+    /**
+     * Obtains the lines that could not be parsed, in file order.
+     * @return one exception per line skipped, with its line and column.
+     */
+    public LineParseException[] getErrors() {
+        return errors.clone();
+    }
+
+    /**
+     * Obtains the number of lines read, blank ones included.
+     * @return number of lines.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Obtains the size of the file read.
+     * @return number of bytes.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Obtains how long the file took to read and parse.
+     * @return elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Obtains the number of lines read per second.
+     * @return throughput in lines per second.
+     */
+    public double getLinesPerSecond() {
+        return lineCount * 1e9 / Math.max(1, elapsedNanos);
+    }
+
+    /**
+     * Helper method. Splits the file into chunks that each end just after a line break, or at the end of
+     * the file: one chunk per chunkBytes, at most CHUNKS_PER_THREAD per processor.
+     * @return offsets where the chunks start, followed by the size of the file.
+     */
+    private static int[] chunkBounds(ByteBuffer contents, int chunkBytes) {
+        int size = contents.limit();
+        int parallelism = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_THREAD;
+        int count = Math.max(1, Math.min(parallelism, size / chunkBytes));
+        int[] bounds = new int[count + 1];
+        int found = 1;
+        for (int i = 1; i < count; i++) {
+            int bound = Math.max((int) ((long) size * i / count), bounds[found - 1]);
+            while (bound < size && contents.get(bound - 1) != '\n') bound++;
+            if (bound < size && bound > bounds[found - 1]) {
+                bounds[found++] = bound;
+            }
+        }
+        bounds[found++] = size;
+        return Arrays.copyOf(bounds, found);
+    }
+
+    /**
+     * Providers and errors of one chunk of the file, with line numbers counted from the start of the chunk.
+     */
+    private static class Chunk {
+        private final ArrayList<Provider> providers = new ArrayList<>();
+        private final ArrayList<LineParseException> errors = new ArrayList<>();
+        private int lineCount;
+
+        /**
+         * Decodes and parses a chunk.
+         * @param bytes bytes of the chunk, ending just after a line break unless it is the last one.
+         * @return the providers and errors of the chunk.
+         */
+        static Chunk parse(ByteBuffer bytes) {
+            CharBuffer chars = StandardCharsets.UTF_8.decode(bytes);
+            Chunk chunk = new Chunk();
+            ProviderParser parser = new ProviderParser(chars);
+            while (parser.hasNext()) {
+                try {
+                    chunk.providers.add(parser.next());
+                } catch (LineParseException e) {
+                    chunk.errors.add(e);
+                }
+            }
+            chunk.lineCount = parser.getLineNumber();
+            return chunk;
+        }
+    }
+}
@@ -5,7 +5,25 @@ package com.example.project3.clinicscheduler;
  * Author: Sriya Vemuri, Zeel Patel
  */
 public enum Radiology {
-    XRAY, ULTRASOUND, CATSCAN;
+    XRAY(1), ULTRASOUND(1), CATSCAN(2);
+
+    private final int slotCount;
+
+    /**
+     * Constructor. Imaging service information
+     * @param slotCount number of consecutive timeslots the service takes.
+     */
+    Radiology(int slotCount) {
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Obtains the number of consecutive timeslots an appointment for this service takes.
+     * @return slot count, at least 1.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
 
     /**
      * Retyrns String representation of radiology/type of imaging.
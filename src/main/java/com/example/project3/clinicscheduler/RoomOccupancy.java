@@ -0,0 +1,169 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+
+/**
+ * Occupancy of the radiology rooms, indexed by Location ordinal, Radiology ordinal, epoch day and slot index.
+ * Each location keeps one mask per day holding Timeslot.SLOTS_PER_DAY bits for every room, room after room,
+ * so a room check is a single mask test, also for appointments spanning several slots, and the free rooms
+ * of a whole day come from a single read.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class RoomOccupancy {
+    private static final long ROOM_SLOTS = (1L << Timeslot.SLOTS_PER_DAY) - 1;
+    public static final long ALL_ROOMS = (1L << (Radiology.values().length * Timeslot.SLOTS_PER_DAY)) - 1;
+
+    private final DayMasks[] locations = new DayMasks[Location.values().length];
+
+    /**
+     * Checks if a room at a location is free at a date and timeslot.
+     * @param location location of the room.
+     * @param room type of imaging room.
+     * @param date date requested.
+     * @param timeslot time requested.
+     * @return true if the room is free, false otherwise.
+     */
+    public boolean isAvailable(Location location, Radiology room, Date date, Timeslot timeslot) {
+        return (occupiedRooms(location, date) & bit(room, timeslot)) == 0;
+    }
+
+    /**
+     * Checks if a room at a location is free for every slot of an appointment spanning several timeslots.
+     * @param location location of the room.
+     * @param room type of imaging room.
+     * @param date date requested.
+     * @param timeslot first timeslot requested.
+     * @param slotCount number of consecutive timeslots.
+     * @return true if the room is free, false otherwise.
+     * @throws IllegalArgumentException if the appointment runs past the end of its session.
+     */
+    public boolean isAvailable(Location location, Radiology room, Date date, Timeslot timeslot, int slotCount) {
+        return (occupiedRooms(location, date) & span(room, timeslot, slotCount)) == 0;
+    }
+
+    /**
+     * Obtains which rooms of a location are occupied at which slots on a date.
+     * @param location location of the rooms.
+     * @param date date requested.
+     * @return mask with bit (room ordinal * SLOTS_PER_DAY + slot index) set if that room is occupied at that slot.
+     */
+    public long occupiedRooms(Location location, Date date) {
+        DayMasks days = locations[location.ordinal()];
+        return days == null ? 0 : days.get(date.toEpochDay());
+    }
+
+    /**
+     * Obtains the day masks of a location, creating them if no room there was ever occupied.
+     * Callers may hold on to the result; it stays valid across clear().
+     * @param location location to look up.
+     * @return day masks of the location.
+     */
+    DayMasks masksOf(Location location) {
+        DayMasks days = locations[location.ordinal()];
+        if (days == null) {
+            days = new DayMasks();
+            locations[location.ordinal()] = days;
+        }
+        return days;
+    }
+
+    /**
+     * Obtains which rooms of a location are free at which slots on a date.
+     * @param location location of the rooms.
+     * @param date date requested.
+     * @return mask with bit (room ordinal * SLOTS_PER_DAY + slot index) set if that room is free at that slot.
+     */
+    public long freeRooms(Location location, Date date) {
+        return ~occupiedRooms(location, date) & ALL_ROOMS;
+    }
+
+    /**
+     * Extracts the slots of one room from a mask returned by occupiedRooms or freeRooms.
+     * @param rooms mask of all rooms of a location.
+     * @param room room to extract.
+     * @return mask with bit i set if bit i of the room is set.
+     */
+    public static int slotsOf(long rooms, Radiology room) {
+        return (int) ((rooms >>> (room.ordinal() * Timeslot.SLOTS_PER_DAY)) & ROOM_SLOTS);
+    }
+
+    /**
+     * Marks a room as occupied at a date and timeslot.
+     * @param location location of the room.
+     * @param room type of imaging room.
+     * @param date date of the appointment.
+     * @param timeslot time of the appointment.
+     */
+    public void occupy(Location location, Radiology room, Date date, Timeslot timeslot) {
+        occupy(location, room, date, timeslot, 1);
+    }
+
+    /**
+     * Marks a room as occupied for every slot of an appointment spanning several timeslots.
+     * @param location location of the room.
+     * @param room type of imaging room.
+     * @param date date of the appointment.
+     * @param timeslot first timeslot of the appointment.
+     * @param slotCount number of consecutive timeslots.
+     * @throws IllegalArgumentException if the appointment runs past the end of its session.
+     */
+    public void occupy(Location location, Radiology room, Date date, Timeslot timeslot, int slotCount) {
+        int day = date.toEpochDay();
+        DayMasks days = masksOf(location);
+        days.set(day, days.get(day) | span(room, timeslot, slotCount));
+    }
+
+    /**
+     * Marks a room as free at a date and timeslot.
+     * @param location location of the room.
+     * @param room type of imaging room.
+     * @param date date of the appointment.
+     * @param timeslot time of the appointment.
+     */
+    public void release(Location location, Radiology room, Date date, Timeslot timeslot) {
+        release(location, room, date, timeslot, 1);
+    }
+
+    /**
+     * Marks a room as free for every slot of an appointment spanning several timeslots.
+     * @param location location of the room.
+     * @param room type of imaging room.
+     * @param date date of the appointment.
+     * @param timeslot first timeslot of the appointment.
+     * @param slotCount number of consecutive timeslots.
+     * @throws IllegalArgumentException if the appointment runs past the end of its session.
+     */
+    public void release(Location location, Radiology room, Date date, Timeslot timeslot, int slotCount) {
+        DayMasks days = locations[location.ordinal()];
+        if (days != null) {
+            int day = date.toEpochDay();
+            days.set(day, days.get(day) & ~span(room, timeslot, slotCount));
+        }
+    }
+
+    /**
+     * Frees every room at every location.
+     */
+    public void clear() {
+        for (DayMasks days : locations) {
+            if (days != null) {
+                days.clear();
+            }
+        }
+    }
+
+    /**
+     * Helper method. Obtains the mask bit of a room at a timeslot.
+     */
+    static long bit(Radiology room, Timeslot timeslot) {
+        return 1L << (room.ordinal() * Timeslot.SLOTS_PER_DAY + timeslot.getSlotIndex());
+    }
+
+    /**
+     * Helper method. Obtains the mask bits of a room for an appointment spanning several timeslots.
+     * @throws IllegalArgumentException if the appointment runs past the end of its session.
+     */
+    static long span(Radiology room, Timeslot timeslot, int slotCount) {
+        return (long) AvailabilityCalendar.span(timeslot, slotCount) << (room.ordinal() * Timeslot.SLOTS_PER_DAY);
+    }
+}
@@ -0,0 +1,449 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.Sort;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+/**
+ * Scheduling engine. Holds every booked appointment together with a hash index keyed by
+ * (patient, date, first timeslot), per-day slot masks for the patients, an AvailabilityCalendar
+ * for the providers and a RoomOccupancy for the radiology rooms, so booking checks, cancellations
+ * and reschedules take constant time regardless of calendar size. Appointments may span several
+ * consecutive timeslots; an overlap with any other appointment of the same patient, provider or
+ * room is a single mask test.
+ * The engine also keeps ordered views of the appointments (by date/time/provider, by patient and by
+ * county), updated on every change, so the lists are a walk over a view and the appointments of a day
+ * or of a county on a day are found in logarithmic time, and a BillingLedger posted to on every change,
+ * so the statements read running totals.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ScheduleEngine {
+    /**
+     * Key of a single index entry: who is booked, on which day, at which time.
+     * @param patient profile of the patient, compared with Profile.equals.
+     * @param day date as days since the epoch.
+     * @param slot slot index within the day.
+     */
+    private record SlotKey(Profile patient, int day, int slot) { }
+
+    private final LinkedHashMap<SlotKey, Appointment> byPatient = new LinkedHashMap<>(); // keeps booking order
+    private final HashMap<Profile, DayMasks> patientDays = new HashMap<>(); // slots each patient is booked at
+    private final AvailabilityCalendar providerCalendar = new AvailabilityCalendar();
+    private final RoomOccupancy roomOccupancy = new RoomOccupancy();
+    private final ScheduleView<Long> byDateTime = new ScheduleView<>(Appointment::getDateTimeKey,
+            Comparator.naturalOrder(), withBookingOrder(Sort.BY_DATE_TIME_PROVIDER));
+    private final ScheduleView<Profile> byPatientName = new ScheduleView<>(a -> a.getPatient().getProfile(),
+            Comparator.naturalOrder(), withBookingOrder(Sort.BY_PATIENT_DATE_TIME));
+    private final ScheduleView<Long> byCountyPatient = new ScheduleView<>(ScheduleEngine::countyDateTimeKey,
+            Comparator.naturalOrder(), withBookingOrder(Sort.BY_COUNTY_DATE_TIME_PATIENT));
+    private final ScheduleView<Long> byCountyProvider = new ScheduleView<>(ScheduleEngine::countyDateTimeKey,
+            Comparator.naturalOrder(), withBookingOrder(Sort.BY_COUNTY_DATE_TIME_PROVIDER));
+    private final ScheduleView<?>[] views = {byDateTime, byPatientName, byCountyPatient, byCountyProvider};
+    private final BillingLedger ledger = new BillingLedger(byPatientName::group);
+    private long bookingSequence;
+
+    /**
+     * Checks if a provider has no appointment at the given date and timeslot.
+     * @param provider provider to check.
+     * @param date date requested.
+     * @param timeslot time requested.
+     * @return true if the provider is free, false otherwise.
+     */
+    public boolean isProviderAvailable(Provider provider, Date date, Timeslot timeslot) {
+        return providerCalendar.isAvailable(provider, date, timeslot);
+    }
+
+    /**
+     * Checks if a provider has no appointment during any slot of a span of consecutive timeslots.
+     * @param provider provider to check.
+     * @param date date requested.
+     * @param timeslot first timeslot requested.
+     * @param slotCount number of consecutive timeslots.
+     * @return true if the provider is free, false otherwise.
+     * @throws IllegalArgumentException if the span runs past the end of its session.
+     */
+    public boolean isProviderAvailable(Provider provider, Date date, Timeslot timeslot, int slotCount) {
+        return providerCalendar.isAvailable(provider, date, timeslot, slotCount);
+    }
+
+    /**
+     * Obtains the slots a provider is free at on a date.
+     * @param provider provider to check.
+     * @param date date requested.
+     * @return mask with bit i set if the provider is free at slot index i.
+     */
+    public int freeSlots(Provider provider, Date date) {
+        return providerCalendar.freeSlots(provider, date);
+    }
+
+    /**
+     * Finds the first slots a provider is free at for an appointment of several consecutive timeslots,
+     * on weekdays from a date to the end of the six-month window.
+     * @param provider provider to search for.
+     * @param slotCount number of consecutive timeslots the appointment takes.
+     * @param from first date to search.
+     * @param window booking window bounding the search.
+     * @param count maximum number of slots to return.
+     * @return open slots at which the appointment can start, earliest first.
+     */
+    public OpenSlot[] findOpenSlots(Provider provider, int slotCount, Date from, BookingWindow window, int count) {
+        DayMasks days = providerCalendar.masksOf(provider);
+        return OpenSlot.collect(from, window, count,
+                day -> Timeslot.startMask(~(int) days.get(day) & AvailabilityCalendar.ALL_SLOTS, slotCount));
+    }
+
+    /**
+     * Obtains the calendar tracking when each provider is booked.
+     * @return provider availability calendar.
+     */
+    public AvailabilityCalendar getProviderCalendar() {
+        return providerCalendar;
+    }
+
+    /**
+     * Obtains the occupancy of the radiology rooms at every location.
+     * @return room occupancy.
+     */
+    public RoomOccupancy getRoomOccupancy() {
+        return roomOccupancy;
+    }
+
+    /**
+     * Checks if a patient already has an appointment covering the given date and timeslot.
+     * @param patientProfile profile of the patient.
+     * @param date date requested.
+     * @param timeslot time requested.
+     * @return true if the patient is already booked, false otherwise.
+     */
+    public boolean hasAppointment(Profile patientProfile, Date date, Timeslot timeslot) {
+        return (patientSlots(patientProfile, date.toEpochDay()) & AvailabilityCalendar.bit(timeslot)) != 0;
+    }
+
+    /**
+     * Checks if a patient has no appointment during any slot of a span of consecutive timeslots.
+     * @param patientProfile profile of the patient.
+     * @param date date requested.
+     * @param timeslot first timeslot requested.
+     * @param slotCount number of consecutive timeslots.
+     * @return true if the patient is free, false otherwise.
+     * @throws IllegalArgumentException if the span runs past the end of its session.
+     */
+    public boolean isPatientAvailable(Profile patientProfile, Date date, Timeslot timeslot, int slotCount) {
+        return (patientSlots(patientProfile, date.toEpochDay()) & AvailabilityCalendar.span(timeslot, slotCount)) == 0;
+    }
+
+    /**
+     * Checks if the patient of an appointment is free for the whole appointment starting at another
+     * timeslot on the same day. The slots the appointment itself covers now do not count as busy.
+     * @param appointment appointment whose patient is checked.
+     * @param timeslot new first timeslot.
+     * @return true if free, false otherwise or if the appointment would run past the end of its session.
+     */
+    public boolean isPatientAvailable(Appointment appointment, Timeslot timeslot) {
+        int span = timeslot.spanMask(appointment.getSlotCount());
+        int busy = patientSlots(appointment.getPatient().getProfile(), appointment.getDate().toEpochDay());
+        return span != 0 && (busy & ~ownSlots(appointment) & span) == 0;
+    }
+
+    /**
+     * Checks if a radiology room at a location is free at the given date and timeslot.
+     * @param location location of the room.
+     * @param room type of imaging room.
+     * @param date date requested.
+     * @param timeslot time requested.
+     * @return true if the room is free, false otherwise.
+     */
+    public boolean isRoomAvailable(Location location, Radiology room, Date date, Timeslot timeslot) {
+        return roomOccupancy.isAvailable(location, room, date, timeslot);
+    }
+
+    /**
+     * Obtains which radiology rooms of a location are free at which slots on a date.
+     * @param location location of the rooms.
+     * @param date date requested.
+     * @return mask as described in RoomOccupancy.freeRooms.
+     */
+    public long freeRooms(Location location, Date date) {
+        return roomOccupancy.freeRooms(location, date);
+    }
+
+    /**
+     * Finds the appointment a patient has at the given date and timeslot.
+     * @param patientProfile profile of the patient.
+     * @param date date of the appointment.
+     * @param timeslot time of the appointment.
+     * @return the appointment, null if there is none.
+     */
+    public Appointment find(Profile patientProfile, Date date, Timeslot timeslot) {
+        return byPatient.get(patientKey(patientProfile, date, timeslot));
+    }
+
+    /**
+     * Books an appointment if the patient, the provider and, for imaging, the room are all free.
+     * @param appointment appointment to book.
+     * @return true if booked, false if it conflicts with an existing appointment.
+     */
+    public boolean book(Appointment appointment) {
+        if (!isFree(appointment, appointment.getTimeslot())) {
+            return false;
+        }
+        index(appointment);
+        return true;
+    }
+
+    /**
+     * Cancels the appointment a patient has at the given date and timeslot.
+     * @param patientProfile profile of the patient.
+     * @param date date of the appointment.
+     * @param timeslot time of the appointment.
+     * @return the cancelled appointment, null if there was none.
+     */
+    public Appointment cancel(Profile patientProfile, Date date, Timeslot timeslot) {
+        Appointment appointment = find(patientProfile, date, timeslot);
+        if (appointment != null) {
+            unindex(appointment);
+        }
+        return appointment;
+    }
+
+    /**
+     * Moves a booked appointment to a new timeslot on the same day.
+     * @param appointment appointment to move.
+     * @param newTimeslot new time of the appointment.
+     * @return true if moved, false if the patient, provider or room is busy at the new time.
+     */
+    public boolean reschedule(Appointment appointment, Timeslot newTimeslot) {
+        if (!isFree(appointment, newTimeslot)) {
+            return false;
+        }
+        unindex(appointment);
+        appointment.setTimeslot(newTimeslot);
+        index(appointment);
+        return true;
+    }
+
+    /**
+     * Checks if the provider and, for imaging, the room of an appointment are free for the whole
+     * appointment starting at a timeslot. The patient is not checked, and the slots the appointment
+     * itself covers now do not count as busy.
+     * @param appointment appointment whose provider and room are checked.
+     * @param timeslot first timeslot to check.
+     * @return true if free, false otherwise or if the appointment would run past the end of its session.
+     */
+    public boolean isProviderAndRoomAvailable(Appointment appointment, Timeslot timeslot) {
+        int span = timeslot.spanMask(appointment.getSlotCount());
+        if (span == 0) {
+            return false;
+        }
+        int free = ~ownSlots(appointment) & span;
+        Provider provider = (Provider) appointment.getProvider();
+        if ((providerCalendar.bookedSlots(provider, appointment.getDate()) & free) != 0) {
+            return false;
+        }
+        return !(appointment instanceof Imaging imaging)
+                || (RoomOccupancy.slotsOf(roomOccupancy.occupiedRooms(provider.getLocation(), imaging.getDate()),
+                        imaging.getRoom()) & free) == 0;
+    }
+
+    /**
+     * Obtains the billing ledger of the booked appointments.
+     * @return the ledger, kept up to date by the engine.
+     */
+    public BillingLedger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * Obtains all booked appointments in the order they were booked.
+     * @return array of appointments.
+     */
+    public Appointment[] toArray() {
+        return byPatient.values().toArray(new Appointment[0]);
+    }
+
+    /**
+     * Obtains all booked appointments ordered by date, time and provider name.
+     * @return the appointments, as a live view that must not be modified while walked.
+     */
+    public Iterable<Appointment> byDateTimeProvider() {
+        return byDateTime;
+    }
+
+    /**
+     * Obtains all booked appointments ordered by patient, date and time.
+     * @return the appointments, as a live view that must not be modified while walked.
+     */
+    public Iterable<Appointment> byPatientDateTime() {
+        return byPatientName;
+    }
+
+    /**
+     * Obtains all booked appointments ordered by county, date, time and patient name.
+     * @return the appointments, as a live view that must not be modified while walked.
+     */
+    public Iterable<Appointment> byCountyDateTimePatient() {
+        return byCountyPatient;
+    }
+
+    /**
+     * Obtains all booked appointments ordered by county, date, time and provider first name.
+     * @return the appointments, as a live view that must not be modified while walked.
+     */
+    public Iterable<Appointment> byCountyDateTimeProvider() {
+        return byCountyProvider;
+    }
+
+    /**
+     * Obtains the appointments on a date, ordered by time and provider name.
+     * @param date the date.
+     * @return the appointments, as a live view that must not be modified while walked.
+     */
+    public Iterable<Appointment> appointmentsOn(Date date) {
+        long first = (long) date.toEpochDay() << Appointment.SLOT_BITS;
+        return byDateTime.range(first, first + (1L << Appointment.SLOT_BITS));
+    }
+
+    /**
+     * Obtains the appointments on a date in the county of a location, ordered by time and provider first name.
+     * @param location any location of the county.
+     * @param date the date.
+     * @return the appointments, as a live view that must not be modified while walked.
+     */
+    public Iterable<Appointment> appointmentsIn(Location location, Date date) {
+        long first = countyDateTimeKey(location, (long) date.toEpochDay() << Appointment.SLOT_BITS);
+        return byCountyProvider.range(first, first + (1L << Appointment.SLOT_BITS));
+    }
+
+    /**
+     * Obtains the number of booked appointments.
+     * @return number of appointments.
+     */
+    public int size() {
+        return byPatient.size();
+    }
+
+    /**
+     * Checks if there are no booked appointments.
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return byPatient.isEmpty();
+    }
+
+    /**
+     * Removes all appointments.
+     */
+    public void clear() {
+        byPatient.clear();
+        patientDays.clear();
+        providerCalendar.clear();
+        roomOccupancy.clear();
+        for (ScheduleView<?> view : views) {
+            view.clear();
+        }
+        ledger.clear();
+    }
+
+    /**
+     * Helper method. Checks the patient, provider and room indexes for an appointment starting at a timeslot.
+     */
+    private boolean isFree(Appointment appointment, Timeslot timeslot) {
+        return isPatientAvailable(appointment, timeslot) && isProviderAndRoomAvailable(appointment, timeslot);
+    }
+
+    /**
+     * Helper method. Obtains the slots a booked appointment covers, 0 if it is not booked.
+     */
+    private int ownSlots(Appointment appointment) {
+        Profile profile = appointment.getPatient().getProfile();
+        Appointment booked = byPatient.get(patientKey(profile, appointment.getDate(), appointment.getTimeslot()));
+        return booked == appointment ? appointment.getSpanMask() : 0;
+    }
+
+    /**
+     * Helper method. Obtains the slots a patient is booked at on an epoch day.
+     */
+    private int patientSlots(Profile profile, int day) {
+        DayMasks days = patientDays.get(profile);
+        return days == null ? 0 : (int) days.get(day);
+    }
+
+    /**
+     * Helper method. Adds an appointment to every index.
+     */
+    private void index(Appointment appointment) {
+        Date date = appointment.getDate();
+        Timeslot timeslot = appointment.getTimeslot();
+        int slotCount = appointment.getSlotCount();
+        Provider provider = (Provider) appointment.getProvider();
+        Profile profile = appointment.getPatient().getProfile();
+        byPatient.put(patientKey(profile, date, timeslot), appointment);
+        appointment.setBookingSequence(bookingSequence++);
+        for (ScheduleView<?> view : views) {
+            view.add(appointment);
+        }
+        ledger.post(appointment);
+        DayMasks days = patientDays.computeIfAbsent(profile, p -> new DayMasks());
+        int day = date.toEpochDay();
+        days.set(day, days.get(day) | AvailabilityCalendar.span(timeslot, slotCount));
+        providerCalendar.book(provider, date, timeslot, slotCount);
+        if (appointment instanceof Imaging imaging) {
+            roomOccupancy.occupy(provider.getLocation(), imaging.getRoom(), date, timeslot, slotCount);
+        }
+    }
+
+    /**
+     * Helper method. Removes an appointment from every index.
+     */
+    private void unindex(Appointment appointment) {
+        Date date = appointment.getDate();
+        Timeslot timeslot = appointment.getTimeslot();
+        int slotCount = appointment.getSlotCount();
+        Provider provider = (Provider) appointment.getProvider();
+        Profile profile = appointment.getPatient().getProfile();
+        byPatient.remove(patientKey(profile, date, timeslot));
+        for (ScheduleView<?> view : views) {
+            view.remove(appointment);
+        }
+        ledger.reverse(appointment);
+        DayMasks days = patientDays.get(profile);
+        if (days != null) {
+            int day = date.toEpochDay();
+            days.set(day, days.get(day) & ~AvailabilityCalendar.span(timeslot, slotCount));
+        }
+        providerCalendar.release(provider, date, timeslot, slotCount);
+        if (appointment instanceof Imaging imaging) {
+            roomOccupancy.release(provider.getLocation(), imaging.getRoom(), date, timeslot, slotCount);
+        }
+    }
+
+    /**
+     * Helper method. Breaks ties of an ordering by booking order, as a stable sort of the booked appointments would.
+     */
+    private static Comparator<Appointment> withBookingOrder(Comparator<Appointment> order) {
+        return order.thenComparingLong(Appointment::getBookingSequence);
+    }
+
+    /**
+     * Helper method. Packs the county rank of an appointment's provider above its date/time key.
+     */
+    private static long countyDateTimeKey(Appointment appointment) {
+        return countyDateTimeKey(((Provider) appointment.getProvider()).getLocation(), appointment.getDateTimeKey());
+    }
+
+    /**
+     * Helper method. Packs the county rank of a location above a date/time key.
+     */
+    private static long countyDateTimeKey(Location location, long dateTimeKey) {
+        return ((long) location.getCountyRank() << Integer.SIZE) | dateTimeKey;
+    }
+
+    /**
+     * Helper method. Builds the key of the patient index.
+     */
+    private static SlotKey patientKey(Profile profile, Date date, Timeslot timeslot) {
+        return new SlotKey(profile, date.toEpochDay(), timeslot.getSlotIndex());
+    }
+}
@@ -0,0 +1,604 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of the changes to the schedule, so that a restart rebuilds the schedule by
+ * replaying it. Every book, cancel and reschedule is encoded as one binary record, framed by its
+ * length and a CRC32C, into an in-memory buffer and returns at once; a background thread writes the
+ * records gathered since its last write through a FileChannel in one call (group commit) and forces
+ * them to disk as the FsyncPolicy says. A record torn or damaged on disk fails its checksum when the
+ * journal is replayed: it is skipped, and replay resumes at the next intact record, so one bad byte does
+ * not cost the changes recorded after it. Only a damaged tail, with no intact record after it, is cut
+ * off. The bytes skipped or cut off are counted, so the caller can report them.
+ * A checkpoint writes the schedule as a ScheduleSnapshot next to the journal and then empties the
+ * journal, so a restart loads the snapshot and replays only the changes made since. Snapshot and
+ * journal carry a generation number: a journal older than the snapshot was already part of it and is
+ * discarded, which keeps a crash in the middle of a checkpoint from applying a change twice.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ScheduleJournal implements Closeable {
+    public static final int NO_ROTATION = ScheduleSnapshot.NO_ROTATION; // booking that did not move the technician rotation
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 10;
+    private static final int MAGIC = 0x434D4A31; // "CMJ1"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 16; // magic, version and generation
+    private static final int FRAME_BYTES = 8; // length and checksum ahead of every record
+    private static final int MAX_RECORD_BYTES = 1 << 12;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final byte BOOK = 1;
+    private static final byte CANCEL = 2;
+    private static final byte RESCHEDULE = 3;
+    private static final byte ROTATION = 4;
+    private static final byte NO_ROOM = -1;
+
+    /**
+     * When the records written to the journal are forced to disk.
+     */
+    public enum FsyncPolicy {
+        /** Each change returns once it is on disk; changes made while a force runs share the next one. */
+        COMMIT,
+        /** Changes return at once and are forced with their group, within the commit interval. */
+        PERIODIC,
+        /** Changes are written with their group but forcing is left to the operating system. */
+        NEVER
+    }
+
+    /**
+     * Receives the changes read back from the snapshot and the journal, in the order they were made.
+     */
+    public interface Replay extends ScheduleSnapshot.Bookings {
+        /**
+         * An appointment was cancelled.
+         * @param patient profile of the patient.
+         * @param date date of the appointment.
+         * @param timeslot first timeslot of the appointment.
+         */
+        void cancel(Profile patient, Date date, Timeslot timeslot);
+
+        /**
+         * An appointment was moved to another timeslot on the same day.
+         * @param patient profile of the patient.
+         * @param date date of the appointment.
+         * @param from timeslot it was at.
+         * @param to timeslot it was moved to.
+         */
+        void reschedule(Profile patient, Date date, Timeslot from, Timeslot to);
+    }
+
+    private final Path file;
+    private final Path snapshotFile;
+    private final FsyncPolicy policy;
+    private final long commitIntervalNanos;
+    private final Object lock = new Object();
+    private final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_BYTES); // encoding scratch, used under the lock
+    private final CRC32C checksum = new CRC32C();
+    private final Thread flusher;
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_BYTES); // records not yet handed to the flusher
+    private ByteBuffer writing = ByteBuffer.allocate(BUFFER_BYTES); // records being written by the flusher
+    private long appended;  // number of changes appended
+    private long durable;   // number of changes written, and forced unless the policy is NEVER
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+    private int recordsSinceCheckpoint;
+    private long generation; // checkpoints taken; the snapshot of the same generation holds the schedule the journal continues
+    private long droppedBytes; // bytes of damaged records found by the last replay
+
+    /**
+     * Opens a journal with the default commit interval, creating the file if it does not exist.
+     * Its snapshot is the file of the same name ending in .snapshot.
+     * @param file journal file.
+     * @param policy when records are forced to disk.
+     * @throws IOException if the file cannot be opened or is not a journal.
+     */
+    public ScheduleJournal(Path file, FsyncPolicy policy) throws IOException {
+        this(file, policy, DEFAULT_COMMIT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Opens a journal, creating the file if it does not exist. Replay it before recording any change.
+     * @param file journal file.
+     * @param policy when records are forced to disk.
+     * @param commitIntervalMillis how long the background thread gathers a group before writing it, unless the policy is COMMIT.
+     * @throws IOException if the file cannot be opened or is not a journal.
+     */
+    public ScheduleJournal(Path file, FsyncPolicy policy, long commitIntervalMillis) throws IOException {
+        if (commitIntervalMillis < 0) {
+            throw new IllegalArgumentException("Invalid commit interval: " + commitIntervalMillis);
+        }
+        this.file = file;
+        this.snapshotFile = file.resolveSibling(file.getFileName() + SNAPSHOT_SUFFIX);
+        this.policy = policy;
+        this.commitIntervalNanos = commitIntervalMillis * 1_000_000;
+        this.channel = open(file);
+        this.generation = readGeneration(channel, file);
+        this.flusher = new Thread(this::flushLoop, "schedule-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Loads the snapshot, if there is one, then reads every change since back from the journal. A torn
+     * or damaged record is skipped and replay resumes at the next intact record; if none follows, the
+     * journal is cut off after the last good record so that new records follow it.
+     * @param target receives the bookings of the snapshot and then the changes.
+     * @return number of appointments and records read.
+     * @throws IOException if the snapshot or the journal cannot be read, or the snapshot the journal continues is missing.
+     */
+    public int replay(Replay target) throws IOException {
+        synchronized (lock) {
+            int loaded = 0;
+            droppedBytes = 0;
+            if (Files.exists(snapshotFile)) {
+                long snapshotGeneration = ScheduleSnapshot.generationOf(snapshotFile);
+                if (snapshotGeneration < generation) {
+                    throw new IOException("Snapshot " + snapshotFile + " is older than journal " + file);
+                }
+                loaded = ScheduleSnapshot.read(snapshotFile, target).appointments();
+                if (snapshotGeneration > generation) { // the journal was emptied after a checkpoint only in part
+                    reset(snapshotGeneration);
+                    recordsSinceCheckpoint = 0;
+                    return loaded;
+                }
+            } else if (generation > 0) {
+                throw new IOException("Snapshot " + snapshotFile + " missing for journal " + file);
+            }
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal too large to replay: " + file);
+            }
+            ByteBuffer contents = ByteBuffer.allocate((int) size - HEADER_BYTES);
+            while (contents.hasRemaining() && channel.read(contents, HEADER_BYTES + contents.position()) >= 0) {
+                // read until full
+            }
+            contents.flip();
+            int count = 0;
+            int position = 0;
+            while (position < contents.limit()) {
+                int length = frameLength(contents, position);
+                if (length >= 0 && replayRecord(contents.slice(position + FRAME_BYTES, length), target)) {
+                    position += FRAME_BYTES + length;
+                    count++;
+                    continue;
+                }
+                int next = position + 1;
+                while (next < contents.limit() && frameLength(contents, next) < 0) {
+                    next++;
+                }
+                if (next == contents.limit()) {
+                    break; // damaged tail
+                }
+                droppedBytes += next - position;
+                position = next;
+            }
+            long end = HEADER_BYTES + position;
+            if (end < size) {
+                droppedBytes += size - end;
+                channel.truncate(end);
+            }
+            channel.position(end);
+            recordsSinceCheckpoint = count;
+            return loaded + count;
+        }
+    }
+
+    /**
+     * Obtains how many bytes of the journal the last replay could not read: damaged records it skipped and
+     * a damaged tail it cut off.
+     * @return number of bytes dropped, 0 if every record was intact.
+     */
+    public long getDroppedBytes() {
+        synchronized (lock) {
+            return droppedBytes;
+        }
+    }
+
+    /**
+     * Records a booking.
+     * @param appointment the booked appointment.
+     * @param rotationPosition position of the technician rotation after the booking, NO_ROTATION if it did not move.
+     * @throws UncheckedIOException if the journal could not be written.
+     */
+    public void logBook(Appointment appointment, int rotationPosition) {
+        long change;
+        synchronized (lock) {
+            ensureOpen();
+            add(BOOK, out -> putBooking(out, appointment));
+            if (rotationPosition != NO_ROTATION) {
+                add(ROTATION, out -> out.putInt(rotationPosition));
+            }
+            change = submit();
+        }
+        awaitDurable(change);
+    }
+
+    /**
+     * Records a cancellation.
+     * @param appointment the cancelled appointment.
+     * @throws UncheckedIOException if the journal could not be written.
+     */
+    public void logCancel(Appointment appointment) {
+        long change;
+        synchronized (lock) {
+            ensureOpen();
+            add(CANCEL, out -> {
+                ScheduleSnapshot.putProfile(out, appointment.getPatient().getProfile());
+                out.putInt(appointment.getDate().toEpochDay());
+                out.put((byte) appointment.getTimeslot().getSlotIndex());
+            });
+            change = submit();
+        }
+        awaitDurable(change);
+    }
+
+    /**
+     * Records a reschedule.
+     * @param appointment the appointment, already at its new timeslot.
+     * @param from timeslot it was moved from.
+     * @throws UncheckedIOException if the journal could not be written.
+     */
+    public void logReschedule(Appointment appointment, Timeslot from) {
+        long change;
+        synchronized (lock) {
+            ensureOpen();
+            add(RESCHEDULE, out -> {
+                ScheduleSnapshot.putProfile(out, appointment.getPatient().getProfile());
+                out.putInt(appointment.getDate().toEpochDay());
+                out.put((byte) from.getSlotIndex());
+                out.put((byte) appointment.getTimeslot().getSlotIndex());
+            });
+            change = submit();
+        }
+        awaitDurable(change);
+    }
+
+    /**
+     * Writes the given schedule as the snapshot of the next generation, then empties the journal. The
+     * snapshot replaces the old one atomically; the journal is emptied before it takes the new
+     * generation, so after a crash at any point the files replay to the same schedule.
+     * @param appointments appointments on the schedule, in booking order.
+     * @param rotationPosition position of the technician rotation, NO_ROTATION if there is none.
+     * @throws IOException if the checkpoint could not be written.
+     */
+    public void checkpoint(Appointment[] appointments, int rotationPosition) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            try {
+                while ((pending.position() > 0 || flushing) && failure == null) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted before checkpoint");
+            }
+            ensureOpen();
+            ScheduleSnapshot.Builder snapshot = new ScheduleSnapshot.Builder();
+            for (Appointment appointment : appointments) {
+                snapshot.add(appointment);
+            }
+            snapshot.rotate(rotationPosition);
+            snapshot.write(snapshotFile, generation + 1);
+            reset(generation + 1);
+            recordsSinceCheckpoint = 0;
+        }
+    }
+
+    /**
+     * Obtains the number of changes recorded, or replayed, since the journal was last rewritten.
+     * @return number of records past the last checkpoint.
+     */
+    public int getRecordsSinceCheckpoint() {
+        synchronized (lock) {
+            return recordsSinceCheckpoint;
+        }
+    }
+
+    /**
+     * Writes whatever is still pending and closes the journal.
+     * @throws IOException if the last records could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Helper method. Writes groups of records until the journal is closed and drained.
+     */
+    private void flushLoop() {
+        while (true) {
+            long group;
+            synchronized (lock) {
+                try {
+                    while (pending.position() == 0 && !closed) {
+                        lock.wait();
+                    }
+                    if (pending.position() == 0) {
+                        return;
+                    }
+                    if (policy != FsyncPolicy.COMMIT) { // let the group build up
+                        long deadline = System.nanoTime() + commitIntervalNanos;
+                        long left;
+                        while (!closed && (left = deadline - System.nanoTime()) > 0) {
+                            lock.wait(Math.max(1, left / 1_000_000));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ByteBuffer full = pending;
+                pending = writing;
+                writing = full;
+                group = appended;
+                flushing = true;
+            }
+            IOException error = null;
+            try {
+                drain(channel, writing);
+                if (policy != FsyncPolicy.NEVER) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            writing.clear();
+            synchronized (lock) {
+                flushing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durable = group;
+                }
+                lock.notifyAll();
+                if (error != null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method. Encodes one record into the pending buffer, framed by its length and checksum.
+     */
+    private void add(byte type, Consumer<ByteBuffer> fields) {
+        record.clear();
+        try {
+            record.put(type);
+            fields.accept(record);
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Journal record longer than " + MAX_RECORD_BYTES + " bytes");
+        }
+        record.flip();
+        checksum.reset();
+        checksum.update(record.duplicate());
+        if (pending.remaining() < FRAME_BYTES + record.remaining()) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + FRAME_BYTES + record.remaining()));
+            pending.flip();
+            pending = grown.put(pending);
+        }
+        pending.putInt(record.remaining()).putInt((int) checksum.getValue()).put(record);
+        recordsSinceCheckpoint++;
+    }
+
+    /**
+     * Helper method. Hands the records added since the last change to the background thread.
+     */
+    private long submit() {
+        lock.notifyAll();
+        return ++appended;
+    }
+
+    /**
+     * Helper method. Waits until a change is on disk, if the policy says changes wait for it.
+     */
+    private void awaitDurable(long change) {
+        if (policy != FsyncPolicy.COMMIT) {
+            return;
+        }
+        synchronized (lock) {
+            try {
+                while (durable < change && failure == null) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (durable < change) {
+                throw new UncheckedIOException(failure);
+            }
+        }
+    }
+
+    /**
+     * Helper method. Checks that records can still be added.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed: " + file);
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    /**
+     * Helper method. Decodes one record and passes the change on.
+     */
+    private static void decode(ByteBuffer in, Replay target) {
+        byte type = in.get();
+        switch (type) {
+            case BOOK -> {
+                Date date = Date.fromEpochDay(in.getInt());
+                Timeslot timeslot = Timeslot.fromSlotIndex(in.get());
+                Profile patient = ScheduleSnapshot.getProfile(in);
+                Profile provider = ScheduleSnapshot.getProfile(in);
+                byte room = in.get();
+                target.book(date, timeslot, patient, provider, room == NO_ROOM ? null : Radiology.values()[room]);
+            }
+            case CANCEL -> {
+                Profile patient = ScheduleSnapshot.getProfile(in);
+                Date date = Date.fromEpochDay(in.getInt());
+                target.cancel(patient, date, Timeslot.fromSlotIndex(in.get()));
+            }
+            case RESCHEDULE -> {
+                Profile patient = ScheduleSnapshot.getProfile(in);
+                Date date = Date.fromEpochDay(in.getInt());
+                Timeslot from = Timeslot.fromSlotIndex(in.get());
+                target.reschedule(patient, date, from, Timeslot.fromSlotIndex(in.get()));
+            }
+            case ROTATION -> target.rotate(in.getInt());
+            default -> throw new IllegalArgumentException("Unknown journal record type: " + type);
+        }
+    }
+
+    /**
+     * Helper method. Checks for an intact record frame at a position: a length that fits and a matching checksum.
+     * @return length of the record, -1 if there is no intact frame there.
+     */
+    private int frameLength(ByteBuffer contents, int position) {
+        if (contents.limit() - position < FRAME_BYTES) {
+            return -1;
+        }
+        int length = contents.getInt(position);
+        if (length <= 0 || length > MAX_RECORD_BYTES || length > contents.limit() - position - FRAME_BYTES) {
+            return -1;
+        }
+        checksum.reset();
+        checksum.update(contents.slice(position + FRAME_BYTES, length));
+        return (int) checksum.getValue() == contents.getInt(position + 4) ? length : -1;
+    }
+
+    /**
+     * Helper method. Decodes one record and passes the change on.
+     * @return true if the record was decoded, false if it is damaged despite its checksum.
+     */
+    private static boolean replayRecord(ByteBuffer payload, Replay target) {
+        try {
+            decode(payload, target);
+            return true;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            return false; // checksum collision on a damaged record
+        }
+    }
+
+    /**
+     * Helper method. Encodes the fields of a booking.
+     */
+    private static void putBooking(ByteBuffer out, Appointment appointment) {
+        out.putInt(appointment.getDate().toEpochDay());
+        out.put((byte) appointment.getTimeslot().getSlotIndex());
+        ScheduleSnapshot.putProfile(out, appointment.getPatient().getProfile());
+        ScheduleSnapshot.putProfile(out, appointment.getProvider().getProfile());
+        out.put(appointment instanceof Imaging imaging ? (byte) imaging.getRoom().ordinal() : NO_ROOM);
+    }
+
+    /**
+     * Helper method. Opens a journal file for appending, writing the header of a new one or checking that of an old one.
+     */
+    private static FileChannel open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                writeHeader(channel, 0);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                    // read until full
+                }
+                if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                    throw new IOException("Not a schedule journal: " + file);
+                }
+                if (header.getInt(4) != VERSION) {
+                    throw new IOException("Unsupported journal version " + header.getInt(4) + ": " + file);
+                }
+            }
+            channel.position(channel.size());
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method. Writes and forces the journal header.
+     */
+    private static void writeHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+    }
+
+    /**
+     * Helper method. Reads the generation from the header of an open journal.
+     */
+    private static long readGeneration(FileChannel channel, Path file) throws IOException {
+        ByteBuffer generation = ByteBuffer.allocate(Long.BYTES);
+        while (generation.hasRemaining() && channel.read(generation, 8 + generation.position()) >= 0) {
+            // read until full
+        }
+        if (generation.hasRemaining()) {
+            channel.close();
+            throw new IOException("Not a schedule journal: " + file);
+        }
+        return generation.getLong(0);
+    }
+
+    /**
+     * Helper method. Empties the journal, then gives it a new generation. A crash in between leaves an
+     * empty journal of the old generation, which the newer snapshot supersedes.
+     */
+    private void reset(long newGeneration) throws IOException {
+        channel.truncate(HEADER_BYTES);
+        channel.force(true);
+        writeHeader(channel, newGeneration);
+        channel.position(HEADER_BYTES);
+        generation = newGeneration;
+    }
+
+    /**
+     * Helper method. Writes a buffer to a channel and empties it.
+     */
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
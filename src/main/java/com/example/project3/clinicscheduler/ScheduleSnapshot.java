@@ -0,0 +1,338 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact, versioned binary snapshot of the schedule. The providers and the patients are each stored
+ * once in a table of profiles, and every appointment is a fixed 12-byte row holding its epoch day,
+ * patient ID, provider ID, slot index and Radiology ordinal. A snapshot is loaded through a
+ * MappedByteBuffer: only the profile tables are decoded, and the rows are read in place, so loading is
+ * little more than paging the file in. A snapshot is written to a temporary file, forced and moved over
+ * the old one atomically, so a crash leaves either the old snapshot or the new one.
+ * <pre>
+ * header   magic "CMS1", version, generation (long), rotation position, provider count,
+ *          patient count, appointment count, offset of the rows, CRC32C of everything after the header
+ * profiles providers then patients: first name, last name (UTF-8, short length), epoch day of birth
+ * rows     epoch day (int), patient ID (int), provider ID (short), slot index (byte), room ordinal (byte, -1 if none)
+ * </pre>
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ScheduleSnapshot {
+    public static final int NO_ROTATION = -1; // snapshot taken without a technician rotation
+    private static final int MAGIC = 0x434D5331; // "CMS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int ROW_BYTES = 12;
+    private static final int MAX_PROVIDERS = 1 << 16; // provider IDs are unsigned shorts
+    private static final byte NO_ROOM = -1;
+
+    /**
+     * Receives the bookings of a schedule, in booking order, and the position of the technician rotation.
+     */
+    public interface Bookings {
+        /**
+         * An appointment is booked.
+         * @param date date of the appointment.
+         * @param timeslot first timeslot of the appointment.
+         * @param patient profile of the patient.
+         * @param provider profile of the provider.
+         * @param room imaging room, null for an office visit.
+         */
+        void book(Date date, Timeslot timeslot, Profile patient, Profile provider, Radiology room);
+
+        /**
+         * The technician rotation is at a position.
+         * @param position index of the technician the next search starts at.
+         */
+        void rotate(int position);
+    }
+
+    /**
+     * What a loaded snapshot held.
+     * @param generation generation of the snapshot; a journal of the same generation continues it.
+     * @param appointments number of appointments.
+     */
+    public record Info(long generation, int appointments) { }
+
+    /**
+     * Key of a profile in a table, telling apart names that differ only in case.
+     * @param fname first name.
+     * @param lname last name.
+     * @param dob date of birth as an epoch day.
+     */
+    private record ProfileKey(String fname, String lname, int dob) { }
+
+    /**
+     * Collects the bookings of a snapshot and writes it.
+     */
+    public static class Builder implements Bookings {
+        private final ProfileTable providers = new ProfileTable();
+        private final ProfileTable patients = new ProfileTable();
+        private ByteBuffer rows = ByteBuffer.allocate(ROW_BYTES * 64);
+        private int count;
+        private int rotation = NO_ROTATION;
+
+        /**
+         * Adds a booked appointment.
+         * @param appointment the appointment.
+         */
+        public void add(Appointment appointment) {
+            book(appointment.getDate(), appointment.getTimeslot(), appointment.getPatient().getProfile(),
+                    appointment.getProvider().getProfile(), appointment instanceof Imaging imaging ? imaging.getRoom() : null);
+        }
+
+        /**
+         * Adds a booking.
+         * @throws IllegalArgumentException if there are more providers than a snapshot can hold.
+         */
+        @Override
+        public void book(Date date, Timeslot timeslot, Profile patient, Profile provider, Radiology room) {
+            int providerId = providers.idOf(provider);
+            if (providerId >= MAX_PROVIDERS) {
+                throw new IllegalArgumentException("Too many providers for a snapshot: " + providerId);
+            }
+            if (rows.remaining() < ROW_BYTES) {
+                rows = ByteBuffer.allocate(rows.capacity() * 2).put(rows.flip());
+            }
+            rows.putInt(date.toEpochDay()).putInt(patients.idOf(patient)).putShort((short) providerId)
+                    .put((byte) timeslot.getSlotIndex()).put(room == null ? NO_ROOM : (byte) room.ordinal());
+            count++;
+        }
+
+        /**
+         * Sets the position of the technician rotation.
+         */
+        @Override
+        public void rotate(int position) {
+            rotation = position;
+        }
+
+        /**
+         * Writes the snapshot, replacing the file atomically.
+         * @param file snapshot file.
+         * @param generation generation of the snapshot.
+         * @throws IOException if the snapshot could not be written; the old file is then kept.
+         */
+        public void write(Path file, long generation) throws IOException {
+            ByteBuffer profiles = ByteBuffer.allocate(providers.bytes + patients.bytes);
+            providers.encode(profiles);
+            patients.encode(profiles);
+            profiles.flip();
+            ByteBuffer body = rows.duplicate().flip();
+            CRC32C checksum = new CRC32C();
+            checksum.update(profiles.duplicate());
+            checksum.update(body.duplicate());
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(generation).putInt(rotation)
+                    .putInt(providers.size()).putInt(patients.size()).putInt(count)
+                    .putInt(HEADER_BYTES + profiles.remaining()).putInt((int) checksum.getValue());
+            header.flip();
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer[] parts = {header, profiles, body};
+                while (body.hasRemaining() || profiles.hasRemaining() || header.hasRemaining()) {
+                    out.write(parts);
+                }
+                out.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory(file);
+        }
+    }
+
+    /**
+     * Profiles of a table, in ID order, with the IDs they were given.
+     */
+    private static class ProfileTable {
+        private final HashMap<ProfileKey, Integer> ids = new HashMap<>();
+        private final ArrayList<Profile> profiles = new ArrayList<>();
+        private int bytes;
+
+        /**
+         * Obtains the ID of a profile, adding it to the table if it is new.
+         * @param profile the profile.
+         * @return its ID.
+         */
+        int idOf(Profile profile) {
+            ProfileKey key = new ProfileKey(profile.getFname(), profile.getLname(), profile.getDob().toEpochDay());
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = profiles.size();
+                ids.put(key, id);
+                profiles.add(profile);
+                bytes += encodedLength(profile);
+            }
+            return id;
+        }
+
+        /**
+         * Obtains the number of profiles.
+         * @return number of profiles.
+         */
+        int size() {
+            return profiles.size();
+        }
+
+        /**
+         * Encodes the profiles in ID order.
+         * @param out buffer to encode into.
+         */
+        void encode(ByteBuffer out) {
+            for (Profile profile : profiles) {
+                putProfile(out, profile);
+            }
+        }
+    }
+
+    /**
+     * Loads a snapshot, passing each booking and then the rotation on.
+     * @param file snapshot file.
+     * @param target receives the bookings.
+     * @return generation and size of the snapshot.
+     * @throws IOException if the file cannot be read, is not a snapshot or is corrupt.
+     */
+    public static Info read(Path file, Bookings target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a schedule snapshot: " + file);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt(0) != MAGIC) {
+                throw new IOException("Not a schedule snapshot: " + file);
+            }
+            if (map.getInt(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + map.getInt(4) + ": " + file);
+            }
+            long generation = map.getLong(8);
+            int rotation = map.getInt(16);
+            int providerCount = map.getInt(20);
+            int patientCount = map.getInt(24);
+            int count = map.getInt(28);
+            int rowsOffset = map.getInt(32);
+            CRC32C checksum = new CRC32C();
+            checksum.update(map.slice(HEADER_BYTES, (int) size - HEADER_BYTES));
+            if (providerCount < 0 || patientCount < 0 || count < 0 || rowsOffset < HEADER_BYTES
+                    || (long) rowsOffset + (long) count * ROW_BYTES != size || (int) checksum.getValue() != map.getInt(36)) {
+                throw new IOException("Corrupt schedule snapshot: " + file);
+            }
+            try {
+                ByteBuffer tables = map.slice(HEADER_BYTES, rowsOffset - HEADER_BYTES);
+                Profile[] providers = getProfiles(tables, providerCount);
+                Profile[] patients = getProfiles(tables, patientCount);
+                Radiology[] rooms = Radiology.values();
+                for (int row = rowsOffset; row < size; row += ROW_BYTES) {
+                    byte room = map.get(row + 11);
+                    target.book(Date.fromEpochDay(map.getInt(row)), Timeslot.fromSlotIndex(map.get(row + 10)),
+                            patients[map.getInt(row + 4)], providers[Short.toUnsignedInt(map.getShort(row + 8))],
+                            room == NO_ROOM ? null : rooms[room]);
+                }
+            } catch (RuntimeException e) { // bad ID or slot behind a matching checksum
+                throw new IOException("Corrupt schedule snapshot: " + file, e);
+            }
+            if (rotation != NO_ROTATION) {
+                target.rotate(rotation);
+            }
+            return new Info(generation, count);
+        }
+    }
+
+    /**
+     * Reads the generation of a snapshot without loading it.
+     * @param file snapshot file.
+     * @return generation of the snapshot.
+     * @throws IOException if the file cannot be read or is not a snapshot.
+     */
+    public static long generationOf(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // read until full
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a schedule snapshot: " + file);
+            }
+            return header.getLong(8);
+        }
+    }
+
+    /**
+     * Helper method. Decodes a table of profiles.
+     */
+    private static Profile[] getProfiles(ByteBuffer in, int count) {
+        Profile[] profiles = new Profile[count];
+        for (int i = 0; i < count; i++) {
+            profiles[i] = getProfile(in);
+        }
+        return profiles;
+    }
+
+    /**
+     * Helper method. Encodes a profile: first name, last name and date of birth as an epoch day.
+     */
+    static void putProfile(ByteBuffer out, Profile profile) {
+        putString(out, profile.getFname());
+        putString(out, profile.getLname());
+        out.putInt(profile.getDob().toEpochDay());
+    }
+
+    /**
+     * Helper method. Decodes a profile.
+     */
+    static Profile getProfile(ByteBuffer in) {
+        String fname = getString(in);
+        String lname = getString(in);
+        return new Profile(fname, lname, Date.fromEpochDay(in.getInt()));
+    }
+
+    /**
+     * Helper method. Obtains the number of bytes a profile is encoded in.
+     */
+    static int encodedLength(Profile profile) {
+        return 2 + profile.getFname().getBytes(StandardCharsets.UTF_8).length
+                + 2 + profile.getLname().getBytes(StandardCharsets.UTF_8).length + 4;
+    }
+
+    /**
+     * Helper method. Encodes a string as its UTF-8 length and bytes.
+     */
+    private static void putString(ByteBuffer out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    /**
+     * Helper method. Decodes a string.
+     */
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Helper method. Forces the directory entry of a file after a move, where the platform allows it.
+     */
+    static void syncDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // not every platform can open a directory; the move itself is still atomic
+        }
+    }
+}
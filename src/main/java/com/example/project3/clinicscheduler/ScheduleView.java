@@ -0,0 +1,151 @@
+package com.example.project3.clinicscheduler;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Ordered view of the booked appointments, kept up to date by the ScheduleEngine on every book,
+ * cancel and reschedule. Appointments are grouped by a key (a packed date/time, a county and date/time,
+ * a patient) in a TreeMap, and each group is a TreeSet ordered by the rest of the ordering, ending with
+ * the booking sequence so that ties keep booking order. Walking the view needs no sorting and a range of
+ * keys is found in logarithmic time.
+ * @param <K> type of the group key
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ScheduleView<K> implements Iterable<Appointment> {
+    private final TreeMap<K, TreeSet<Appointment>> groups;
+    private final Function<Appointment, K> groupKey;
+    private final Comparator<Appointment> withinGroup;
+    private int size;
+
+    /**
+     * Creates an empty view.
+     * @param groupKey obtains the key of the group an appointment belongs to.
+     * @param groupOrder order of the group keys.
+     * @param withinGroup order of the appointments of one group; must not find two booked appointments equal.
+     */
+    ScheduleView(Function<Appointment, K> groupKey, Comparator<? super K> groupOrder, Comparator<Appointment> withinGroup) {
+        this.groups = new TreeMap<>(groupOrder);
+        this.groupKey = groupKey;
+        this.withinGroup = withinGroup;
+    }
+
+    /**
+     * Adds an appointment. Its key fields must not change until it is removed.
+     * @param appointment appointment to add.
+     */
+    void add(Appointment appointment) {
+        if (groups.computeIfAbsent(groupKey.apply(appointment), key -> new TreeSet<>(withinGroup)).add(appointment)) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes an appointment.
+     * @param appointment appointment to remove, with the key fields it was added with.
+     */
+    void remove(Appointment appointment) {
+        K key = groupKey.apply(appointment);
+        TreeSet<Appointment> group = groups.get(key);
+        if (group != null && group.remove(appointment)) {
+            size--;
+            if (group.isEmpty()) {
+                groups.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Removes every appointment.
+     */
+    void clear() {
+        groups.clear();
+        size = 0;
+    }
+
+    /**
+     * Obtains the number of appointments in the view.
+     * @return number of appointments.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Obtains the appointments whose group key is in a range, in view order.
+     * @param from lowest key, included.
+     * @param to highest key, excluded.
+     * @return the appointments, as a live view that must not be modified.
+     */
+    Iterable<Appointment> range(K from, K to) {
+        return () -> new GroupIterator(groups.subMap(from, true, to, false));
+    }
+
+    /**
+     * Obtains the appointments of one group, in view order.
+     * @param key key of the group.
+     * @return the appointments, empty if there is no such group, as a live view that must not be modified.
+     */
+    Iterable<Appointment> group(K key) {
+        TreeSet<Appointment> group = groups.get(key);
+        return group != null ? group : Collections.emptySet();
+    }
+
+    /**
+     * Walks every appointment in view order.
+     * @return iterator over the appointments.
+     */
+    @Override
+    public Iterator<Appointment> iterator() {
+        return new GroupIterator(groups);
+    }
+
+    /**
+     * Iterator over the appointments of consecutive groups. Read-only.
+     */
+    private class GroupIterator implements Iterator<Appointment> {
+        private final Iterator<TreeSet<Appointment>> groupIterator;
+        private Iterator<Appointment> current;
+
+        /**
+         * Creates an iterator over some of the groups.
+         * @param groups groups to walk, in order.
+         */
+        GroupIterator(NavigableMap<K, TreeSet<Appointment>> groups) {
+            Collection<TreeSet<Appointment>> values = groups.values();
+            this.groupIterator = values.iterator();
+            this.current = groupIterator.hasNext() ? groupIterator.next().iterator() : null;
+        }
+
+        /**
+         * Checks if there is another appointment.
+         * @return true if there is, false otherwise.
+         */
+        @Override
+        public boolean hasNext() {
+            while (current != null && !current.hasNext()) {
+                current = groupIterator.hasNext() ? groupIterator.next().iterator() : null;
+            }
+            return current != null;
+        }
+
+        /**
+         * Obtains the next appointment.
+         * @return the next appointment.
+         */
+        @Override
+        public Appointment next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
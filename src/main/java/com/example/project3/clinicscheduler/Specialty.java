@@ -6,26 +6,29 @@ package com.example.project3.clinicscheduler;
  */
 public enum Specialty {
     /**
-     * List of specialties and their respective costs.
+     * List of specialties, their respective costs and the number of timeslots a visit takes.
      */
-    FAMILY("Family", 250),
-    PEDIATRICIAN("Pediatrician", 300),
-    ALLERGIST("Allergist", 350);
+    FAMILY("Family", 250, 1),
+    PEDIATRICIAN("Pediatrician", 300, 1),
+    ALLERGIST("Allergist", 350, 2);
 
     /**
      * Parameters for a specialty
      */
     private final String specialty;
     private final int charge;
+    private final int slotCount;
 
     /**
      * Specialty Information
      * @param specialty specialty of provider
      * @param charge cost per visit
+     * @param slotCount number of consecutive timeslots a visit takes
      */
-    Specialty(String specialty, int charge){
+    Specialty(String specialty, int charge, int slotCount){
         this.specialty = specialty;
         this.charge = charge;
+        this.slotCount = slotCount;
     }
 
     /**
@@ -43,4 +46,12 @@ public enum Specialty {
     public int getCharge() {
         return charge;
     }
+
+    /**
+     * Obtain the number of consecutive timeslots a visit takes.
+     * @return slot count, at least 1.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
 }
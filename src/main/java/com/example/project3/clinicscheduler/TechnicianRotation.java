@@ -0,0 +1,135 @@
+package com.example.project3.clinicscheduler;
+
+import com.example.project3.util.Date;
+
+/**
+ * Round-robin rotation of technicians for imaging appointments. Candidates are checked against
+ * the technicians' day masks in the AvailabilityCalendar and the room masks in the RoomOccupancy,
+ * which are looked up once when the rotation is created, so a search takes at most one mask test
+ * per technician, whatever the length of the appointment, allocates nothing and does not depend on the number of appointments.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class TechnicianRotation {
+    private final Technician[] technicians;
+    private final DayMasks[] technicianSlots;
+    private final DayMasks[] locationRooms;
+    private int currentIndex = 0;
+    private long skippedCount = 0;
+
+    /**
+     * Creates a rotation visiting the technicians in the given order.
+     * @param technicians technicians in rotation order.
+     * @param calendar calendar holding when each technician is booked.
+     * @param occupancy occupancy of the radiology rooms.
+     */
+    public TechnicianRotation(Technician[] technicians, AvailabilityCalendar calendar, RoomOccupancy occupancy) {
+        this.technicians = technicians.clone();
+        this.technicianSlots = new DayMasks[technicians.length];
+        this.locationRooms = new DayMasks[technicians.length];
+        for (int i = 0; i < technicians.length; i++) {
+            technicianSlots[i] = calendar.masksOf(technicians[i]);
+            locationRooms[i] = occupancy.masksOf(technicians[i].getLocation());
+        }
+    }
+
+    /**
+     * Finds the next technician in the rotation who is free and whose location has the room free.
+     * The rotation moves past the technician found; if none is found it stays where it was.
+     * @param date date requested.
+     * @param timeslot time requested.
+     * @param room room requested.
+     * @return the technician found, null if none is available.
+     */
+    public Technician next(Date date, Timeslot timeslot, Radiology room) {
+        return next(date, timeslot, room, 1);
+    }
+
+    /**
+     * Finds the next technician in the rotation who is free for a span of consecutive timeslots and
+     * whose location has the room free for the whole span.
+     * The rotation moves past the technician found; if none is found it stays where it was.
+     * @param date date requested.
+     * @param timeslot first timeslot requested.
+     * @param room room requested.
+     * @param slotCount number of consecutive timeslots.
+     * @return the technician found, null if none is available.
+     * @throws IllegalArgumentException if the span runs past the end of its session.
+     */
+    public Technician next(Date date, Timeslot timeslot, Radiology room, int slotCount) {
+        int slotBit = AvailabilityCalendar.span(timeslot, slotCount);
+        long roomBit = RoomOccupancy.span(room, timeslot, slotCount);
+        if (technicians.length == 0) {
+            return null;
+        }
+        int day = date.toEpochDay();
+        int index = currentIndex;
+        for (int checked = 0; checked < technicians.length; checked++) {
+            if ((technicianSlots[index].get(day) & slotBit) == 0 && (locationRooms[index].get(day) & roomBit) == 0) {
+                currentIndex = (index + 1) % technicians.length;
+                return technicians[index];
+            }
+            skippedCount++;
+            index = (index + 1) % technicians.length;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the first slots at which some technician is free with the room free at their location
+     * for an appointment of several consecutive timeslots, on weekdays from a date to the end of the
+     * six-month window. The rotation does not move.
+     * @param room room requested.
+     * @param slotCount number of consecutive timeslots the appointment takes.
+     * @param from first date to search.
+     * @param window booking window bounding the search.
+     * @param count maximum number of slots to return.
+     * @return open slots at which the appointment can start, earliest first.
+     */
+    public OpenSlot[] findOpenSlots(Radiology room, int slotCount, Date from, BookingWindow window, int count) {
+        return OpenSlot.collect(from, window, count, day -> {
+            int starts = 0;
+            for (int i = 0; i < technicians.length; i++) {
+                int roomFree = RoomOccupancy.slotsOf(~locationRooms[i].get(day), room);
+                int free = ~(int) technicianSlots[i].get(day) & roomFree & AvailabilityCalendar.ALL_SLOTS;
+                starts |= Timeslot.startMask(free, slotCount);
+            }
+            return starts;
+        });
+    }
+
+    /**
+     * Obtains the technicians in rotation order.
+     * @return array of technicians.
+     */
+    public Technician[] getTechnicians() {
+        return technicians.clone();
+    }
+
+    /**
+     * Obtains the position of the rotation: the index of the technician the next search starts at.
+     * @return index into the rotation order.
+     */
+    public int getPosition() {
+        return currentIndex;
+    }
+
+    /**
+     * Moves the rotation, for example to where it was before a restart.
+     * @param position index of the technician the next search starts at.
+     * @throws IllegalArgumentException if there is no technician at that index.
+     */
+    public void setPosition(int position) {
+        if (position < 0 || (position >= technicians.length && position != 0)) {
+            throw new IllegalArgumentException("Invalid rotation position: " + position);
+        }
+        currentIndex = position;
+    }
+
+    /**
+     * Obtains how many busy candidates have been skipped by all searches so far.
+     * @return number of skipped candidates.
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+}
@@ -3,37 +3,184 @@ package com.example.project3.clinicscheduler;
 /**
  * Timeslot class. Represents the available appointment slots during the day.
  * Slots are in 30-minute intervals, 6 in the morning and 6 in the afternoon.
+ * The 12 slots are created once and shared, like enum constants: get them with of(hour, minute),
+ * fromSlotIndex(index) or values(). Each carries its index within the day, so comparing, hashing and
+ * indexing per-day arrays or bitmasks are int operations, and its text is formatted once.
+ * An appointment may run for several consecutive slots of the same session; spanMask gives the bits it covers.
  * Author: Sriya Vemuri, Zeel Patel
  */
 public class Timeslot implements Comparable<Timeslot> {
-    private static final int SLOT_DURATION_MINUTES = 30;
+    public static final int SLOT_DURATION_MINUTES = 30;
+    private static final int MORNING_START_HOUR = 9;
+    private static final int AFTERNOON_START_HOUR = 14;
+    private static final int SLOTS_PER_SESSION = 6;
+    public static final int SLOTS_PER_DAY = 2 * SLOTS_PER_SESSION;
+    private static final Timeslot[] SLOTS = new Timeslot[SLOTS_PER_DAY]; // the only Timeslot instances
 
-    private int hour;
-    private int minute;
+    static {
+        for (int index = 0; index < SLOTS_PER_DAY; index++) {
+            int startHour = (index < SLOTS_PER_SESSION) ? MORNING_START_HOUR : AFTERNOON_START_HOUR;
+            int minutes = (index % SLOTS_PER_SESSION) * SLOT_DURATION_MINUTES;
+            SLOTS[index] = new Timeslot(startHour + minutes / 60, minutes % 60, index);
+        }
+    }
+
+    private final int hour;
+    private final int minute;
+    private final int index;
+    private final String text; // cached toString
 
     /**
-     * Constructor for Timeslot.
+     * Constructor for Timeslot. Only used to fill the table of slots.
      *
      * @param hour   The hour of the timeslot.
      * @param minute The minute of the timeslot.
+     * @param index  The position of the timeslot within the day.
      */
-    public Timeslot(int hour, int minute) {
+    private Timeslot(int hour, int minute, int index) {
         this.hour = hour;
         this.minute = minute;
+        this.index = index;
+        String period = (hour >= 12) ? "PM" : "AM";
+        int displayHour = (hour > 12) ? (hour - 12) : (hour == 0 ? 12 : hour);
+        // Adjust to avoid leading zero for hours
+        this.text = String.format("%d:%02d %s", displayHour, minute, period);
+    }
+
+    /**
+     * Gets the timeslot starting at a time of day.
+     *
+     * @param hour   The hour, on a 24-hour clock.
+     * @param minute The minute.
+     * @return The timeslot starting at that time.
+     * @throws IllegalArgumentException if no timeslot starts at that time.
+     */
+    public static Timeslot of(int hour, int minute) {
+        int index = indexOf(hour, minute);
+        if (index < 0) {
+            throw new IllegalArgumentException(String.format("Not a bookable timeslot: %d:%02d", hour, minute));
+        }
+        return SLOTS[index];
+    }
+
+    /**
+     * Gets the bookable timeslot at a position within the day.
+     *
+     * @param index The slot index, 0-11.
+     * @return The timeslot at that index.
+     * @throws IllegalArgumentException if the index is not between 0 and 11.
+     */
+    public static Timeslot fromSlotIndex(int index) {
+        if (index < 0 || index >= SLOTS_PER_DAY) {
+            throw new IllegalArgumentException("Invalid slot index: " + index);
+        }
+        return SLOTS[index];
+    }
+
+    /**
+     * Gets every timeslot of the day, in order.
+     *
+     * @return A new array with the 12 timeslots.
+     */
+    public static Timeslot[] values() {
+        return SLOTS.clone();
+    }
+
+    /**
+     * Helper method. Finds the position of the slot starting at a time of day.
+     *
+     * @return The slot index, or -1 if no slot starts at that time.
+     */
+    private static int indexOf(int hour, int minute) {
+        if (minute < 0 || minute >= 60 || minute % SLOT_DURATION_MINUTES != 0) {
+            return -1;
+        }
+        int morning = ((hour - MORNING_START_HOUR) * 60 + minute) / SLOT_DURATION_MINUTES;
+        if (hour >= MORNING_START_HOUR && morning < SLOTS_PER_SESSION) {
+            return morning;
+        }
+        int afternoon = ((hour - AFTERNOON_START_HOUR) * 60 + minute) / SLOT_DURATION_MINUTES;
+        if (hour >= AFTERNOON_START_HOUR && afternoon < SLOTS_PER_SESSION) {
+            return SLOTS_PER_SESSION + afternoon;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the hour of the timeslot.
+     *
+     * @return The hour, on a 24-hour clock.
+     */
+    public int getHour() {
+        return hour;
     }
 
     /**
-     * Compares this Timeslot with another based on the time (hour and minute).
+     * Gets the minute of the timeslot.
+     *
+     * @return The minute.
+     */
+    public int getMinute() {
+        return minute;
+    }
+
+    /**
+     * Gets the position of the timeslot within the day: 0-5 for the morning slots
+     * starting at 9:00 AM, 6-11 for the afternoon slots starting at 2:00 PM.
+     *
+     * @return The slot index.
+     */
+    public int getSlotIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the slots covered by an appointment starting at this timeslot. Appointments cannot run
+     * from the morning session into the afternoon one or past the end of the afternoon.
+     *
+     * @param slotCount The number of consecutive slots the appointment takes, at least 1.
+     * @return A mask with bits index to index + slotCount - 1 set, or 0 if the appointment would run past the end of its session.
+     * @throws IllegalArgumentException if the slot count is less than 1.
+     */
+    public int spanMask(int slotCount) {
+        if (slotCount < 1) {
+            throw new IllegalArgumentException("Invalid slot count: " + slotCount);
+        }
+        int sessionEnd = (index < SLOTS_PER_SESSION) ? SLOTS_PER_SESSION : SLOTS_PER_DAY;
+        if (index + slotCount > sessionEnd) {
+            return 0;
+        }
+        return ((1 << slotCount) - 1) << index;
+    }
+
+    /**
+     * Finds the slots at which an appointment of several consecutive slots can start, given the free slots of a day.
+     *
+     * @param freeMask A mask with bit i set if slot index i is free.
+     * @param slotCount The number of consecutive slots the appointment takes, at least 1.
+     * @return A mask with bit i set if every slot from i to i + slotCount - 1 is free and in the same session.
+     */
+    public static int startMask(int freeMask, int slotCount) {
+        if (slotCount > SLOTS_PER_SESSION) {
+            return 0;
+        }
+        int starts = freeMask;
+        for (int k = 1; k < slotCount; k++) {
+            starts &= freeMask >>> k;
+        }
+        int sessionStarts = (1 << (SLOTS_PER_SESSION - slotCount + 1)) - 1;
+        return starts & (sessionStarts | (sessionStarts << SLOTS_PER_SESSION));
+    }
+
+    /**
+     * Compares this Timeslot with another based on the time. Slot indexes follow the time of day.
      *
      * @param other The other Timeslot to compare.
      * @return Negative if this comes before the other, positive if after, 0 if the same.
      */
     @Override
     public int compareTo(Timeslot other) {
-        if (this.hour != other.hour) {
-            return Integer.compare(this.hour, other.hour);
-        }
-        return Integer.compare(this.minute, other.minute);
+        return Integer.compare(this.index, other.index);
     }
 
     /**
@@ -43,15 +190,11 @@ public class Timeslot implements Comparable<Timeslot> {
      */
     @Override
     public String toString() {
-        String period = (hour >= 12) ? "PM" : "AM";
-        int displayHour = (hour > 12) ? (hour - 12) : (hour == 0 ? 12 : hour);
-
-        // Adjust to avoid leading zero for hours
-        return String.format("%d:%02d %s", displayHour, minute, period);
+        return text;
     }
 
     /**
-     * Checks equality based on the hour and minute of the timeslot.
+     * Checks equality based on the slot index, which identifies the time of the timeslot.
      *
      * @param obj The object to compare.
      * @return true if the timeslots have the same time, false otherwise.
@@ -61,6 +204,16 @@ public class Timeslot implements Comparable<Timeslot> {
         if (this == obj) return true;
         if (!(obj instanceof Timeslot)) return false;
         Timeslot other = (Timeslot) obj;
-        return this.hour == other.hour && this.minute == other.minute;
+        return this.index == other.index;
+    }
+
+    /**
+     * Hash code matching equals: the slot index.
+     *
+     * @return hash code of the timeslot.
+     */
+    @Override
+    public int hashCode() {
+        return index;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,338 @@
+package com.example.project3.gui;
+
+import com.example.project3.clinicscheduler.*;
+import com.example.project3.util.Date;
+import com.example.project3.util.EnumLookup;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Headless entry point. Streams a command file through the same validation and booking rules as the
+ * JavaFX front-end, one line at a time, and writes the results to a file or to standard output.
+ * Only the current line is held in memory, so command files of any length can be replayed.
+ * With --today=mm/dd/yyyy, dates are validated as of that day, so old command files replay as they ran.
+ * With --journal=file, the schedule is restored from a journal before the commands run and every change
+ * is recorded in it; --fsync=commit|periodic|never says when the journal is forced to disk.
+ * With --history=directory, the visits billed by PS are archived on disk there instead of in memory.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ClinicManagerBatch {
+    private static final String USAGE = "Usage: ClinicManagerBatch [--today=mm/dd/yyyy] [--journal=file] [--fsync=commit|periodic|never]"
+            + " [--history=directory] <providers file> <commands file | -> [output file]";
+    private static final String TODAY_OPTION = "--today=";
+    private static final String JOURNAL_OPTION = "--journal=";
+    private static final String FSYNC_OPTION = "--fsync=";
+    private static final String HISTORY_OPTION = "--history=";
+    private static final EnumLookup<ScheduleJournal.FsyncPolicy> FSYNC_POLICIES = new EnumLookup<>(ScheduleJournal.FsyncPolicy.class);
+    private static final EnumLookup<Radiology> ROOMS = new EnumLookup<>(Radiology.class);
+    private final ClinicManager clinicManager;
+    private final Writer output;
+
+    /**
+     * Creates a batch processor writing its results to the given writer.
+     * @param output writer receiving every message and report line.
+     */
+    public ClinicManagerBatch(Writer output) {
+        this(output, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a batch processor writing its results to the given writer and validating dates against a clock.
+     * @param output writer receiving every message and report line.
+     * @param clock clock giving today for date validation.
+     */
+    public ClinicManagerBatch(Writer output, Clock clock) {
+        this.output = output;
+        this.clinicManager = new ClinicManager(this::write, clock);
+    }
+
+    /**
+     * Obtains the clinic manager the commands are run against.
+     * @return clinic manager.
+     */
+    public ClinicManager getClinicManager() {
+        return clinicManager;
+    }
+
+    /**
+     * Runs every command of a command file, one line at a time, until the end of the file or a Q command.
+     * @param commands reader over the command file.
+     * @throws IOException if the commands cannot be read or the results cannot be written.
+     */
+    public void run(BufferedReader commands) throws IOException {
+        try {
+            String line;
+            while ((line = commands.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                if (line.equals("Q")) break;
+                processCommand(line);
+            }
+            write("Clinic Manager terminated.\n");
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        output.flush();
+    }
+
+    /**
+     * Runs a single command.
+     * D,date,slot,first,last,dob,npi      - schedule an office visit
+     * T,date,slot,first,last,dob,room     - schedule an imaging appointment
+     * C,date,slot,first,last,dob          - cancel an appointment
+     * R,date,slot,first,last,dob,new slot - reschedule an appointment on the same day
+     * PA, PP, PL, PO, PI, PC, PS          - lists and statements, as in the Demo Bar
+     * H,first,last,dob                    - list the visits of a patient billed so far
+     * B,from,to                           - statements of the visits billed between two dates
+     * @param line command line, without surrounding whitespace.
+     */
+    public void processCommand(String line) {
+        String[] tokens = line.split(",");
+        switch (tokens[0]) {
+            case "D" -> scheduleCommand(tokens, false);
+            case "T" -> scheduleCommand(tokens, true);
+            case "C" -> cancelCommand(tokens);
+            case "R" -> rescheduleCommand(tokens);
+            case "PA" -> clinicManager.listByDateTime();
+            case "PP" -> clinicManager.listByPatient();
+            case "PL" -> clinicManager.listByLocation();
+            case "PO" -> clinicManager.listOfficeVisits();
+            case "PI" -> clinicManager.listImagingVisits();
+            case "PC" -> clinicManager.printProviderCredits();
+            case "PS" -> clinicManager.printPatientBilling();
+            case "H" -> historyCommand(tokens);
+            case "B" -> billingCommand(tokens);
+            default -> write("Invalid command!\n");
+        }
+    }
+
+    /**
+     * D and T - Schedules an office visit or an imaging appointment.
+     */
+    private void scheduleCommand(String[] tokens, boolean imaging) {
+        if (!hasTokens(tokens, 7)) return;
+        Date apptDate = parseDate(tokens[1], "Appointment date");
+        Timeslot timeslot = parseTimeslot(tokens[2]);
+        Date dob = parseDate(tokens[5], "Patient dob");
+        if (apptDate == null || timeslot == null || dob == null) return;
+        if (!clinicManager.isValidAppointmentDate(apptDate)) return;
+        if (!clinicManager.isValidDOB(dob)) return;
+        Profile patientProfile = new Profile(tokens[3], tokens[4], dob);
+        if (imaging) {
+            Radiology imagingType = parseRoom(tokens[6]);
+            if (imagingType == null) {
+                write(tokens[6] + " - imaging service not provided.\n");
+                return;
+            }
+            clinicManager.scheduleImagingAppointment(apptDate, patientProfile, imagingType, timeslot);
+        } else {
+            Provider providerByNPI = clinicManager.findProviderByNPI(tokens[6]);
+            if (providerByNPI == null) {
+                write(tokens[6] + " - provider doesn't exist.\n");
+                return;
+            }
+            String providerString = providerByNPI.getProfile().getFname() + " " + providerByNPI.getProfile().getLname();
+            clinicManager.scheduleDoctorAppointment(apptDate, patientProfile, providerString, timeslot, providerByNPI);
+        }
+    }
+
+    /**
+     * C - Cancels an appointment.
+     */
+    private void cancelCommand(String[] tokens) {
+        if (!hasTokens(tokens, 6)) return;
+        Date apptDate = parseDate(tokens[1], "Appointment date");
+        Timeslot timeslot = parseTimeslot(tokens[2]);
+        Date dob = parseDate(tokens[5], "Patient dob");
+        if (apptDate == null || timeslot == null || dob == null) return;
+        if (!clinicManager.isValidAppointmentDate(apptDate)) return;
+        if (!clinicManager.isValidDOB(dob)) return;
+        clinicManager.cancelAppointment(apptDate, timeslot, new Profile(tokens[3], tokens[4], dob));
+    }
+
+    /**
+     * H - Lists the visit history of a patient.
+     */
+    private void historyCommand(String[] tokens) {
+        if (!hasTokens(tokens, 4)) return;
+        Date dob = parseDate(tokens[3], "Patient dob");
+        if (dob == null) return;
+        if (!dob.isValid()) {
+            write("Patient dob: " + dob + " is not a valid calendar date.\n");
+            return;
+        }
+        clinicManager.listPatientHistory(new Profile(tokens[1], tokens[2], dob));
+    }
+
+    /**
+     * B - Prints the statements of the visits billed between two dates.
+     */
+    private void billingCommand(String[] tokens) {
+        if (!hasTokens(tokens, 3)) return;
+        Date from = parseDate(tokens[1], "Start date");
+        Date to = parseDate(tokens[2], "End date");
+        if (from == null || to == null) return;
+        if (!from.isValid()) {
+            write("Start date: " + from + " is not a valid calendar date.\n");
+            return;
+        }
+        if (!to.isValid()) {
+            write("End date: " + to + " is not a valid calendar date.\n");
+            return;
+        }
+        if (from.compareTo(to) > 0) {
+            write("Start date " + from + " is after end date " + to + ".\n");
+            return;
+        }
+        clinicManager.printHistoryStatements(from, to);
+    }
+
+    /**
+     * R - Reschedules an appointment on the same day.
+     */
+    private void rescheduleCommand(String[] tokens) {
+        if (!hasTokens(tokens, 7)) return;
+        Date oldDate = parseDate(tokens[1], "Appointment date");
+        Timeslot oldTimeslot = parseTimeslot(tokens[2]);
+        Date dob = parseDate(tokens[5], "Patient dob");
+        Timeslot newTimeslot = parseTimeslot(tokens[6]);
+        if (oldDate == null || oldTimeslot == null || dob == null || newTimeslot == null) return;
+        if (!clinicManager.isValidAppointmentDate(oldDate)) return;
+        if (!clinicManager.isValidDOB(dob)) return;
+        clinicManager.rescheduleAppointment(oldDate, oldTimeslot, newTimeslot, new Profile(tokens[3], tokens[4], dob));
+    }
+
+    /**
+     * Helper method. Checks that a command has enough tokens, printing a message if not.
+     */
+    private boolean hasTokens(String[] tokens, int count) {
+        if (tokens.length < count) {
+            write("Missing data tokens.\n");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Helper method. Parses a date token, printing a message if it is not in the format of mm/dd/yyyy.
+     */
+    private Date parseDate(String token, String label) {
+        Date date = Date.parse(token);
+        if (date == null) {
+            write(label + ": " + token + " is not a valid calendar date.\n");
+        }
+        return date;
+    }
+
+    /**
+     * Helper method. Parses a timeslot token given as a slot number from 1 to 12, printing a message if invalid.
+     */
+    private Timeslot parseTimeslot(String token) {
+        try {
+            return Timeslot.fromSlotIndex(Integer.parseInt(token.trim()) - 1);
+        } catch (IllegalArgumentException e) {
+            write(token + " is not a valid time slot.\n");
+            return null;
+        }
+    }
+
+    /**
+     * Helper method. Parses an imaging service token.
+     */
+    private static Radiology parseRoom(String token) {
+        return ROOMS.find(token.trim());
+    }
+
+    /**
+     * Helper method. Writes a message to the output.
+     */
+    private void write(String text) {
+        try {
+            output.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Helper method. Creates a clock stopped at the start of a day, for replaying a command file.
+     * @return the clock, null if the date is not a valid calendar date.
+     */
+    private static Clock fixedClock(String dateString) {
+        Date today = Date.parse(dateString);
+        if (today == null || !today.isValid()) {
+            return null;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate day = LocalDate.of(today.getYear(), today.getMonth(), today.getDay());
+        return Clock.fixed(day.atStartOfDay(zone).toInstant(), zone);
+    }
+
+    /**
+     * Runs a command file against a provider file.
+     * @param args options, providers file, commands file (- for standard input) and optional output file.
+     */
+    public static void main(String[] args) {
+        Clock clock = Clock.systemDefaultZone();
+        Path journal = null;
+        Path history = null;
+        ScheduleJournal.FsyncPolicy fsync = ScheduleJournal.FsyncPolicy.PERIODIC;
+        int first = 0;
+        for (; first < args.length && args[first].startsWith("--") && clock != null && fsync != null; first++) {
+            String option = args[first];
+            if (option.startsWith(TODAY_OPTION)) {
+                clock = fixedClock(option.substring(TODAY_OPTION.length()));
+            } else if (option.startsWith(JOURNAL_OPTION)) {
+                journal = Path.of(option.substring(JOURNAL_OPTION.length()));
+            } else if (option.startsWith(FSYNC_OPTION)) {
+                fsync = FSYNC_POLICIES.find(option.substring(FSYNC_OPTION.length()));
+            } else if (option.startsWith(HISTORY_OPTION)) {
+                history = Path.of(option.substring(HISTORY_OPTION.length()));
+            } else {
+                clock = null;
+            }
+        }
+        int operands = args.length - first;
+        if (clock == null || fsync == null || operands < 2 || operands > 3) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        try (BufferedReader commands = args[first + 1].equals("-")
+                     ? new BufferedReader(new InputStreamReader(System.in))
+                     : new BufferedReader(new FileReader(args[first + 1]));
+             Writer output = new BufferedWriter(operands == 3
+                     ? new FileWriter(args[first + 2])
+                     : new OutputStreamWriter(System.out))) {
+            ClinicManagerBatch batch = new ClinicManagerBatch(output, clock);
+            ClinicManager clinicManager = batch.getClinicManager();
+            clinicManager.loadProviders(new File(args[first]));
+            if (journal != null) {
+                clinicManager.openJournal(journal, fsync);
+            }
+            if (history != null) {
+                clinicManager.openHistory(history);
+            }
+            try {
+                batch.run(commands);
+            } finally {
+                clinicManager.closeJournal();
+                clinicManager.closeHistory();
+            }
+        } catch (IOException e) {
+            System.err.println("Error running batch: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -9,6 +9,8 @@ import javafx.stage.Stage;
  * Main class for JavaFx Project.
  */
 public class ClinicManagerMain extends Application {
+    private ClinicManagerController controller;
+
     /**
      * Starting the JavaFX
      * @param primaryStage JavaFx Main stage
@@ -19,12 +21,23 @@ public class ClinicManagerMain extends Application {
         // Load the FXML file from the resources directory
         FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/com/example/project3/clinic-view.fxml"));
         Scene scene = new Scene(fxmlLoader.load());
+        controller = fxmlLoader.getController();
         primaryStage.setTitle("Clinic Manager");
         primaryStage.setScene(scene);
         primaryStage.show();
         primaryStage.toFront();
     }
 
+    /**
+     * Saves the schedule when the window is closed.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     /**
      * Main function to start JavaFx
      * @param args console input
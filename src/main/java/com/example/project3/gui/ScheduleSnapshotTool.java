@@ -0,0 +1,238 @@
+package com.example.project3.gui;
+
+import com.example.project3.clinicscheduler.Profile;
+import com.example.project3.clinicscheduler.Radiology;
+import com.example.project3.clinicscheduler.ScheduleSnapshot;
+import com.example.project3.clinicscheduler.Timeslot;
+import com.example.project3.util.Date;
+import com.example.project3.util.EnumLookup;
+import com.example.project3.util.LineParseException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Converts a schedule snapshot to text and back, for example to inspect or hand-edit the schedule kept
+ * next to the journal. The text has one appointment per line, in booking order:
+ * <pre>
+ * date,slot,patient first name,patient last name,patient dob,provider first name,provider last name,provider dob[,imaging service]
+ * </pre>
+ * with the slot from 1 to 12 as in command files, followed by "rotation,n" for the position of the
+ * technician rotation and "generation,n" for the generation of the snapshot. Lines starting with # are comments.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ScheduleSnapshotTool {
+    private static final String USAGE = "Usage: ScheduleSnapshotTool to-text <snapshot> [text file | -]\n"
+            + "       ScheduleSnapshotTool to-snapshot <text file | -> <snapshot>";
+    private static final String ROTATION = "rotation";
+    private static final String GENERATION = "generation";
+    private static final EnumLookup<Radiology> ROOMS = new EnumLookup<>(Radiology.class);
+
+    /**
+     * Writes the bookings of a snapshot as text lines.
+     */
+    private static class TextWriter implements ScheduleSnapshot.Bookings {
+        private final Writer out;
+        private int rotation = ScheduleSnapshot.NO_ROTATION;
+
+        /**
+         * Creates a writer of text lines.
+         * @param out writer receiving the lines.
+         */
+        TextWriter(Writer out) {
+            this.out = out;
+        }
+
+        /**
+         * Writes one appointment line.
+         */
+        @Override
+        public void book(Date date, Timeslot timeslot, Profile patient, Profile provider, Radiology room) {
+            write(date + "," + (timeslot.getSlotIndex() + 1) + "," + profileText(patient) + "," + profileText(provider)
+                    + (room == null ? "" : "," + room.name().toLowerCase()) + "\n");
+        }
+
+        /**
+         * Keeps the rotation, written after the appointments.
+         */
+        @Override
+        public void rotate(int position) {
+            rotation = position;
+        }
+
+        /**
+         * Writes the rotation and the generation after the appointments.
+         * @param generation generation of the snapshot.
+         */
+        void finish(long generation) {
+            if (rotation != ScheduleSnapshot.NO_ROTATION) {
+                write(ROTATION + "," + rotation + "\n");
+            }
+            write(GENERATION + "," + generation + "\n");
+        }
+
+        /**
+         * Helper method. Writes text, rethrowing a write error unchecked.
+         */
+        private void write(String text) {
+            try {
+                out.write(text);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Helper method. Formats a profile as first name, last name and date of birth.
+         */
+        private static String profileText(Profile profile) {
+            return profile.getFname() + "," + profile.getLname() + "," + profile.getDob();
+        }
+    }
+
+    /**
+     * Writes a snapshot as text.
+     * @param snapshot snapshot file.
+     * @param text writer receiving the lines.
+     * @throws IOException if the snapshot cannot be read or the text cannot be written.
+     */
+    public static void toText(Path snapshot, Writer text) throws IOException {
+        TextWriter writer = new TextWriter(text);
+        try {
+            writer.finish(ScheduleSnapshot.read(snapshot, writer).generation());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        text.flush();
+    }
+
+    /**
+     * Writes text lines as a snapshot. Lines that cannot be parsed are reported and skipped.
+     * @param text reader over the lines.
+     * @param snapshot snapshot file, replaced atomically.
+     * @param errors receives a message for each line skipped.
+     * @return number of lines skipped.
+     * @throws IOException if the text cannot be read or the snapshot cannot be written.
+     */
+    public static int toSnapshot(BufferedReader text, Path snapshot, Writer errors) throws IOException {
+        ScheduleSnapshot.Builder builder = new ScheduleSnapshot.Builder();
+        long generation = 0;
+        int skipped = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = text.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            try {
+                String[] tokens = line.split(",");
+                if (tokens[0].equals(GENERATION)) {
+                    generation = parseNumber(tokens, lineNumber);
+                } else if (tokens[0].equals(ROTATION)) {
+                    builder.rotate((int) parseNumber(tokens, lineNumber));
+                } else {
+                    parseBooking(tokens, lineNumber, builder);
+                }
+            } catch (LineParseException e) {
+                errors.write("Error at " + e.getMessage() + "\n");
+                skipped++;
+            }
+        }
+        builder.write(snapshot, generation);
+        errors.flush();
+        return skipped;
+    }
+
+    /**
+     * Helper method. Parses an appointment line into a booking.
+     */
+    private static void parseBooking(String[] tokens, int line, ScheduleSnapshot.Bookings target) {
+        if (tokens.length < 8 || tokens.length > 9) {
+            throw new LineParseException(line, 1, "expected 8 or 9 fields, found " + tokens.length);
+        }
+        Date date = parseDate(tokens, 0, line);
+        Timeslot timeslot;
+        try {
+            timeslot = Timeslot.fromSlotIndex(Integer.parseInt(tokens[1].trim()) - 1);
+        } catch (IllegalArgumentException e) {
+            throw new LineParseException(line, 2, tokens[1] + " is not a valid time slot");
+        }
+        Profile patient = new Profile(tokens[2].trim(), tokens[3].trim(), parseDate(tokens, 4, line));
+        Profile provider = new Profile(tokens[5].trim(), tokens[6].trim(), parseDate(tokens, 7, line));
+        Radiology room = null;
+        if (tokens.length == 9) {
+            room = ROOMS.find(tokens[8].trim());
+            if (room == null) {
+                throw new LineParseException(line, 9, tokens[8] + " is not an imaging service");
+            }
+        }
+        target.book(date, timeslot, patient, provider, room);
+    }
+
+    /**
+     * Helper method. Parses the date in a field.
+     */
+    private static Date parseDate(String[] tokens, int field, int line) {
+        Date date = Date.parse(tokens[field].trim());
+        if (date == null || !date.isValid()) {
+            throw new LineParseException(line, field + 1, tokens[field] + " is not a valid calendar date");
+        }
+        return date;
+    }
+
+    /**
+     * Helper method. Parses the number of a rotation or generation line.
+     */
+    private static long parseNumber(String[] tokens, int line) {
+        try {
+            if (tokens.length == 2) {
+                long number = Long.parseLong(tokens[1].trim());
+                if (number >= 0) {
+                    return number;
+                }
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new LineParseException(line, 2, "expected a single number after " + tokens[0]);
+    }
+
+    /**
+     * Converts a snapshot to text or text to a snapshot.
+     * @param args to-text or to-snapshot, then the input and output files.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3 || !(args[0].equals("to-text") || args.length == 3 && args[0].equals("to-snapshot"))) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        try {
+            if (args[0].equals("to-text")) {
+                boolean toStandardOutput = args.length == 2 || args[2].equals("-");
+                try (Writer text = new BufferedWriter(toStandardOutput
+                        ? new OutputStreamWriter(System.out) : new FileWriter(args[2]))) {
+                    toText(Path.of(args[1]), text);
+                }
+            } else {
+                try (BufferedReader text = args[1].equals("-")
+                        ? new BufferedReader(new InputStreamReader(System.in))
+                        : new BufferedReader(new FileReader(args[1]))) {
+                    Writer errors = new OutputStreamWriter(System.err);
+                    if (toSnapshot(text, Path.of(args[2]), errors) > 0) {
+                        System.exit(2);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error converting schedule: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
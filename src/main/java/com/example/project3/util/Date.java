@@ -1,26 +1,36 @@
 package com.example.project3.util;
 
-import java.util.Calendar;
+import java.time.LocalDate;
 
 /**
  Date object. Includes ways to validate date, see if the date falls on a weekend, and compare the date.
+ Besides year, month and day, a date keeps its day count since Jan. 1st, 1970 (the epoch day), so weekdays,
+ day arithmetic, comparisons and hashing are plain integer math with no Calendar involved. The epoch day
+ can be used directly as an array offset or map key. Dates are immutable, so they can be shared, used as
+ keys and handed out by getters without copying.
  @author Zeel Patel, Sriya Vemuri
  */
 public class Date implements Comparable<Date> {
     public static final int QUADRENNIAL = 4;
     public static final int CENTENNIAL = 100;
     public static final int QUATERCENTENNIAL = 400;
-    private int year;
-    private int month;
-    private int day;
+    private final int year;
+    private final int month;
+    private final int day;
+    private final int epochDay;
+    public static final int DAYS_PER_WEEK = 7;
+    public static final int MONTHS_PER_YEAR = 12;
+    private static final int DAYS_0000_TO_1970 = 719468; // days from Mar. 1st, year 0 to Jan. 1st, 1970
+    private static final int DAYS_PER_ERA = 146097;      // days in 400 years
+    public static final long NOT_A_DATE = -1;            // result of parsePacked for malformed text
+    private static final int MAX_MONTH_DAY_DIGITS = 4;
+    private static final int MAX_YEAR_DIGITS = 9;
 
     /**
      * Default/no-argument constructor. Default date is Jan. 1st, 2000.
      */
     public Date() {
-        this.year = 2000;
-        this.month = 1;
-        this.day = 1;
+        this(2000, 1, 1);
     }
 
     /**
@@ -34,6 +44,7 @@ public class Date implements Comparable<Date> {
         this.year = year;
         this.month = month;
         this.day = day;
+        this.epochDay = epochDayOf(year, month, day);
     }
 
     /**
@@ -87,26 +98,47 @@ public class Date implements Comparable<Date> {
         return this.day >= 1 && this.day <= maxDaysInMonth;
     }
 
+    /**
+     * Obtains the day of the week, counted from Monday as 1 to Sunday as 7.
+     * @return day of the week as an integer
+     */
+    public int getDayOfWeek() {
+        return dayOfWeek(epochDay);
+    }
+
+    /**
+     * Obtains the day of the week of an epoch day, counted from Monday as 1 to Sunday as 7.
+     * @param epochDay number of days since the epoch.
+     * @return day of the week as an integer
+     */
+    public static int dayOfWeek(int epochDay) {
+        return Math.floorMod(epochDay + 3, DAYS_PER_WEEK) + 1; // Jan. 1st, 1970 was a Thursday
+    }
+
     /**
      * Checks if a date falls on the weekend
      * @return true if date is on a weekend, false otherwise.
      */
     public boolean isWeekend(){
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(this.year, this.month - 1, this.day);
-        int weekday = calendar.get(Calendar.DAY_OF_WEEK);
-        return (weekday == Calendar.SATURDAY || weekday == Calendar.SUNDAY);
+        return isWeekend(epochDay);
     }
 
     /**
-     * Checks if a date is today or before today
-     * @return true if date is today or before today, false otherwise.
+     * Checks if an epoch day falls on the weekend
+     * @param epochDay number of days since the epoch.
+     * @return true if the day is a Saturday or Sunday, false otherwise.
+     */
+    public static boolean isWeekend(int epochDay) {
+        return dayOfWeek(epochDay) > 5;
+    }
+
+    /**
+     * Checks if a date is after today. Appointment dates must be, so a false result means
+     * the date is today or before today.
+     * @return true if date is after today, false if it is today or before today.
      */
     public boolean isTodayOrPast(){
-        Calendar today = Calendar.getInstance();
-        Calendar date = Calendar.getInstance();
-        date.set(this.year, (this.month - 1), this.day);
-        return date.after(today);
+        return epochDay > todayEpochDay();
     }
 
     /**
@@ -114,12 +146,8 @@ public class Date implements Comparable<Date> {
      * @return true if date does fall within six months of today, false otherwise.
      */
     public boolean withinSixMonths() {
-        Calendar today = Calendar.getInstance();
-        Calendar sixMonths = Calendar.getInstance();
-        sixMonths.add(Calendar.MONTH, 6);
-        Calendar date = Calendar.getInstance();
-        date.set(this.year, this.month - 1, this.day);
-        return !date.after(sixMonths) && !date.before(today);
+        int today = todayEpochDay();
+        return epochDay >= today && epochDay <= plusMonths(today, 6);
     }
 
     /**
@@ -127,191 +155,242 @@ public class Date implements Comparable<Date> {
      * @return true if it is today or in the future, false otherwise.
      */
     public boolean isTodayOrFuture() {
-        Calendar today = Calendar.getInstance();
-        Calendar date = Calendar.getInstance();
-        date.set(this.year, this.month - 1, this.day);
-        return !date.before(today);
+        return epochDay >= todayEpochDay();
     }
 
     /**
-     Obtains year from a Date object.
-     @return year as an integer
+     * Creates the date of today on the system clock.
+     * @return today as a Date object.
      */
-    public int getYear() {
-        return year;
+    public static Date today() {
+        return fromEpochDay(todayEpochDay());
     }
 
     /**
-     Changes the year to the given year
-     @param year as an integer
+     * Obtains today on the system clock as an epoch day.
+     * @return number of days from Jan. 1st, 1970 to today.
      */
-    public void setYear(int year) {
-        this.year = year;
+    public static int todayEpochDay() {
+        return (int) LocalDate.now().toEpochDay();
     }
 
     /**
-     Obtains month from Date object
-     @return month as an integer
+     * Creates the date a number of days after this one.
+     * @param days number of days to add, negative to go back.
+     * @return the new date as a Date object.
      */
-    public int getMonth() {
-        return month;
+    public Date plusDays(int days) {
+        return fromEpochDay(epochDay + days);
     }
 
     /**
-     Changes the month to the given month
-     @param month as an integer
+     * Creates the date a number of months after this one. If the day does not exist in
+     * the new month, the last day of that month is used.
+     * @param months number of months to add, negative to go back.
+     * @return the new date as a Date object.
      */
-    public void setMonth(int month) {
-        this.month = month;
+    public Date plusMonths(int months) {
+        return fromEpochDay(plusMonths(epochDay, months));
     }
 
     /**
-     Obtains day from Date object.
-     @return day as an integer
+     * Adds a number of months to an epoch day, keeping the day of the month when it exists
+     * in the new month and using the last day of that month otherwise.
+     * @param epochDay number of days since the epoch.
+     * @param months number of months to add, negative to go back.
+     * @return the resulting epoch day.
      */
-    public int getDay() {
-        return day;
+    public static int plusMonths(int epochDay, int months) {
+        Date date = fromEpochDay(epochDay);
+        int monthIndex = date.year * MONTHS_PER_YEAR + (date.month - 1) + months;
+        int year = Math.floorDiv(monthIndex, MONTHS_PER_YEAR);
+        int month = Math.floorMod(monthIndex, MONTHS_PER_YEAR) + 1;
+        int day = Math.min(date.day, date.getMaxDaysInMonth(month, year));
+        return epochDayOf(year, month, day);
     }
 
     /**
-     Changes the day to the given day
-     @param day as an integer
+     * Given a string in the format of mm/dd/yyyy, converts it to Date object.
+     * @param dateString Date as a string.
+     * @return date as a Date object, null if the string is not in that format.
      */
-    public void setDay(int day) {
-        this.day = day;
+    public static Date parse(String dateString) {
+        if (dateString == null) {
+            return null;
+        }
+        long packed = parsePacked(dateString, 0, dateString.length());
+        return packed == NOT_A_DATE ? null : fromPacked(packed);
     }
 
     /**
-     Tests if two date objects are equal.
-     @param obj The object to be compared.
-     @return return true if two date objects are equal; return false otherwise.
+     * Decodes a region of characters in the format of mm/dd/yyyy without creating any objects.
+     * Only checks the format; the numbers may still make an invalid calendar date such as 2/30/2024.
+     * @param text characters holding the date.
+     * @param start index of the first character of the date.
+     * @param end index after the last character of the date.
+     * @return the year in the upper 32 bits, the month in the next 16 and the day in the lowest 16,
+     * or NOT_A_DATE if the text is not in that format.
      */
-    @Override
-    public boolean equals(Object obj) {
-        if (obj instanceof Date) {
-            Date date = (Date) obj;
-            return date.year == (this.year) && date.month == (this.month) && date.day == (this.day);
+    public static long parsePacked(CharSequence text, int start, int end) {
+        int month = 0;
+        int day = 0;
+        int year = 0;
+        int field = 0;  // 0 month, 1 day, 2 year
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '/') {
+                if (digits == 0 || field == 2) return NOT_A_DATE;
+                field++;
+                digits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') return NOT_A_DATE;
+            digits++;
+            int digit = c - '0';
+            if (field == 0) {
+                if (digits > MAX_MONTH_DAY_DIGITS) return NOT_A_DATE;
+                month = month * 10 + digit;
+            } else if (field == 1) {
+                if (digits > MAX_MONTH_DAY_DIGITS) return NOT_A_DATE;
+                day = day * 10 + digit;
+            } else {
+                if (digits > MAX_YEAR_DIGITS) return NOT_A_DATE;
+                year = year * 10 + digit;
+            }
         }
-        return false;
+        if (field != 2 || digits == 0) return NOT_A_DATE;
+        return ((long) year << 32) | ((long) month << 16) | day;
     }
 
     /**
-     Return textual representation of Date object as month/day/year.
-     @return a string with date.
+     * Creates the date of a value decoded by parsePacked.
+     * @param packed year, month and day as packed by parsePacked.
+     * @return date as a Date object.
      */
-    @Override
-    public String toString() {
-        return String.format("%d/%d/%04d", month, day, year);
+    public static Date fromPacked(long packed) {
+        return new Date((int) (packed >>> 32), (int) (packed >>> 16) & 0xFFFF, (int) packed & 0xFFFF);
     }
 
     /**
-     Compares two date objects based on which occurs first
-     @param date the object to be compared.
-     @return return 1 is date object is later than "date", return -1 if it is earlier;
-     return 0 if they are equal.
+     * Counts the days from Jan. 1st, 1970 to this date, without going through Calendar.
+     * @return number of days since the epoch, negative for earlier dates.
      */
-    @Override
-    public int compareTo(Date date) {
-        if (date.year == this.year){
-            if (date.month > this.month) {
-                return -1;
-            } else if (date.month < this.month) {
-                return 1;
-            } else {
-                return Integer.compare(this.day, date.day);
-            }
-        } else if (date.year < this.year) {
-            return 1;
-        } else {
-            return -1;
-        }
+    public int toEpochDay() {
+        return epochDay;
     }
 
     /**
-     * Testbed main() to test code just specifically within this class.
-     * @param args command line arguments.
+     * Helper method. Counts the days from Jan. 1st, 1970 to a year, month and day.
+     * Years are counted from March so that the leap day falls at the end of the year.
      */
+    private static int epochDayOf(int year, int month, int day) {
+        int y = (month <= 2) ? year - 1 : year;
+        int era = Math.floorDiv(y, QUATERCENTENNIAL);
+        int yearOfEra = y - era * QUATERCENTENNIAL;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / QUADRENNIAL - yearOfEra / CENTENNIAL + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
 
-    public static void main(String[] args) {
-        testDaysInFeb_Leap();         // Test case 1: Leap year
-        testDaysEndOfYear();          // Test case 2: End of the year
-        testDaysInFeb_Nonleap();      // Test case 3: Non-leap year
-        testDaysInApril();            // Test case 4: April has 30 days
-        testMonth_OutOfRange();       // Test case 5: Invalid month
-        testDaysWithInvalidDay();     // Test case 6: Invalid day (0 day)
+    /**
+     * Creates the date a given number of days after Jan. 1st, 1970, without going through Calendar.
+     * @param epochDay number of days since the epoch, negative for earlier dates.
+     * @return date as a Date object.
+     */
+    public static Date fromEpochDay(int epochDay) {
+        int z = epochDay + DAYS_0000_TO_1970;
+        int era = Math.floorDiv(z, DAYS_PER_ERA);
+        int dayOfEra = z - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / QUADRENNIAL - yearOfEra / CENTENNIAL);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * QUATERCENTENNIAL + (month <= 2 ? 1 : 0);
+        return new Date(year, month, day);
     }
 
     /**
-     * Test case #1
+     Obtains year from a Date object.
+     @return year as an integer
      */
-    private static void testDaysInFeb_Leap() {
-        Date validDate1 = new Date(2024, 02, 29); // Leap year
-        boolean expectedOutput = true; // Expected output
-        boolean actualOutput = validDate1.isValid(); // Actual output
-        testResult(validDate1, expectedOutput, actualOutput); // Test the result
+    public int getYear() {
+        return year;
     }
 
     /**
-     * Test case #2
+     Obtains month from Date object
+     @return month as an integer
      */
-    private static void testDaysEndOfYear() {
-        Date validDate2 = new Date(2021, 12, 31); // End of the year
-        boolean expectedOutput = true; // Expected output
-        boolean actualOutput = validDate2.isValid(); // Actual output
-        testResult(validDate2, expectedOutput, actualOutput); // Test the result
+    public int getMonth() {
+        return month;
     }
 
     /**
-     * Test case #3
+     Obtains day from Date object.
+     @return day as an integer
      */
-    private static void testDaysInFeb_Nonleap() {
-        Date invalidDate3 = new Date(2023, 02, 29); // Non-leap year
-        boolean expectedOutput = false; // Expected output
-        boolean actualOutput = invalidDate3.isValid(); // Actual output
-        testResult(invalidDate3, expectedOutput, actualOutput); // Test the result
+    public int getDay() {
+        return day;
     }
 
     /**
-     * Test case #4
+     Tests if two date objects are equal.
+     @param obj The object to be compared.
+     @return return true if two date objects are equal; return false otherwise.
      */
-    private static void testDaysInApril() {
-        Date invalidDate4 = new Date(2019, 04, 31); // April has 30 days
-        boolean expectedOutput = false; // Expected output
-        boolean actualOutput = invalidDate4.isValid(); // Actual output
-        testResult(invalidDate4, expectedOutput, actualOutput); // Test the result
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof Date) {
+            Date date = (Date) obj;
+            return date.year == (this.year) && date.month == (this.month) && date.day == (this.day);
+        }
+        return false;
     }
 
     /**
-     * Test case #5
+     Hash code matching equals: the epoch day.
+     @return hash code of the date.
      */
-    private static void testMonth_OutOfRange() {
-        Date invalidDate5 = new Date(2022, 13, 01); // Invalid month
-        boolean expectedOutput = false; // Expected output
-        boolean actualOutput = invalidDate5.isValid(); // Actual output
-        testResult(invalidDate5, expectedOutput, actualOutput); // Test the result
+    @Override
+    public int hashCode() {
+        return epochDay;
     }
 
     /**
-     * Test case #6
+     Return textual representation of Date object as month/day/year.
+     @return a string with date.
      */
-    private static void testDaysWithInvalidDay() {
-        Date invalidDate6 = new Date(2017, 06, 0); // Invalid day (0 day)
-        boolean expectedOutput = false; // Expected output
-        boolean actualOutput = invalidDate6.isValid(); // Actual output
-        testResult(invalidDate6, expectedOutput, actualOutput); // Test the result
+    @Override
+    public String toString() {
+        return String.format("%d/%d/%04d", month, day, year);
     }
 
     /**
-     * Method to compare the expected and actual output and print the result.
-     * @param date the Date object being tested
-     * @param expected the expected output
-     * @param actual the actual output
+     Compares two date objects based on which occurs first
+     @param date the object to be compared.
+     @return return 1 is date object is later than "date", return -1 if it is earlier;
+     return 0 if they are equal.
      */
-    private static void testResult(Date date, boolean expected, boolean actual) {
-        if (expected == actual) {
-            System.out.println("Test passed for date: " + date + "\nExpected: " + expected + ", Actual: " + actual + "\n");
+    @Override
+    public int compareTo(Date date) {
+        if (this.epochDay != date.epochDay) {
+            return this.epochDay < date.epochDay ? -1 : 1;
+        }
+        // Same day count: only differs if one of them is not a valid calendar date
+        if (date.year == this.year){
+            if (date.month > this.month) {
+                return -1;
+            } else if (date.month < this.month) {
+                return 1;
+            } else {
+                return Integer.compare(this.day, date.day);
+            }
+        } else if (date.year < this.year) {
+            return 1;
         } else {
-            System.out.println("Test failed for date: " + date + ". Expected: " + expected + ", but got: " + actual + "\n");
+            return -1;
         }
     }
-    }
\ No newline at end of file
+}
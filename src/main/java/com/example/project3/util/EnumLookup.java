@@ -0,0 +1,72 @@
+package com.example.project3.util;
+
+/**
+ * Case-insensitive lookup of enum constants by name, straight from a region of characters.
+ * The constants are grouped by name length when the lookup is built, so finding a token compares it
+ * against the few names of the same length, character by character, without creating a String.
+ * @param <E> the enum type
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class EnumLookup<E extends Enum<E>> {
+    private final Object[][] byLength; // byLength[n] holds the constants whose name has n characters
+
+    /**
+     * Builds the lookup for every constant of an enum.
+     * @param type class of the enum.
+     */
+    public EnumLookup(Class<E> type) {
+        E[] constants = type.getEnumConstants();
+        int longest = 0;
+        for (E constant : constants) {
+            longest = Math.max(longest, constant.name().length());
+        }
+        int[] counts = new int[longest + 1];
+        for (E constant : constants) {
+            counts[constant.name().length()]++;
+        }
+        byLength = new Object[longest + 1][];
+        for (int length = 0; length <= longest; length++) {
+            byLength[length] = new Object[counts[length]];
+            counts[length] = 0;
+        }
+        for (E constant : constants) {
+            int length = constant.name().length();
+            byLength[length][counts[length]++] = constant;
+        }
+    }
+
+    /**
+     * Finds the constant named by a whole sequence of characters, ignoring case.
+     * @param text the name.
+     * @return the constant, null if no constant has that name.
+     */
+    public E find(CharSequence text) {
+        return find(text, 0, text.length());
+    }
+
+    /**
+     * Finds the constant named by a region of characters, ignoring case.
+     * @param text characters holding the name.
+     * @param start index of the first character of the name.
+     * @param end index after the last character of the name.
+     * @return the constant, null if no constant has that name.
+     */
+    @SuppressWarnings("unchecked")
+    public E find(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length < 0 || length >= byLength.length) {
+            return null;
+        }
+        for (Object candidate : byLength[length]) {
+            String name = ((E) candidate).name();
+            int i = 0;
+            while (i < length && Character.toUpperCase(text.charAt(start + i)) == name.charAt(i)) {
+                i++;
+            }
+            if (i == length) {
+                return (E) candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.project3.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Sink writing report text to a file through a FileChannel. Each piece of text is encoded to UTF-8
+ * into one reused direct buffer, which is written out whenever it fills, so memory stays bounded
+ * however long the report is. Meant to sit behind a ReportBuffer with a chunk size.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class FileReportSink implements Consumer<String>, Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /**
+     * Opens a file for writing, replacing its contents.
+     * @param file file to write.
+     * @throws IOException if the file cannot be opened.
+     */
+    public FileReportSink(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Encodes text into the file.
+     * @param text text to write.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    @Override
+    public void accept(String text) {
+        try {
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            encode(chars);
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes whatever is still buffered and closes the file.
+     * @throws IOException if the file cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Helper method. Encodes characters, writing the byte buffer out each time it fills.
+     */
+    private void encode(CharBuffer chars) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, true);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isError()) {
+                throw new CharacterCodingException();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Helper method. Writes the byte buffer to the channel and empties it.
+     */
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
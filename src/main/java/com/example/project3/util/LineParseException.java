@@ -0,0 +1,51 @@
+package com.example.project3.util;
+
+/**
+ * Thrown when a line of an input file cannot be parsed. Carries the line and column of the problem,
+ * both counted from 1, so the message can point the user to the exact spot.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class LineParseException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+    private final String reason;
+
+    /**
+     * Creates the exception.
+     * @param line line number of the problem, counted from 1.
+     * @param column column of the problem, counted from 1.
+     * @param reason what is wrong at that position.
+     */
+    public LineParseException(int line, int column, String reason) {
+        super("line " + line + ", column " + column + ": " + reason);
+        this.line = line;
+        this.column = column;
+        this.reason = reason;
+    }
+
+    /**
+     * Obtains the line number of the problem.
+     * @return line number, counted from 1.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Obtains the column of the problem.
+     * @return column, counted from 1.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Obtains what is wrong, without the position.
+     * @return reason given when the exception was created.
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -1,26 +1,69 @@
 package com.example.project3.util;
 
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
- * A generic List class that implements a dynamically growing array without importing Java collections.
+ * A generic List class that implements a dynamically growing array.
  * This class provides methods for adding, removing, and accessing elements, and includes a custom iteration mechanism.
+ * The array doubles when full, so appending n elements costs O(n) overall. By default add() skips duplicates
+ * with a linear equals() scan; a list created with a hashed duplicate check keeps a count of each element in a
+ * hash map instead, so an element moved between slots with set() stays a member while any slot holds it,
+ * and append() skips the check altogether for callers that already know the element is new.
+ * Each call to iterator() or spliterator() walks the list independently, so several readers, for-each loops
+ * and (parallel) streams can traverse the same list at once.
  *
  * @param <E> the type of elements in this list
  * Author: Sriya Vemuri, Zeel Patel
  */
-public class List<E> {
+public class List<E> implements Iterable<E> {
     private E[] objects;
     private int size;
+    private final HashMap<E, Integer> members; // slots holding each element; null unless the duplicate check is hashed
+    private int modCount; // structural changes, so iterators can detect them
     private static final int INITIAL_CAPACITY = 4;
-    private static final int GROW_BY = 4;
+    private static final int GROWTH_FACTOR = 2;
     private static final int NOT_FOUND = -1;
 
     /**
      * Constructs an empty List with an initial capacity of 4.
      */
-    @SuppressWarnings("unchecked")
     public List() {
-        objects = (E[]) new Object[INITIAL_CAPACITY]; // Initial capacity of 4
+        this(INITIAL_CAPACITY, false);
+    }
+
+    /**
+     * Constructs an empty List with room for the given number of elements.
+     *
+     * @param initialCapacity number of elements the list holds before it first grows
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public List(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Constructs an empty List, optionally checking for duplicates through a hash set.
+     * The hashed check needs the elements to implement hashCode() consistently with equals().
+     *
+     * @param initialCapacity number of elements the list holds before it first grows
+     * @param hashedDuplicateCheck true to check for duplicates in O(1), false for a linear scan
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public List(int initialCapacity, boolean hashedDuplicateCheck) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity.");
+        }
+        objects = (E[]) new Object[initialCapacity];
         size = 0;
+        members = hashedDuplicateCheck ? new HashMap<>() : null;
     }
 
     /**
@@ -39,17 +82,29 @@ public class List<E> {
     }
 
     /**
-     * Grows the internal array by a fixed amount (GROW_BY) to accommodate more elements.
+     * Grows the internal array by GROWTH_FACTOR, or to the minimum capacity if that is larger.
+     *
+     * @param minCapacity number of elements the array must hold
      */
     @SuppressWarnings("unchecked")
-    private void grow() {
-        E[] newObjects = (E[]) new Object[objects.length + GROW_BY];
-        for (int i = 0; i < size; i++) {
-            newObjects[i] = objects[i];
-        }
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(objects.length * GROWTH_FACTOR, Math.max(minCapacity, INITIAL_CAPACITY));
+        E[] newObjects = (E[]) new Object[newCapacity];
+        System.arraycopy(objects, 0, newObjects, 0, size);
         objects = newObjects;
     }
 
+    /**
+     * Makes sure the list can hold the given number of elements without growing again.
+     *
+     * @param minCapacity number of elements the list must hold
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > objects.length) {
+            grow(minCapacity);
+        }
+    }
+
     /**
      * Checks if the list contains the specified element.
      *
@@ -57,6 +112,9 @@ public class List<E> {
      * @return true if the element is found, otherwise false
      */
     public boolean contains(E e) {
+        if (members != null) {
+            return members.containsKey(e);
+        }
         return find(e) != NOT_FOUND;
     }
 
@@ -65,17 +123,32 @@ public class List<E> {
      * Increases the list capacity if the current capacity is full.
      *
      * @param e the element to add
+     * @return true if the element was added, false if it was already in the list
      */
-    public void add(E e) {
+    public boolean add(E e) {
         if (contains(e)) {
-            return; // Avoid adding duplicates
+            return false; // Avoid adding duplicates
         }
+        append(e);
+        return true;
+    }
+
+    /**
+     * Adds an element at the end of the list without checking for duplicates.
+     * Only for callers that already know the element is not in the list.
+     *
+     * @param e the element to add
+     */
+    public void append(E e) {
         if (size == objects.length) {
-            grow(); // Increase capacity if full
+            grow(size + 1); // Increase capacity if full
         }
-        // Add the new element at the end
         objects[size] = e;
         size++;
+        modCount++;
+        if (members != null) {
+            members.merge(e, 1, Integer::sum);
+        }
     }
 
     /**
@@ -85,15 +158,18 @@ public class List<E> {
      * @param e the element to remove
      */
     public void remove(E e) {
+        if (members != null && !members.containsKey(e)) {
+            return; // Object not found, nothing to remove
+        }
         int index = find(e);
         if (index == NOT_FOUND) {
             return; // Object not found, nothing to remove
         }
-        for (int i = index; i < size - 1; i++) {
-            objects[i] = objects[i + 1];
-        }
+        dropMember(objects[index]);
+        System.arraycopy(objects, index + 1, objects, index, size - index - 1);
         objects[size - 1] = null; // Nullify the last element
         size--;
+        modCount++;
     }
 
     /**
@@ -139,9 +215,24 @@ public class List<E> {
         if (index < 0 || index >= size) {
             throw new IllegalArgumentException("Index out of bounds.");
         }
+        if (members != null) {
+            members.merge(e, 1, Integer::sum);
+            dropMember(objects[index]);
+        }
         objects[index] = e;
     }
 
+    /**
+     * Helper method. Counts one slot fewer holding an element, forgetting the element once no slot holds it.
+     *
+     * @param e the element taken out of a slot
+     */
+    private void dropMember(E e) {
+        if (members != null) {
+            members.computeIfPresent(e, (element, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
     /**
      * Returns the index of the specified element in the list.
      *
@@ -152,7 +243,93 @@ public class List<E> {
         return find(e);
     }
 
-    // Custom iteration mechanism instead of Java Iterator
+    /**
+     * Returns an iterator over the elements in order. Each iterator keeps its own position.
+     *
+     * @return a new iterator starting at the first element
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Returns a spliterator over the elements in order. It reports SIZED and SUBSIZED and splits
+     * the backing array in halves, so parallel streams divide the work evenly.
+     *
+     * @return a new spliterator over the current elements
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(objects, 0, size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the elements.
+     *
+     * @return a stream of the elements in order
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements.
+     *
+     * @return a possibly parallel stream of the elements
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Independent iterator over the list. Fails fast if elements are added or removed
+     * other than through the iterator while it is in use.
+     */
+    private class Itr implements Iterator<E> {
+        private int cursor;
+        private int lastReturned = NOT_FOUND;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            return objects[cursor++];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == NOT_FOUND) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            E removed = objects[lastReturned];
+            System.arraycopy(objects, lastReturned + 1, objects, lastReturned, size - lastReturned - 1);
+            objects[--size] = null;
+            dropMember(removed);
+            cursor = lastReturned;
+            lastReturned = NOT_FOUND;
+            expectedModCount = ++modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // Custom iteration mechanism instead of Java Iterator, kept for existing callers.
+    // Use iterator() or a for-each loop when more than one reader may walk the list.
     private int currentIndex = 0;
 
     /**
@@ -0,0 +1,635 @@
+package com.example.project3.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Sorted key-value store on disk in the style of a log-structured merge tree. Writes go to a sorted
+ * in-memory table, which is written out as an immutable segment file once it holds enough data; reads
+ * merge the table with the segments, newest first. Each segment is a run of 4 KB blocks of sorted
+ * entries followed by a sparse index holding the first key of every block, so a lookup reads one block
+ * and a range scan reads only the blocks it covers. Blocks read are kept in a shared LRU cache, so the
+ * keys in use (recent dates, say) stay in memory while the rest of the data stays on disk. When there are
+ * too many segments they are merged into one, dropping deleted and overwritten entries.
+ * Keys are compared as unsigned bytes. Changes since the last flush are held in memory only.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class LsmStore implements Closeable {
+    private static final int SEGMENT_MAGIC = 0x4C534D31; // "LSM1"
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int BLOCK_BYTES = 1 << 12;
+    private static final int FOOTER_BYTES = 16; // index offset, block count, magic
+    private static final int MEMTABLE_BYTES = 1 << 20; // in-memory data written out as a segment
+    private static final int MAX_SEGMENTS = 8; // segments above which they are merged into one
+    private static final int CACHED_BLOCKS = 256;
+    private static final int DELETED = -1; // value length of a deleted entry
+    private static final byte[] TOMBSTONE = new byte[0]; // value of a deleted entry in the table, compared by identity
+    private static final Comparator<byte[]> KEY_ORDER = Arrays::compareUnsigned;
+
+    private final Path directory;
+    private TreeMap<byte[], byte[]> memtable = new TreeMap<>(KEY_ORDER);
+    private int memtableBytes;
+    private final ArrayList<Segment> segments = new ArrayList<>(); // newest first
+    private final LinkedHashMap<Long, ByteBuffer> blockCache = new LinkedHashMap<>(CACHED_BLOCKS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> eldest) {
+            return size() > CACHED_BLOCKS;
+        }
+    };
+    private long lastSegment; // number of the newest segment written
+
+    /**
+     * Opens the store in a directory, creating the directory if needed.
+     * @param directory directory holding the segment files.
+     * @throws IOException if the directory or a segment cannot be read.
+     */
+    public LsmStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        ArrayList<Segment> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                found.add(Segment.open(file));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Segment segment : found) {
+                segment.close();
+            }
+            throw e instanceof IOException io ? io : new IOException("Corrupt segment in " + directory, e);
+        }
+        found.sort(Comparator.comparingLong((Segment segment) -> segment.last).reversed());
+        for (Segment segment : found) {
+            if (isMerged(segment, found)) { // left over from a merge interrupted before it cleaned up
+                segment.close();
+                Files.deleteIfExists(segment.file);
+            } else {
+                segments.add(segment);
+                lastSegment = Math.max(lastSegment, segment.last);
+            }
+        }
+    }
+
+    /**
+     * Stores a value under a key, replacing any value it had.
+     * @param key the key.
+     * @param value the value.
+     * @throws UncheckedIOException if the table had to be written out and could not be.
+     */
+    public void put(byte[] key, byte[] value) {
+        write(key, value);
+    }
+
+    /**
+     * Deletes the value of a key.
+     * @param key the key.
+     * @throws UncheckedIOException if the table had to be written out and could not be.
+     */
+    public void delete(byte[] key) {
+        write(key, TOMBSTONE);
+    }
+
+    /**
+     * Obtains the value of a key.
+     * @param key the key.
+     * @return the value, null if there is none.
+     * @throws UncheckedIOException if a segment cannot be read.
+     */
+    public byte[] get(byte[] key) {
+        byte[] value = memtable.get(key);
+        if (value != null) {
+            return value == TOMBSTONE ? null : value;
+        }
+        for (Segment segment : segments) {
+            value = segment.find(key, this);
+            if (value != null) {
+                return value == TOMBSTONE ? null : value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walks the entries whose keys are in a range, in key order.
+     * @param from lowest key, included.
+     * @param to highest key, excluded; null for no bound.
+     * @param action receives each key and value.
+     * @throws UncheckedIOException if a segment cannot be read.
+     */
+    public void scan(byte[] from, byte[] to, BiConsumer<byte[], byte[]> action) {
+        Iterator<Map.Entry<byte[], byte[]>> entries = new MergedEntries(from, to);
+        while (entries.hasNext()) {
+            Map.Entry<byte[], byte[]> entry = entries.next();
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Writes the in-memory table out as a segment, merging the segments if there are too many.
+     * @throws IOException if a segment cannot be written.
+     */
+    public void flush() throws IOException {
+        if (memtable.isEmpty()) {
+            return;
+        }
+        long number = lastSegment + 1;
+        Segment segment = Segment.write(directory, number, number, memtable.entrySet().iterator());
+        lastSegment = number;
+        segments.add(0, segment);
+        memtable = new TreeMap<>(KEY_ORDER);
+        memtableBytes = 0;
+        if (segments.size() > MAX_SEGMENTS) {
+            merge();
+        }
+    }
+
+    /**
+     * Flushes the store and closes its segments.
+     * @throws IOException if the table cannot be written out.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            segments.clear();
+            blockCache.clear();
+        }
+    }
+
+    /**
+     * Helper method. Adds an entry to the table, writing the table out once it is large enough.
+     */
+    private void write(byte[] key, byte[] value) {
+        memtable.put(key, value);
+        memtableBytes += key.length + value.length + 8;
+        if (memtableBytes >= MEMTABLE_BYTES) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Helper method. Merges every segment into one, dropping deleted and overwritten entries. The merged
+     * segment is named after the range of segments it replaces, so if a crash leaves the old files behind
+     * they are recognised and deleted when the store is opened again.
+     */
+    private void merge() throws IOException {
+        Segment oldest = segments.get(segments.size() - 1);
+        Segment merged = Segment.write(directory, oldest.first, lastSegment, new MergedEntries(new byte[0], null));
+        for (Segment segment : segments) {
+            segment.close();
+            Files.deleteIfExists(segment.file);
+        }
+        segments.clear();
+        segments.add(merged);
+        blockCache.clear();
+    }
+
+    /**
+     * Helper method. Checks if a segment is covered by the range of a merged segment.
+     */
+    private static boolean isMerged(Segment segment, ArrayList<Segment> all) {
+        for (Segment other : all) {
+            if (other != segment && other.first <= segment.first && segment.last <= other.last) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method. Obtains a block of a segment through the cache.
+     */
+    private ByteBuffer cachedBlock(Segment segment, int block) throws IOException {
+        long cacheKey = segment.last << 32 | block;
+        ByteBuffer contents = blockCache.get(cacheKey);
+        if (contents == null) {
+            contents = segment.readBlock(block);
+            blockCache.put(cacheKey, contents);
+        }
+        return contents.duplicate();
+    }
+
+    /**
+     * Iterator over the live entries of the table and every segment in a range of keys, merging the
+     * sources in key order and keeping only the newest value of each key. Entries are read one block at
+     * a time, so a merge of every segment holds little more than a block per segment in memory.
+     */
+    private class MergedEntries implements Iterator<Map.Entry<byte[], byte[]>> {
+        private final byte[] to;
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>(
+                Comparator.comparing((Cursor cursor) -> cursor.key, KEY_ORDER).thenComparingInt(cursor -> cursor.age));
+        private Map.Entry<byte[], byte[]> next;
+
+        /**
+         * Creates an iterator over a range of keys.
+         * @param from lowest key, included.
+         * @param to highest key, excluded; null for no bound.
+         */
+        MergedEntries(byte[] from, byte[] to) {
+            this.to = to;
+            Map<byte[], byte[]> recent = to == null ? memtable.tailMap(from, true) : memtable.subMap(from, true, to, false);
+            requeue(new Cursor(recent.entrySet().iterator(), 0));
+            for (int i = 0; i < segments.size(); i++) {
+                requeue(new Cursor(segments.get(i).entriesFrom(from, LsmStore.this), i + 1));
+            }
+            next = read();
+        }
+
+        /**
+         * Checks if there is another live entry.
+         * @return true if there is.
+         */
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        /**
+         * Obtains the next live entry.
+         * @return the entry.
+         */
+        @Override
+        public Map.Entry<byte[], byte[]> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<byte[], byte[]> entry = next;
+            next = read();
+            return entry;
+        }
+
+        /**
+         * Helper method. Takes the newest value of the smallest key left, skipping the older values of
+         * the key and deleted keys.
+         */
+        private Map.Entry<byte[], byte[]> read() {
+            while (!cursors.isEmpty()) {
+                Cursor newest = cursors.poll();
+                byte[] key = newest.key;
+                byte[] value = newest.value;
+                if (to != null && KEY_ORDER.compare(key, to) >= 0) {
+                    cursors.clear();
+                    return null;
+                }
+                requeue(newest);
+                while (!cursors.isEmpty() && KEY_ORDER.compare(cursors.peek().key, key) == 0) { // older values of the key
+                    requeue(cursors.poll());
+                }
+                if (value != TOMBSTONE) {
+                    return Map.entry(key, value);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Helper method. Puts a cursor back in the queue at its next entry, unless it is exhausted.
+         */
+        private void requeue(Cursor cursor) {
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+    }
+
+    /**
+     * Position in the entries of one source of a scan.
+     */
+    private static class Cursor {
+        private final Iterator<Map.Entry<byte[], byte[]>> entries;
+        private final int age; // 0 for the table, then 1 for the newest segment
+        private byte[] key;
+        private byte[] value;
+
+        /**
+         * Creates a cursor before the first entry of a source.
+         * @param entries entries of the source, in key order.
+         * @param age how old the source is, the newest first.
+         */
+        Cursor(Iterator<Map.Entry<byte[], byte[]>> entries, int age) {
+            this.entries = entries;
+            this.age = age;
+        }
+
+        /**
+         * Moves to the next entry.
+         * @return true if there is one, false if the source is exhausted.
+         */
+        boolean advance() {
+            if (!entries.hasNext()) {
+                return false;
+            }
+            Map.Entry<byte[], byte[]> entry = entries.next();
+            key = entry.getKey();
+            value = entry.getValue();
+            return true;
+        }
+    }
+
+    /**
+     * Immutable sorted file of entries: blocks of entries, a sparse index of the first key of each
+     * block, and a footer. Each entry is its key length, key, value length (-1 if deleted) and value.
+     */
+    private static class Segment {
+        private final Path file;
+        private final long first; // number of the oldest segment whose entries this one holds
+        private final long last;  // number of the newest one
+        private final FileChannel channel;
+        private final byte[][] firstKeys;
+        private final long[] offsets; // offsets[i] is where block i starts; the last one is where the index starts
+
+        /**
+         * Creates a segment over an open file.
+         */
+        private Segment(Path file, long first, long last, FileChannel channel, byte[][] firstKeys, long[] offsets) {
+            this.file = file;
+            this.first = first;
+            this.last = last;
+            this.channel = channel;
+            this.firstKeys = firstKeys;
+            this.offsets = offsets;
+        }
+
+        /**
+         * Writes sorted entries as a segment, to a temporary file moved into place once forced.
+         * @param directory directory of the store.
+         * @param first number of the oldest segment the entries come from.
+         * @param last number of the newest one.
+         * @param entries entries in key order; a TOMBSTONE value marks a deleted entry.
+         * @return the segment, open for reading.
+         * @throws IOException if it cannot be written.
+         */
+        static Segment write(Path directory, long first, long last, Iterator<Map.Entry<byte[], byte[]>> entries) throws IOException {
+            Path file = directory.resolve(first + "-" + last + SEGMENT_SUFFIX);
+            Path temp = directory.resolve(first + "-" + last + SEGMENT_SUFFIX + ".tmp");
+            ArrayList<byte[]> firstKeys = new ArrayList<>();
+            ArrayList<Long> offsets = new ArrayList<>();
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES);
+                long position = 0;
+                while (entries.hasNext()) {
+                    Map.Entry<byte[], byte[]> entry = entries.next();
+                    byte[] value = entry.getValue();
+                    int length = 8 + entry.getKey().length + value.length;
+                    if (block.remaining() < length) { // an entry larger than a block gets a block of its own
+                        position += drain(out, block);
+                        block = ByteBuffer.allocate(Math.max(BLOCK_BYTES, length));
+                    }
+                    if (block.position() == 0) {
+                        firstKeys.add(entry.getKey());
+                        offsets.add(position);
+                    }
+                    block.putInt(entry.getKey().length).put(entry.getKey())
+                            .putInt(value == TOMBSTONE ? DELETED : value.length).put(value);
+                }
+                position += drain(out, block);
+                int indexBytes = 4;
+                for (byte[] key : firstKeys) {
+                    indexBytes += 12 + key.length;
+                }
+                ByteBuffer index = ByteBuffer.allocate(indexBytes + FOOTER_BYTES).putInt(firstKeys.size());
+                for (int i = 0; i < firstKeys.size(); i++) {
+                    index.putLong(offsets.get(i)).putInt(firstKeys.get(i).length).put(firstKeys.get(i));
+                }
+                index.putLong(position).putInt(firstKeys.size()).putInt(SEGMENT_MAGIC);
+                drain(out, index);
+                out.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return open(file);
+        }
+
+        /**
+         * Opens a segment file and reads its index.
+         * @param file segment file, named first-last.seg.
+         * @return the segment.
+         * @throws IOException if it cannot be read or is not a segment.
+         */
+        static Segment open(Path file) throws IOException {
+            String name = file.getFileName().toString();
+            int dash = name.indexOf('-');
+            long first = Long.parseLong(name.substring(0, dash));
+            long last = Long.parseLong(name.substring(dash + 1, name.length() - SEGMENT_SUFFIX.length()));
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                if (size < FOOTER_BYTES || readFully(channel, size - FOOTER_BYTES, FOOTER_BYTES).getInt(12) != SEGMENT_MAGIC) {
+                    throw new IOException("Not a segment: " + file);
+                }
+                ByteBuffer footer = readFully(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+                long indexOffset = footer.getLong(0);
+                int blocks = footer.getInt(8);
+                ByteBuffer index = readFully(channel, indexOffset, (int) (size - FOOTER_BYTES - indexOffset));
+                index.getInt();
+                byte[][] firstKeys = new byte[blocks][];
+                long[] offsets = new long[blocks + 1];
+                for (int i = 0; i < blocks; i++) {
+                    offsets[i] = index.getLong();
+                    firstKeys[i] = new byte[index.getInt()];
+                    index.get(firstKeys[i]);
+                }
+                offsets[blocks] = indexOffset;
+                return new Segment(file, first, last, channel, firstKeys, offsets);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Finds the value of a key.
+         * @param key the key.
+         * @param store store whose block cache is used.
+         * @return the value, TOMBSTONE if deleted, null if the segment does not hold the key.
+         */
+        byte[] find(byte[] key, LsmStore store) {
+            int block = blockOf(key);
+            if (block < 0) {
+                return null;
+            }
+            Iterator<Map.Entry<byte[], byte[]>> entries = new EntryIterator(this, store, block, key);
+            if (entries.hasNext()) {
+                Map.Entry<byte[], byte[]> entry = entries.next();
+                if (Arrays.equals(entry.getKey(), key)) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Walks the entries from a key on, in key order.
+         * @param from lowest key, included.
+         * @param store store whose block cache is used.
+         * @return iterator over the entries.
+         */
+        Iterator<Map.Entry<byte[], byte[]>> entriesFrom(byte[] from, LsmStore store) {
+            return new EntryIterator(this, store, Math.max(0, blockOf(from)), from);
+        }
+
+        /**
+         * Reads one block.
+         * @param block index of the block.
+         * @return its contents.
+         * @throws IOException if it cannot be read.
+         */
+        ByteBuffer readBlock(int block) throws IOException {
+            return readFully(channel, offsets[block], (int) (offsets[block + 1] - offsets[block]));
+        }
+
+        /**
+         * Closes the file.
+         * @throws IOException if it cannot be closed.
+         */
+        void close() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Helper method. Finds the last block whose first key is not after a key, -1 if there is none.
+         */
+        private int blockOf(byte[] key) {
+            int low = 0;
+            int high = firstKeys.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (KEY_ORDER.compare(firstKeys[middle], key) <= 0) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Helper method. Reads a region of a file.
+         */
+        private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Segment truncated");
+                }
+            }
+            return buffer.flip();
+        }
+
+        /**
+         * Helper method. Writes a buffer out and empties it.
+         * @return number of bytes written.
+         */
+        private static int drain(FileChannel out, ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            int written = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+            return written;
+        }
+    }
+
+    /**
+     * Iterator over the entries of a segment from a key on, reading a block at a time.
+     */
+    private static class EntryIterator implements Iterator<Map.Entry<byte[], byte[]>> {
+        private final Segment segment;
+        private final LsmStore store;
+        private int block;
+        private ByteBuffer contents;
+        private Map.Entry<byte[], byte[]> next;
+
+        /**
+         * Creates an iterator starting at the first entry not before a key.
+         * @param segment segment to walk.
+         * @param store store whose block cache is used.
+         * @param block block to start in.
+         * @param from lowest key, included.
+         */
+        EntryIterator(Segment segment, LsmStore store, int block, byte[] from) {
+            this.segment = segment;
+            this.store = store;
+            this.block = block - 1;
+            do {
+                next = read();
+            } while (next != null && KEY_ORDER.compare(next.getKey(), from) < 0);
+        }
+
+        /**
+         * Checks if there is another entry.
+         * @return true if there is.
+         */
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        /**
+         * Obtains the next entry.
+         * @return the entry; its value is TOMBSTONE if it was deleted.
+         */
+        @Override
+        public Map.Entry<byte[], byte[]> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<byte[], byte[]> entry = next;
+            next = read();
+            return entry;
+        }
+
+        /**
+         * Helper method. Decodes the next entry, moving on to the next block when one is used up.
+         */
+        private Map.Entry<byte[], byte[]> read() {
+            while (contents == null || !contents.hasRemaining()) {
+                if (++block >= segment.firstKeys.length) {
+                    return null;
+                }
+                try {
+                    contents = store.cachedBlock(segment, block);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            byte[] key = new byte[contents.getInt()];
+            contents.get(key);
+            int length = contents.getInt();
+            byte[] value = TOMBSTONE;
+            if (length != DELETED) {
+                value = new byte[length];
+                contents.get(value);
+            }
+            return Map.entry(key, value);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.project3.util;
+
+/**
+ * Running totals per day with prefix sums, kept in a Fenwick (binary indexed) tree over a window of
+ * consecutive days. Adding to a day and summing any range of days both take O(log days). The window
+ * grows in either direction as earlier or later days are used, rebuilding the tree in linear time.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class PrefixSums {
+    private static final int INITIAL_DAYS = 64;
+    private int firstDay;
+    private long[] values = new long[0]; // values[i] is the total of day firstDay + i
+    private long[] tree = new long[1];   // Fenwick tree over values, 1-based
+
+    /**
+     * Adds an amount to a day.
+     * @param day the day, for example an epoch day.
+     * @param delta amount to add, negative to subtract.
+     */
+    public void add(int day, long delta) {
+        ensureDay(day);
+        int offset = day - firstDay;
+        values[offset] += delta;
+        for (int i = offset + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Obtains the total of one day.
+     * @param day the day.
+     * @return total of the day, 0 if nothing was added to it.
+     */
+    public long get(int day) {
+        int offset = day - firstDay;
+        return (offset >= 0 && offset < values.length) ? values[offset] : 0;
+    }
+
+    /**
+     * Obtains the total of a range of days.
+     * @param fromDay first day, included.
+     * @param toDay last day, included.
+     * @return total of the days, 0 if the range is empty.
+     */
+    public long sum(int fromDay, int toDay) {
+        if (toDay < fromDay) {
+            return 0;
+        }
+        return sumThrough(toDay) - sumThrough(fromDay - 1);
+    }
+
+    /**
+     * Removes every amount.
+     */
+    public void clear() {
+        values = new long[0];
+        tree = new long[1];
+    }
+
+    /**
+     * Helper method. Obtains the total of all days up to a day, included.
+     */
+    private long sumThrough(int day) {
+        int count = Math.min(day - firstDay + 1, values.length);
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Helper method. Grows the window to include a day, rebuilding the tree.
+     */
+    private void ensureDay(int day) {
+        if (values.length == 0) {
+            firstDay = day - INITIAL_DAYS / 2;
+            values = new long[INITIAL_DAYS];
+            tree = new long[INITIAL_DAYS + 1];
+            return;
+        }
+        int offset = day - firstDay;
+        if (offset >= 0 && offset < values.length) {
+            return;
+        }
+        int newLength = Math.max(values.length * 2, values.length + Math.abs(offset));
+        int newFirstDay = offset < 0 ? firstDay + values.length - newLength : firstDay;
+        long[] grown = new long[newLength];
+        System.arraycopy(values, 0, grown, firstDay - newFirstDay, values.length);
+        firstDay = newFirstDay;
+        values = grown;
+        tree = new long[newLength + 1];
+        for (int i = 1; i <= newLength; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= newLength) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.project3.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Buffer that collects the lines of a report and hands them to a sink in a few large pieces instead
+ * of one call per line. Without a chunk size the whole report goes out in one call to flush(), which
+ * for a TextArea means one relayout per report; with a chunk size the buffer is handed over every time
+ * it fills, so a report of any length streams to a file in bounded memory. The buffer is reused from
+ * one report to the next.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+public class ReportBuffer implements Consumer<String> {
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+    private static final int RETAINED_CAPACITY = 1 << 16; // larger buffers are released after a flush
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final Consumer<String> sink;
+    private final int chunkSize;
+
+    /**
+     * Creates a buffer handing each report to the sink in one piece.
+     * @param sink receives the text of each flush.
+     */
+    public ReportBuffer(Consumer<String> sink) {
+        this(sink, UNBOUNDED);
+    }
+
+    /**
+     * Creates a buffer handing its contents to the sink whenever it holds a chunk.
+     * @param sink receives the text of each chunk and flush.
+     * @param chunkSize number of characters after which the buffer is handed over.
+     */
+    public ReportBuffer(Consumer<String> sink, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        this.sink = sink;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Appends text to the report, handing over a chunk if the buffer is full.
+     * @param text text to append.
+     */
+    @Override
+    public void accept(String text) {
+        buffer.append(text);
+        if (buffer.length() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands everything buffered to the sink in one call.
+     */
+    public void flush() {
+        if (buffer.length() == 0) {
+            return;
+        }
+        String text = buffer.toString();
+        buffer.setLength(0);
+        if (buffer.capacity() > RETAINED_CAPACITY) {
+            buffer.trimToSize();
+        }
+        sink.accept(text);
+    }
+}
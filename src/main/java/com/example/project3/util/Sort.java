@@ -2,62 +2,109 @@ package com.example.project3.util;
 import com.example.project3.clinicscheduler.Appointment;
 import com.example.project3.clinicscheduler.Person;
 import com.example.project3.clinicscheduler.Profile;
+import com.example.project3.clinicscheduler.Provider;
+import java.util.Arrays;
+import java.util.Comparator;
 
 /**
- * Class for sorting appointments based on specified criteria.
+ * Class for sorting appointments and people based on specified criteria.
+ * Every ordering used by the lists and statements is kept here as a Comparator, and arrays are
+ * sorted with the stable merge sort of Arrays.parallelSort (TimSort below its parallel threshold),
+ * so appointments that tie keep the order they were booked in, as they did with the bubble sorts.
+ * Appointment orderings start from precomputed primitive keys, the county rank of the provider's
+ * location and the packed date/time key, so the schedule views, which group appointments by those keys,
+ * only compare names between appointments of the same group, and then without building any Strings.
  *
  * @author Sriya Vemuri, Zeel Patel
  */
 public class Sort {
 
+    /** Orders appointments by date, then time, then the provider's last and first name (PA). */
+    public static final Comparator<Appointment> BY_DATE_TIME_PROVIDER = (a1, a2) -> {
+        int comparison = compareDateTime(a1, a2);
+        if (comparison != 0) {
+            return comparison;
+        }
+        return compareLastFirst(a1.getProvider().getProfile(), a2.getProvider().getProfile());
+    };
+
+    /** Orders appointments by patient profile, then date, then time (PP). */
+    public static final Comparator<Appointment> BY_PATIENT_DATE_TIME = (a1, a2) -> {
+        int comparison = a1.getPatient().getProfile().compareTo(a2.getPatient().getProfile());
+        if (comparison != 0) {
+            return comparison;
+        }
+        return compareDateTime(a1, a2);
+    };
+
+    /** Orders appointments by county, then date, then time, then the provider's first name (PO, PI). */
+    public static final Comparator<Appointment> BY_COUNTY_DATE_TIME_PROVIDER = (a1, a2) -> {
+        int comparison = compareCountyDateTime(a1, a2);
+        if (comparison != 0) {
+            return comparison;
+        }
+        return a1.getProvider().getProfile().getFname().compareTo(a2.getProvider().getProfile().getFname());
+    };
+
     /**
-     * Sorts a list of appointments based on the specified key.
-     *
-     * @param list The list of appointments to be sorted.
-     * @param key  The key to sort by ('d' for date, 'p' for provider).
+     * Orders appointments by county, then date, then time, then the length of the patient's full name
+     * and, for names of the same length, the full name itself (PL).
      */
-    public static void appointment(Appointment[] list, char key) {
-        for (int i = 0; i < list.length - 1; i++) {
-            for (int j = 0; j < list.length - i - 1; j++) {
-                if (compareAppointments(list[j], list[j + 1], key) > 0) {
-                    // Swap
-                    Appointment temp = list[j];
-                    list[j] = list[j + 1];
-                    list[j + 1] = temp;
-                }
-            }
+    public static final Comparator<Appointment> BY_COUNTY_DATE_TIME_PATIENT = (a1, a2) -> {
+        int comparison = compareCountyDateTime(a1, a2);
+        if (comparison != 0) {
+            return comparison;
         }
-    }
+        String name1 = a1.getPatient().getProfile().getFullName();
+        String name2 = a2.getPatient().getProfile().getFullName();
+        comparison = Integer.compare(name1.length(), name2.length());
+        return comparison != 0 ? comparison : name1.compareTo(name2);
+    };
+
+    /** Orders people by last name only. */
+    public static final Comparator<Person> BY_LAST_NAME =
+            (p1, p2) -> p1.getProfile().getLname().compareTo(p2.getProfile().getLname());
+
+    /** Orders people by last name, then first name, then date of birth (PC, PS). */
+    public static final Comparator<Person> BY_NAME_DOB = (p1, p2) -> {
+        Profile profile1 = p1.getProfile();
+        Profile profile2 = p2.getProfile();
+        int comparison = compareLastFirst(profile1, profile2);
+        return comparison != 0 ? comparison : profile1.getDob().compareTo(profile2.getDob());
+    };
 
     /**
-     * Compares two appointments based on the specified key.
+     * Sorts an array with a stable O(n log n) sort, in parallel for large arrays.
      *
-     * @param a1  The first appointment.
-     * @param a2  The second appointment.
-     * @param key The key to compare by ('d' for date, 'p' for provider).
-     * @return A negative integer, zero, or a positive integer as the first
-     *         argument is less than, equal to, or greater than the second.
-     * @throws IllegalArgumentException if the sort key is invalid.
+     * @param array      The array to be sorted.
+     * @param comparator The ordering.
+     * @param <T>        type of the elements.
      */
-    private static int compareAppointments(Appointment a1, Appointment a2, char key) {
-        switch (key) {
-            case 'd':
-                return a1.getDate().compareTo(a2.getDate());
-            case 'p':
-                return getProviderFullName(a1.getProvider()).compareTo(getProviderFullName(a2.getProvider()));
-            default:
-                throw new IllegalArgumentException("Invalid sort key: " + key);
-        }
+    public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+        Arrays.parallelSort(array, comparator);
     }
 
     /**
-     * Retrieves the full name of the provider.
-     *
-     * @param provider The provider whose full name is to be retrieved.
-     * @return The full name of the provider.
+     * Helper method. Compares the packed date/time keys of two appointments.
+     */
+    private static int compareDateTime(Appointment a1, Appointment a2) {
+        return Long.compare(a1.getDateTimeKey(), a2.getDateTimeKey());
+    }
+
+    /**
+     * Helper method. Compares the county ranks of the providers, then the date/time keys, of two appointments.
+     */
+    private static int compareCountyDateTime(Appointment a1, Appointment a2) {
+        int comparison = Integer.compare(((Provider) a1.getProvider()).getLocation().getCountyRank(),
+                ((Provider) a2.getProvider()).getLocation().getCountyRank());
+        return comparison != 0 ? comparison : compareDateTime(a1, a2);
+    }
+
+    /**
+     * Helper method. Compares last names, then first names.
      */
-    private static String getProviderFullName(Person provider) {
-        Profile profile = provider.getProfile(); // Assuming Person has a getProfile() method
-        return profile.getFname() + " " + profile.getLname();
+    private static int compareLastFirst(Profile p1, Profile p2) {
+        int comparison = p1.getLname().compareTo(p2.getLname());
+        return comparison != 0 ? comparison : p1.getFname().compareTo(p2.getFname());
     }
 }
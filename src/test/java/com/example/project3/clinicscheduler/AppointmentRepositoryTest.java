@@ -0,0 +1,88 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that the repositories in memory and on disk store, replace and remove appointments alike.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class AppointmentRepositoryTest {
+    private static final Doctor FAMILY =
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01");
+    private static final Doctor PEDIATRICIAN =
+            new Doctor(new Profile("Rachael", "Lim", new Date(1982, 7, 23)), Location.BRIDGEWATER, Specialty.PEDIATRICIAN, "23");
+    private static final Date DAY = new Date(2026, 10, 26);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Helper method. Creates an office visit on 10/26/2026.
+     */
+    private static Appointment visit(String patient, int slot, Doctor provider) {
+        return new Appointment(DAY, Timeslot.fromSlotIndex(slot),
+                new Patient(new Profile(patient, "Roe", new Date(1989, 1, 13)), null), provider);
+    }
+
+    /**
+     * Helper method. Opens both repositories with the doctors registered.
+     */
+    private AppointmentRepository[] repositories() throws IOException {
+        AppointmentRepository[] repositories = {new InMemoryAppointmentRepository(), new FileAppointmentRepository(directory)};
+        for (AppointmentRepository repository : repositories) {
+            repository.addProvider(FAMILY);
+            repository.addProvider(PEDIATRICIAN);
+        }
+        return repositories;
+    }
+
+    /**
+     * Helper method. Lists the appointments stored on 10/26/2026.
+     */
+    private static ArrayList<Appointment> onDay(AppointmentRepository repository) {
+        ArrayList<Appointment> found = new ArrayList<>();
+        repository.forEachBetween(DAY, DAY, found::add);
+        return found;
+    }
+
+    @Test
+    void addReplacesThePatientsAppointmentAtTheSameTime() throws IOException {
+        for (AppointmentRepository repository : repositories()) {
+            try (repository) {
+                repository.add(visit("Al", 0, FAMILY));
+                repository.add(visit("Bo", 0, FAMILY));
+                repository.add(visit("Al", 0, PEDIATRICIAN)); // same patient and time, another provider
+                ArrayList<Appointment> stored = onDay(repository);
+                assertEquals(2, stored.size(), repository.getClass().getSimpleName());
+                assertTrue(stored.contains(visit("Al", 0, PEDIATRICIAN)));
+                assertFalse(stored.contains(visit("Al", 0, FAMILY)));
+                Patient al = repository.findPatient(visit("Al", 0, FAMILY).getPatient().getProfile());
+                assertEquals(visit("Al", 0, PEDIATRICIAN), al.getVisits().getAppointment());
+                assertEquals(null, al.getVisits().getNext());
+            }
+        }
+    }
+
+    @Test
+    void removeTakesOnlyTheSameAppointment() throws IOException {
+        for (AppointmentRepository repository : repositories()) {
+            try (repository) {
+                repository.add(visit("Al", 0, FAMILY));
+                repository.add(visit("Al", 1, FAMILY));
+                assertFalse(repository.remove(visit("Al", 0, PEDIATRICIAN)));
+                assertTrue(repository.remove(visit("Al", 0, FAMILY)));
+                assertFalse(repository.remove(visit("Al", 0, FAMILY)));
+                assertEquals(java.util.List.of(visit("Al", 1, FAMILY)), onDay(repository));
+            }
+        }
+    }
+}
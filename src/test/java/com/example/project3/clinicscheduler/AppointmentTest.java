@@ -0,0 +1,38 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.example.project3.util.Date;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that Appointment compares and hashes by date, timeslot, patient and provider.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class AppointmentTest {
+    private static final Doctor DOCTOR =
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01");
+
+    /**
+     * Helper method. Creates an office visit with the doctor.
+     */
+    private static Appointment visit(Date date, Timeslot timeslot, String fname, String lname) {
+        return new Appointment(date, timeslot, new Patient(new Profile(fname, lname, new Date(1989, 12, 13)), null), DOCTOR);
+    }
+
+    @Test
+    void appointmentsOfTheSamePatientAreEqual() {
+        Appointment a1 = visit(new Date(2024, 11, 4), Timeslot.of(9, 0), "John", "Doe");
+        Appointment a2 = visit(new Date(2024, 11, 4), Timeslot.of(9, 0), "john", "doe");
+        assertEquals(a1, a2);
+        assertEquals(a1.hashCode(), a2.hashCode());
+    }
+
+    @Test
+    void appointmentsAtDifferentTimesAreDifferent() {
+        Appointment a1 = visit(new Date(2024, 11, 4), Timeslot.of(9, 0), "John", "Doe");
+        assertNotEquals(a1, visit(new Date(2024, 11, 4), Timeslot.fromSlotIndex(1), "John", "Doe"));
+        assertNotEquals(a1, visit(new Date(2024, 11, 5), Timeslot.of(9, 0), "John", "Doe"));
+    }
+}
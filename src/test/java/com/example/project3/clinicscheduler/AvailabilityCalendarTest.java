@@ -0,0 +1,89 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the provider day masks of AvailabilityCalendar.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class AvailabilityCalendarTest {
+    private static final Doctor DOCTOR =
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01");
+    private static final Doctor OTHER =
+            new Doctor(new Profile("Rachael", "Lim", new Date(1975, 11, 30)), Location.BRIDGEWATER, Specialty.PEDIATRICIAN, "23");
+    private static final Date DAY = new Date(2026, 10, 26);
+
+    @Test
+    void bookingSetsTheSlotsOfOneProviderOnOneDay() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        calendar.book(DOCTOR, DAY, Timeslot.fromSlotIndex(2));
+        calendar.book(DOCTOR, DAY, Timeslot.fromSlotIndex(7), 2);
+        assertEquals(0b110000100, calendar.bookedSlots(DOCTOR, DAY));
+        assertEquals(~0b110000100 & AvailabilityCalendar.ALL_SLOTS, calendar.freeSlots(DOCTOR, DAY));
+        assertFalse(calendar.isAvailable(DOCTOR, DAY, Timeslot.fromSlotIndex(8)));
+        assertTrue(calendar.isAvailable(DOCTOR, DAY, Timeslot.fromSlotIndex(9)));
+        assertFalse(calendar.isAvailable(DOCTOR, DAY, Timeslot.fromSlotIndex(1), 2));
+        assertTrue(calendar.isAvailable(DOCTOR, DAY, Timeslot.fromSlotIndex(3), 3));
+        assertEquals(0, calendar.bookedSlots(OTHER, DAY));
+        assertEquals(0, calendar.bookedSlots(DOCTOR, DAY.plusDays(1)));
+        assertEquals(0, calendar.bookedSlots(DOCTOR, DAY.plusDays(-1)));
+    }
+
+    @Test
+    void providerWithAnEqualProfileSharesTheCalendar() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        calendar.book(DOCTOR, DAY, Timeslot.fromSlotIndex(0));
+        Doctor reloaded = new Doctor(new Profile("ANDREW", "PATEL", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01");
+        assertFalse(calendar.isAvailable(reloaded, DAY, Timeslot.fromSlotIndex(0)));
+    }
+
+    @Test
+    void releaseFreesOnlyTheSpanReleased() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        calendar.book(DOCTOR, DAY, Timeslot.fromSlotIndex(0), 3);
+        calendar.release(DOCTOR, DAY, Timeslot.fromSlotIndex(1), 2);
+        assertEquals(0b1, calendar.bookedSlots(DOCTOR, DAY));
+        calendar.release(OTHER, DAY, Timeslot.fromSlotIndex(0)); // never booked
+        calendar.release(DOCTOR, DAY, Timeslot.fromSlotIndex(0));
+        assertEquals(0, calendar.bookedSlots(DOCTOR, DAY));
+    }
+
+    @Test
+    void daysFarApartAreKeptApart() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        Date[] days = {new Date(1999, 12, 31), DAY, new Date(2027, 4, 26), new Date(2100, 1, 1)};
+        for (int i = 0; i < days.length; i++) {
+            calendar.book(DOCTOR, days[i], Timeslot.fromSlotIndex(i));
+        }
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(1 << i, calendar.bookedSlots(DOCTOR, days[i]), days[i].toString());
+        }
+    }
+
+    @Test
+    void spanPastTheEndOfASessionIsRejected() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        assertThrows(IllegalArgumentException.class, () -> calendar.book(DOCTOR, DAY, Timeslot.fromSlotIndex(5), 2));
+        assertThrows(IllegalArgumentException.class, () -> calendar.isAvailable(DOCTOR, DAY, Timeslot.fromSlotIndex(11), 2));
+        assertEquals(0, calendar.bookedSlots(DOCTOR, DAY));
+    }
+
+    @Test
+    void clearFreesEveryProvider() {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        calendar.book(DOCTOR, DAY, Timeslot.fromSlotIndex(0));
+        calendar.book(OTHER, DAY, Timeslot.fromSlotIndex(1));
+        DayMasks held = calendar.masksOf(DOCTOR);
+        calendar.clear();
+        assertEquals(0, calendar.bookedSlots(DOCTOR, DAY));
+        assertEquals(0, calendar.bookedSlots(OTHER, DAY));
+        calendar.book(DOCTOR, DAY, Timeslot.fromSlotIndex(3));
+        assertEquals(0b1000, held.get(DAY.toEpochDay())); // masks held by a rotation stay live
+    }
+}
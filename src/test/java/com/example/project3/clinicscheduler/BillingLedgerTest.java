@@ -0,0 +1,89 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.project3.util.Date;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the charges the BillingLedger keeps per day, against sums over the booked appointments.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class BillingLedgerTest {
+    private static final Date CENTER = new Date(2026, 10, 26);
+    private static final Provider[] PROVIDERS = {
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01"),
+            new Doctor(new Profile("Rachael", "Lim", new Date(1975, 11, 30)), Location.BRIDGEWATER, Specialty.PEDIATRICIAN, "23"),
+            new Technician(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), Location.BRIDGEWATER, 125)};
+
+    /**
+     * Helper method. Sums the service costs of the booked appointments between two dates.
+     */
+    private static double bruteForce(ScheduleEngine engine, Date from, Date to) {
+        double sum = 0;
+        for (Appointment appointment : engine.toArray()) {
+            if (appointment.getDate().compareTo(from) >= 0 && appointment.getDate().compareTo(to) <= 0) {
+                sum += appointment.getServiceCost();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Helper method. Checks random windows, some reaching past the days booked and some empty.
+     */
+    private static void assertWindowsMatch(ScheduleEngine engine, Random random, int reach) {
+        for (int i = 0; i < 20; i++) {
+            Date from = CENTER.plusDays(random.nextInt(2 * reach + 1) - reach);
+            Date to = from.plusDays(random.nextInt(reach + 1) - reach / 8);
+            assertEquals(bruteForce(engine, from, to), engine.getLedger().chargesBetween(from, to), from + " to " + to);
+        }
+        Date first = CENTER.plusDays(-reach - 1);
+        Date last = CENTER.plusDays(reach + 1);
+        assertEquals(bruteForce(engine, first, last), engine.getLedger().chargesBetween(first, last));
+    }
+
+    @Test
+    void chargesBetweenMatchBruteForceAsTheDaysGrowBothWays() {
+        ScheduleEngine engine = new ScheduleEngine();
+        Random random = new Random(21);
+        for (int i = 0; i < 3000; i++) {
+            int reach = 1 + i / 4; // days further from the center come into use as the test goes on
+            Appointment[] booked = engine.toArray();
+            int operation = random.nextInt(10);
+            if (operation < 6 || booked.length == 0) {
+                Provider provider = PROVIDERS[random.nextInt(PROVIDERS.length)];
+                Date date = CENTER.plusDays(random.nextBoolean() ? reach : -reach);
+                Patient patient = new Patient(new Profile("P" + random.nextInt(20), "Roe", new Date(1990, 1, 1)), null);
+                Timeslot timeslot = Timeslot.fromSlotIndex(random.nextInt(12));
+                engine.book(provider instanceof Technician
+                        ? new Imaging(date, timeslot, patient, provider, Radiology.XRAY)
+                        : new Appointment(date, timeslot, patient, provider));
+            } else if (operation < 8) {
+                Appointment appointment = booked[random.nextInt(booked.length)];
+                engine.cancel(appointment.getPatient().getProfile(), appointment.getDate(), appointment.getTimeslot());
+            } else {
+                engine.reschedule(booked[random.nextInt(booked.length)], Timeslot.fromSlotIndex(random.nextInt(12)));
+            }
+            if (i % 100 == 0) {
+                assertWindowsMatch(engine, random, reach);
+            }
+        }
+        assertWindowsMatch(engine, random, 800);
+    }
+
+    @Test
+    void emptyAndInvertedWindowsChargeNothing() {
+        ScheduleEngine engine = new ScheduleEngine();
+        assertEquals(0, engine.getLedger().chargesBetween(CENTER, CENTER));
+        engine.book(new Appointment(CENTER, Timeslot.fromSlotIndex(0),
+                new Patient(new Profile("Al", "Roe", new Date(1990, 1, 1)), null), PROVIDERS[0]));
+        assertEquals(250, engine.getLedger().chargesBetween(CENTER, CENTER));
+        assertEquals(0, engine.getLedger().chargesBetween(CENTER.plusDays(1), CENTER.plusDays(-1)));
+        assertEquals(0, engine.getLedger().chargesBetween(CENTER.plusDays(-5000), CENTER.plusDays(-1)));
+        assertEquals(0, engine.getLedger().chargesBetween(CENTER.plusDays(1), CENTER.plusDays(5000)));
+        engine.clear();
+        assertEquals(0, engine.getLedger().chargesBetween(CENTER, CENTER));
+    }
+}
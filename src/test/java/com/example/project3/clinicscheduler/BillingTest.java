@@ -0,0 +1,92 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.List;
+import com.example.project3.util.Sort;
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the billing aggregation over the visit history.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class BillingTest {
+    private static final Provider[] PROVIDERS = {
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01"),
+            new Doctor(new Profile("Rachael", "Lim", new Date(1982, 7, 23)), Location.BRIDGEWATER, Specialty.PEDIATRICIAN, "23"),
+            new Doctor(new Profile("Tom", "Kaur", new Date(1986, 6, 5)), Location.PRINCETON, Specialty.ALLERGIST, "54"),
+            new Technician(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), Location.BRIDGEWATER, 125),
+            new Technician(new Profile("Monica", "Fox", new Date(1992, 3, 15)), Location.PRINCETON, 90)};
+
+    /**
+     * Helper method. Stores random visits in a history: at most one per patient and day, so none replaces another.
+     */
+    private static AppointmentRepository history(int visits, long seed) {
+        AppointmentRepository history = new InMemoryAppointmentRepository();
+        Random random = new Random(seed);
+        for (int i = 0; i < visits; i++) {
+            int id = i / 365 + 55 * random.nextInt(9); // different for every visit of a day, as i / 365 < 55
+            Patient patient = new Patient(new Profile("P" + id, "Roe", new Date(1980, 1, 1 + id % 28)), null);
+            Date date = Date.fromEpochDay(new Date(2026, 1, 1).toEpochDay() + i % 365);
+            Timeslot timeslot = Timeslot.fromSlotIndex(random.nextInt(12));
+            Provider provider = PROVIDERS[random.nextInt(PROVIDERS.length)];
+            history.add(provider instanceof Technician
+                    ? new Imaging(date, timeslot, patient, provider, Radiology.XRAY)
+                    : new Appointment(date, timeslot, patient, provider));
+        }
+        return history;
+    }
+
+    /**
+     * Helper method. Totals the visits of each person by brute force, in a hash map by profile.
+     */
+    private static HashMap<Profile, Double> bruteForce(List<Appointment> visits, boolean providers) {
+        HashMap<Profile, Double> totals = new HashMap<>();
+        for (Appointment visit : visits) {
+            Person person = providers ? visit.getProvider() : visit.getPatient();
+            totals.merge(person.getProfile(), visit.getServiceCost(), Double::sum);
+        }
+        return totals;
+    }
+
+    /**
+     * Helper method. Checks statement lines against brute-force totals and the statement order.
+     */
+    private static void assertMatches(HashMap<Profile, Double> expected, BillingLedger.Line[] lines) {
+        assertEquals(expected.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(expected.get(lines[i].person().getProfile()), lines[i].amount());
+            if (i > 0) {
+                assertTrue(Sort.BY_NAME_DOB.compare(lines[i - 1].person(), lines[i].person()) <= 0);
+            }
+        }
+    }
+
+    @Test
+    void statementsMatchBruteForceSums() {
+        for (int visits : new int[] {50, 20_000}) { // below and above the parallel threshold
+            AppointmentRepository history = history(visits, visits);
+            List<Appointment> all = Billing.visitsBetween(history, new Date(2026, 1, 1), new Date(2026, 12, 31));
+            assertEquals(visits, all.size());
+            assertMatches(bruteForce(all, true), Billing.providerCredits(all));
+            assertMatches(bruteForce(all, false), Billing.patientBills(all));
+        }
+    }
+
+    @Test
+    void visitsBetweenKeepsOnlyThePeriod() {
+        AppointmentRepository history = history(1000, 7);
+        List<Appointment> march = Billing.visitsBetween(history, new Date(2026, 3, 1), new Date(2026, 3, 31));
+        long previous = Long.MIN_VALUE;
+        for (Appointment visit : march) {
+            assertEquals(3, visit.getDate().getMonth());
+            assertTrue(visit.getDateTimeKey() >= previous);
+            previous = visit.getDateTimeKey();
+        }
+        assertTrue(march.size() > 0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of loading providers into the ClinicManager and of its schedule journal.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ClinicManagerTest {
+    private static final File PROVIDERS = new File("providers.txt");
+    private static final String ROTATION_HEADER = "Rotation list for the technicians.\n";
+
+    private final StringBuilder output = new StringBuilder();
+    private final ClinicManager manager = new ClinicManager(output::append, fixedClock(LocalDate.of(2026, 10, 17)));
+
+    /**
+     * Helper method. Creates a clock fixed at the start of a day.
+     */
+    private static Clock fixedClock(LocalDate day) {
+        ZoneId zone = ZoneId.systemDefault();
+        return Clock.fixed(day.atStartOfDay(zone).toInstant(), zone);
+    }
+
+    /**
+     * Helper method. Loads the providers and returns the rotation line printed.
+     */
+    private String loadRotation() {
+        output.setLength(0);
+        manager.loadProviders(PROVIDERS);
+        String text = output.toString();
+        int start = text.indexOf(ROTATION_HEADER) + ROTATION_HEADER.length();
+        return text.substring(start, text.indexOf('\n', start));
+    }
+
+    /**
+     * Helper method. Books an x-ray and returns the message printed.
+     */
+    private String bookXray(String firstName, Timeslot timeslot) {
+        output.setLength(0);
+        manager.scheduleImagingAppointment(new Date(2026, 10, 26), new Profile(firstName, "Lee", new Date(1982, 1, 2)),
+                Radiology.XRAY, timeslot);
+        return output.toString();
+    }
+
+    @Test
+    void reloadKeepsSixTechniciansInTheSameOrder() {
+        String first = loadRotation();
+        String second = loadRotation();
+        assertEquals(6, first.split(" --> ").length);
+        assertEquals(first, second);
+        assertEquals(16, manager.getProviders().size());
+    }
+
+    @Test
+    void reloadKeepsTheCurrentTechnician() {
+        loadRotation();
+        String firstBooking = bookXray("Al", Timeslot.fromSlotIndex(6));
+        assertTrue(firstBooking.contains("JENNY PATEL"), firstBooking);
+        loadRotation();
+        String secondBooking = bookXray("Bo", Timeslot.fromSlotIndex(7));
+        assertTrue(secondBooking.contains("MONICA FOX"), secondBooking);
+    }
+
+    @Test
+    void npiAndLocationIndexesFollowTheProviderList() {
+        manager.loadProviders(PROVIDERS);
+        manager.loadProviders(PROVIDERS);
+        Provider doctor = manager.findProviderByNPI("23");
+        assertEquals("LIM", doctor.getProfile().getLname());
+        int indexed = 0;
+        for (Location location : Location.values()) {
+            indexed += manager.getProvidersAt(location).size();
+        }
+        assertEquals(manager.getProviders().size(), indexed);
+    }
+
+    @Test
+    void providerListedTwiceInTheFirstFileIsAddedOnce(@TempDir Path directory) throws IOException {
+        Path roster = directory.resolve("providers.txt");
+        Files.writeString(roster, "D ANDREW PATEL 01/21/1989 BRIDGEWATER FAMILY 01\n"
+                + "T GARY JOHNSON 11/14/1987 PISCATAWAY 110\n"
+                + "D andrew patel 01/21/1989 BRIDGEWATER FAMILY 01\n");
+        manager.loadProviders(roster.toFile());
+        assertEquals(2, manager.getProviders().size());
+        assertEquals(1, manager.getProvidersAt(Location.BRIDGEWATER).size());
+        assertEquals(1, manager.getProvidersAt(Location.PISCATAWAY).size());
+    }
+
+    @Test
+    void recordTooLargeForTheJournalIsReported(@TempDir Path directory) {
+        loadRotation();
+        assertTrue(manager.openJournal(directory.resolve("schedule.journal"), ScheduleJournal.FsyncPolicy.COMMIT));
+        String booking = bookXray("A".repeat(5000), Timeslot.fromSlotIndex(6));
+        assertTrue(booking.contains("Error writing the schedule journal"), booking);
+        String next = bookXray("Bo", Timeslot.fromSlotIndex(7));
+        assertFalse(next.contains("Error writing the schedule journal"), next);
+    }
+
+    @Test
+    void damagedJournalIsReportedWhenOpened(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("schedule.journal");
+        loadRotation();
+        assertTrue(manager.openJournal(file, ScheduleJournal.FsyncPolicy.COMMIT));
+        bookXray("Al", Timeslot.fromSlotIndex(6));
+        manager.closeJournal();
+        Files.write(file, new byte[] {0, 0, 0, 9, 1, 2, 3}, StandardOpenOption.APPEND); // a torn record
+        output.setLength(0);
+        assertTrue(manager.openJournal(file, ScheduleJournal.FsyncPolicy.COMMIT));
+        assertTrue(output.toString().contains("is damaged: 7 byte(s) could not be read and were dropped."), output.toString());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the per-day masks of DayMasks as days are set on both sides of the first one.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class DayMasksTest {
+    private static final int DAY = 20_000;
+
+    @Test
+    void daysSetOutwardsBothWaysKeepTheirMasks() {
+        DayMasks days = new DayMasks();
+        for (int i = 0; i < 100_000; i++) { // doubled on every earlier day, this ran out of memory
+            days.set(DAY - i, i + 1);
+            days.set(DAY + i, i + 1);
+        }
+        for (int i = 0; i < 100_000; i += 997) {
+            assertEquals(i + 1, days.get(DAY - i));
+            assertEquals(i + 1, days.get(DAY + i));
+        }
+        assertEquals(0, days.get(DAY - 100_000));
+        assertEquals(0, days.get(DAY + 100_000));
+    }
+
+    @Test
+    void clearResetsEveryDay() {
+        DayMasks days = new DayMasks();
+        days.set(DAY, 0b101);
+        days.set(DAY - 40, 0b1);
+        days.set(DAY + 40, 0b10);
+        days.clear();
+        assertEquals(0, days.get(DAY));
+        assertEquals(0, days.get(DAY - 40));
+        assertEquals(0, days.get(DAY + 40));
+        days.set(DAY - 41, 0b11);
+        assertEquals(0b11, days.get(DAY - 41));
+    }
+}
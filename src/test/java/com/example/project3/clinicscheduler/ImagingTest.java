@@ -0,0 +1,50 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that Imaging compares and hashes by its room as well as the appointment, and never equals an office visit.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ImagingTest {
+    private static final Technician TECHNICIAN =
+            new Technician(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), Location.BRIDGEWATER, 125);
+    private static final Patient PATIENT = new Patient(new Profile("Jane", "Roe", new Date(1989, 1, 13)), null);
+
+    /**
+     * Helper method. Creates an imaging appointment of the patient with the technician.
+     */
+    private static Imaging scan(Radiology room) {
+        return new Imaging(new Date(2024, 11, 4), Timeslot.of(9, 0), PATIENT, TECHNICIAN, room);
+    }
+
+    @Test
+    void hashSetFindsTheSameScanOnly() {
+        HashSet<Appointment> booked = new HashSet<>();
+        booked.add(scan(Radiology.XRAY));
+        assertTrue(booked.contains(scan(Radiology.XRAY)));
+        assertFalse(booked.contains(scan(Radiology.CATSCAN)));
+    }
+
+    @Test
+    void officeVisitAndScanAtTheSameTimeAreNeverEqual() {
+        Imaging scan = scan(Radiology.XRAY);
+        Appointment visit = new Appointment(scan.getDate(), scan.getTimeslot(), PATIENT, TECHNICIAN);
+        assertNotEquals(visit, scan);
+        assertNotEquals(scan, visit);
+        HashSet<Appointment> booked = new HashSet<>();
+        booked.add(visit);
+        assertFalse(booked.contains(scan));
+        booked.add(scan);
+        assertEquals(2, booked.size());
+        assertTrue(booked.contains(visit));
+        assertTrue(booked.contains(scan));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.example.project3.util.Date;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that Patient compares and hashes like its profile.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class PatientTest {
+    @Test
+    void patientsWithEqualProfilesAreEqual() {
+        Patient p1 = new Patient(new Profile("Jane", "Roe", new Date(1989, 1, 13)), null);
+        Patient p2 = new Patient(new Profile("JANE", "ROE", new Date(1989, 1, 13)), null);
+        assertEquals(p1, p2);
+        assertEquals(p1.hashCode(), p2.hashCode());
+    }
+
+    @Test
+    void patientsWithDifferentProfilesAreDifferent() {
+        Patient p1 = new Patient(new Profile("Jane", "Roe", new Date(1989, 1, 13)), null);
+        Patient p2 = new Patient(new Profile("John", "Roe", new Date(1989, 1, 13)), null);
+        assertNotEquals(p1, p2);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.example.project3.util.Date;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that Person compares and hashes like its profile.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class PersonTest {
+    @Test
+    void peopleWithEqualProfilesAreEqual() {
+        Person p1 = new Person(new Profile("Jane", "Roe", new Date(1989, 1, 13)));
+        Person p2 = new Person(new Profile("JANE", "roe", new Date(1989, 1, 13)));
+        assertEquals(p1, p2);
+        assertEquals(p1.hashCode(), p2.hashCode());
+    }
+
+    @Test
+    void personEqualsPatientWithTheSameProfile() {
+        Person person = new Person(new Profile("jane", "roe", new Date(1989, 1, 13)));
+        Patient patient = new Patient(new Profile("Jane", "Roe", new Date(1989, 1, 13)), null);
+        assertEquals(person, patient);
+        assertEquals(person.hashCode(), patient.hashCode());
+    }
+
+    @Test
+    void peopleWithDifferentProfilesAreDifferent() {
+        Person p1 = new Person(new Profile("Jane", "Roe", new Date(1989, 1, 13)));
+        Person p2 = new Person(new Profile("Jane", "Roe", new Date(1989, 1, 14)));
+        assertNotEquals(p1, p2);
+    }
+}
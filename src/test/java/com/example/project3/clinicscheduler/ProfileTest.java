@@ -0,0 +1,59 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the keys Profile compares and hashes by.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ProfileTest {
+    @Test
+    void namesDifferingInCaseAreEqual() {
+        Profile p1 = new Profile("John", "Doe", new Date(1989, 12, 13));
+        Profile p2 = new Profile("JOHN", "doe", new Date(1989, 12, 13));
+        assertEquals(p1, p2);
+        assertEquals(p1.hashCode(), p2.hashCode());
+        assertEquals(0, p1.compareTo(p2));
+    }
+
+    @Test
+    void differentDatesOfBirthHashDifferently() {
+        Profile p1 = new Profile("John", "Doe", new Date(1989, 12, 13));
+        Profile p2 = new Profile("John", "Doe", new Date(1989, 12, 14));
+        assertNotEquals(p1, p2);
+        assertNotEquals(p1.hashCode(), p2.hashCode());
+    }
+
+    @Test
+    void differentDatesOfBirthAreDifferentProfiles() {
+        Profile p1 = new Profile("John", "Doe", new Date(2001, 4, 1));
+        Profile p2 = new Profile("John", "Doe", new Date(2000, 12, 31));
+        assertNotEquals(p1, p2);
+        assertTrue(p1.compareTo(p2) > 0);
+        assertTrue(p2.compareTo(p1) < 0);
+    }
+
+    @Test
+    void invalidDateOfBirthIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Profile("John", "Doe", new Date(2000, 20, 1)));
+        assertThrows(IllegalArgumentException.class, () -> new Profile("John", "Doe", new Date(2024, 2, 30)));
+        assertThrows(IllegalArgumentException.class, () -> new Profile("John", "Doe", null));
+    }
+
+    @Test
+    void datesOfBirthOrderLikeDate() {
+        Date[] dates = {new Date(1989, 12, 13), new Date(1990, 1, 1), new Date(2024, 2, 29), new Date(2024, 3, 1)};
+        for (Date a : dates) {
+            for (Date b : dates) {
+                assertEquals(Integer.signum(a.compareTo(b)),
+                        new Profile("John", "Doe", a).compareTo(new Profile("John", "Doe", b)));
+            }
+        }
+    }
+}
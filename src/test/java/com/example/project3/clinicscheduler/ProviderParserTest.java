@@ -0,0 +1,99 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.LineParseException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of ProviderParser: fields, blank lines, Windows line breaks and the positions of errors.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ProviderParserTest {
+    /**
+     * Helper method. Parses a single line and returns the error it is rejected with.
+     */
+    private static LineParseException errorOf(String line) {
+        ProviderParser parser = new ProviderParser(line);
+        assertTrue(parser.hasNext());
+        LineParseException e = assertThrows(LineParseException.class, parser::next);
+        assertFalse(parser.hasNext()); // moved past the line
+        return e;
+    }
+
+    /**
+     * Helper method. Checks the column and reason of the error on a line.
+     */
+    private static void assertError(String line, int column, String reason) {
+        LineParseException e = errorOf(line);
+        assertEquals(1, e.getLine());
+        assertEquals(column, e.getColumn(), line);
+        assertEquals(reason, e.getReason(), line);
+    }
+
+    @Test
+    void doctorsAndTechniciansAreParsed() {
+        ProviderParser parser = new ProviderParser("D  ANDREW  PATEL  01/21/1989  bridgewater  Family  01\n"
+                + "T\tJENNY\tPATEL\t8/9/1991\tBRIDGEWATER\t125");
+        Doctor doctor = assertInstanceOf(Doctor.class, parser.next());
+        assertEquals(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), doctor.getProfile());
+        assertEquals("ANDREW", doctor.getProfile().getFname());
+        assertEquals(Location.BRIDGEWATER, doctor.getLocation());
+        assertEquals(Specialty.FAMILY, doctor.getSpecialty());
+        assertEquals("01", doctor.getNpi());
+        Technician technician = assertInstanceOf(Technician.class, parser.next());
+        assertEquals(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), technician.getProfile());
+        assertEquals(125, technician.getServiceCost());
+        assertEquals(2, parser.getLineNumber());
+        assertFalse(parser.hasNext());
+    }
+
+    @Test
+    void blankLinesAndWindowsLineBreaksAreSkippedButCounted() {
+        ProviderParser parser = new ProviderParser("\r\n   \r\nD ANDREW PATEL 01/21/1989 BRIDGEWATER FAMILY 01\r\n"
+                + "\t\n\nT JENNY PATEL 8/9/1991 BRIDGEWATER 125\r\n\r\n");
+        Doctor doctor = assertInstanceOf(Doctor.class, parser.next());
+        assertEquals("01", doctor.getNpi()); // no carriage return kept
+        assertEquals(3, parser.getLineNumber());
+        Technician technician = assertInstanceOf(Technician.class, parser.next());
+        assertEquals(125, technician.getServiceCost());
+        assertEquals(6, parser.getLineNumber());
+        assertFalse(parser.hasNext());
+        assertEquals(7, parser.getLineNumber());
+        assertThrows(IllegalStateException.class, parser::next);
+    }
+
+    @Test
+    void errorsPointAtTheField() {
+        assertError("X ANDREW PATEL 01/21/1989 BRIDGEWATER FAMILY 01", 1, "unknown provider type, expected D or T");
+        assertError("D ANDREW PATEL 1/21/89x BRIDGEWATER FAMILY 01", 16, "date of birth is not in the format of mm/dd/yyyy");
+        assertError("D ANDREW PATEL 02/30/1989 BRIDGEWATER FAMILY 01", 16, "date of birth is not a valid calendar date");
+        assertError("D ANDREW PATEL 01/21/1989 NEWARK FAMILY 01", 27, "unknown location");
+        assertError("D ANDREW PATEL 01/21/1989 BRIDGEWATER DENTIST 01", 39, "unknown specialty");
+        assertError("T  JENNY  PATEL  8/9/1991  BRIDGEWATER  12x5", 43, "rate per visit is not a whole number");
+        assertError("T JENNY PATEL 8/9/1991 BRIDGEWATER 99999999999", 45, "rate per visit is not a whole number");
+        assertError("D ANDREW PATEL 01/21/1989 BRIDGEWATER FAMILY", 45, "missing NPI");
+        assertError("T JENNY", 8, "missing last name");
+    }
+
+    @Test
+    void errorLinesCountBlankLinesAndParsingCarriesOn() {
+        ProviderParser parser = new ProviderParser("\n"
+                + "D ANDREW PATEL 01/21/1989 BRIDGEWATER FAMILY 01\n"
+                + "\n"
+                + "T JENNY PATEL 8/9/1991 MARS 125\r\n"
+                + "T MONICA FOX 10/10/1995 BRIDGEWATER 130\n");
+        parser.next();
+        LineParseException e = assertThrows(LineParseException.class, parser::next);
+        assertEquals(4, e.getLine());
+        assertEquals(24, e.getColumn());
+        assertEquals("line 4, column 24: unknown location", e.getMessage());
+        assertInstanceOf(Technician.class, parser.next());
+        assertEquals(5, parser.getLineNumber());
+    }
+}
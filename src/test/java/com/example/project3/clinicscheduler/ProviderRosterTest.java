@@ -0,0 +1,89 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.project3.util.LineParseException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that reading a provider file in many small chunks gives the same providers and error lines as
+ * reading it in one.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ProviderRosterTest {
+    private static final String[] LINES = {
+            "D  ANDREW  PATEL  01/21/1989  BRIDGEWATER  FAMILY  01",
+            "T\tJENNY\tPATEL\t8/09/1991\tBRIDGEWATER\t125",
+            "D  ZOË  MÜLLER  03/11/1981  CLARK  ALLERGIST  11", // two-byte characters in UTF-8
+            "T  FRANK  LIN  6/24/1999  PISCATAWAY  120\r",
+            "",
+            "   \t ",
+            "D  TOM  KAUR  11/05/1972  PRINCETON  DENTIST  54", // error: unknown specialty
+            "T  GARY  JOHNSON  02/30/1987  PISCATAWAY  110",     // error: no such date
+            "X  BEN  JERRY  9/28/1987  PISCATAWAY  150"};        // error: unknown provider type
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Helper method. Writes a provider file of random lines and lists the numbers of the lines in error.
+     */
+    private Path writeFile(int lineCount, ArrayList<Integer> errorLines) throws IOException {
+        Random random = new Random(25);
+        StringBuilder text = new StringBuilder();
+        for (int line = 1; line <= lineCount; line++) {
+            int pick = random.nextInt(LINES.length);
+            text.append(LINES[pick]).append('\n');
+            if (pick >= 6) {
+                errorLines.add(line);
+            }
+        }
+        Path file = directory.resolve("providers.txt");
+        Files.writeString(file, text.append(LINES[0]), StandardCharsets.UTF_8); // the last line has no line break
+        return file;
+    }
+
+    /**
+     * Helper method. Formats the providers and errors of a roster for comparison.
+     */
+    private static String describe(ProviderRoster roster) {
+        StringBuilder text = new StringBuilder();
+        for (Provider provider : roster.getProviders()) {
+            text.append(provider).append('\n');
+        }
+        for (LineParseException e : roster.getErrors()) {
+            text.append(e.getMessage()).append('\n');
+        }
+        return text.append(roster.getLineCount()).toString();
+    }
+
+    @Test
+    void smallChunksReadLikeOneChunk() throws IOException {
+        ArrayList<Integer> errorLines = new ArrayList<>();
+        Path file = writeFile(2000, errorLines);
+        ProviderRoster whole = ProviderRoster.read(file, Integer.MAX_VALUE);
+        assertEquals(2001, whole.getLineCount());
+        assertEquals(errorLines.size(), whole.getErrors().length);
+        for (int i = 0; i < errorLines.size(); i++) {
+            assertEquals(errorLines.get(i), whole.getErrors()[i].getLine());
+        }
+        String expected = describe(whole);
+        for (int chunkBytes : new int[] {1, 7, 64, 1000}) {
+            assertEquals(expected, describe(ProviderRoster.read(file, chunkBytes)), chunkBytes + "-byte chunks");
+        }
+        assertEquals(expected, describe(ProviderRoster.read(file)));
+    }
+
+    @Test
+    void chunkSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> ProviderRoster.read(directory.resolve("none.txt"), 0));
+    }
+}
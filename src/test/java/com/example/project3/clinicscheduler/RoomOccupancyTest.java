@@ -0,0 +1,85 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the room masks of RoomOccupancy.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class RoomOccupancyTest {
+    private static final Date DAY = new Date(2026, 10, 26);
+
+    @Test
+    void roomsOfALocationAreKeptApart() {
+        RoomOccupancy occupancy = new RoomOccupancy();
+        occupancy.occupy(Location.BRIDGEWATER, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(0));
+        occupancy.occupy(Location.BRIDGEWATER, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(6), 2);
+        assertFalse(occupancy.isAvailable(Location.BRIDGEWATER, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(0)));
+        assertTrue(occupancy.isAvailable(Location.BRIDGEWATER, Radiology.ULTRASOUND, DAY, Timeslot.fromSlotIndex(0)));
+        assertFalse(occupancy.isAvailable(Location.BRIDGEWATER, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(7), 2));
+        assertTrue(occupancy.isAvailable(Location.BRIDGEWATER, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(8), 2));
+        assertTrue(occupancy.isAvailable(Location.EDISON, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(0)));
+        assertTrue(occupancy.isAvailable(Location.BRIDGEWATER, Radiology.XRAY, DAY.plusDays(1), Timeslot.fromSlotIndex(0)));
+        long occupied = occupancy.occupiedRooms(Location.BRIDGEWATER, DAY);
+        assertEquals(0b1, RoomOccupancy.slotsOf(occupied, Radiology.XRAY));
+        assertEquals(0, RoomOccupancy.slotsOf(occupied, Radiology.ULTRASOUND));
+        assertEquals(0b11000000, RoomOccupancy.slotsOf(occupied, Radiology.CATSCAN));
+    }
+
+    @Test
+    void freeRoomsIsTheComplementOfTheOccupiedRooms() {
+        RoomOccupancy occupancy = new RoomOccupancy();
+        assertEquals(RoomOccupancy.ALL_ROOMS, occupancy.freeRooms(Location.PRINCETON, DAY));
+        occupancy.occupy(Location.PRINCETON, Radiology.ULTRASOUND, DAY, Timeslot.fromSlotIndex(11));
+        occupancy.occupy(Location.PRINCETON, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(0), 2);
+        long free = occupancy.freeRooms(Location.PRINCETON, DAY);
+        assertEquals(RoomOccupancy.ALL_ROOMS, free | occupancy.occupiedRooms(Location.PRINCETON, DAY));
+        assertEquals(0, free & occupancy.occupiedRooms(Location.PRINCETON, DAY));
+        assertEquals(AvailabilityCalendar.ALL_SLOTS, RoomOccupancy.slotsOf(free, Radiology.XRAY));
+        assertEquals(AvailabilityCalendar.ALL_SLOTS & ~(1 << 11), RoomOccupancy.slotsOf(free, Radiology.ULTRASOUND));
+        assertEquals(AvailabilityCalendar.ALL_SLOTS & ~0b11, RoomOccupancy.slotsOf(free, Radiology.CATSCAN));
+        for (Radiology room : Radiology.values()) {
+            for (Timeslot timeslot : Timeslot.values()) {
+                assertEquals(occupancy.isAvailable(Location.PRINCETON, room, DAY, timeslot),
+                        (RoomOccupancy.slotsOf(free, room) & 1 << timeslot.getSlotIndex()) != 0);
+            }
+        }
+    }
+
+    @Test
+    void releaseFreesOnlyTheRoomAndSpanReleased() {
+        RoomOccupancy occupancy = new RoomOccupancy();
+        occupancy.occupy(Location.CLARK, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(3));
+        occupancy.occupy(Location.CLARK, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(3), 2);
+        occupancy.release(Location.CLARK, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(3), 2);
+        assertEquals(RoomOccupancy.span(Radiology.XRAY, Timeslot.fromSlotIndex(3), 1),
+                occupancy.occupiedRooms(Location.CLARK, DAY));
+        occupancy.release(Location.MORRISTOWN, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(3)); // never occupied
+        occupancy.release(Location.CLARK, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(3));
+        assertEquals(0, occupancy.occupiedRooms(Location.CLARK, DAY));
+    }
+
+    @Test
+    void spanPastTheEndOfASessionIsRejected() {
+        RoomOccupancy occupancy = new RoomOccupancy();
+        assertThrows(IllegalArgumentException.class,
+                () -> occupancy.occupy(Location.EDISON, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(5), 2));
+        assertEquals(0, occupancy.occupiedRooms(Location.EDISON, DAY));
+    }
+
+    @Test
+    void clearFreesEveryLocation() {
+        RoomOccupancy occupancy = new RoomOccupancy();
+        occupancy.occupy(Location.EDISON, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(0));
+        occupancy.occupy(Location.CLARK, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(0));
+        occupancy.clear();
+        assertEquals(RoomOccupancy.ALL_ROOMS, occupancy.freeRooms(Location.EDISON, DAY));
+        assertEquals(RoomOccupancy.ALL_ROOMS, occupancy.freeRooms(Location.CLARK, DAY));
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the indexes of the ScheduleEngine (provider masks, room masks, the patient index and the
+ * ledger) agree with the booked appointments after bookings, cancels and reschedules.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ScheduleEngineTest {
+    private static final Date DAY = new Date(2026, 10, 26);
+    private static final int DAYS = 2;
+    // two technicians share the rooms of Bridgewater; the allergist and CAT scans take two slots
+    private static final Provider[] PROVIDERS = {
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01"),
+            new Doctor(new Profile("Tom", "Kaur", new Date(1972, 11, 5)), Location.PRINCETON, Specialty.ALLERGIST, "54"),
+            new Technician(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), Location.BRIDGEWATER, 125),
+            new Technician(new Profile("Monica", "Fox", new Date(1995, 10, 10)), Location.BRIDGEWATER, 130),
+            new Technician(new Profile("Frank", "Lin", new Date(1999, 6, 24)), Location.PRINCETON, 120)};
+    private static final Profile[] PATIENTS = new Profile[6];
+
+    static {
+        for (int i = 0; i < PATIENTS.length; i++) {
+            PATIENTS[i] = new Profile("P" + i, "Roe", new Date(1990, 1, 1 + i));
+        }
+    }
+
+    /**
+     * Helper method. Creates an appointment taking as many slots as its specialty or imaging service needs.
+     */
+    private static Appointment appointment(Profile patient, Date date, int slot, Provider provider, Radiology room) {
+        Timeslot timeslot = Timeslot.fromSlotIndex(slot);
+        Patient person = new Patient(patient, null);
+        if (provider instanceof Doctor doctor) {
+            return new Appointment(date, timeslot, person, provider, doctor.getSpecialty().getSlotCount());
+        }
+        return new Imaging(date, timeslot, person, provider, room, room.getSlotCount());
+    }
+
+    /**
+     * Helper method. Obtains the slots the booked appointments matching a filter cover on a date,
+     * leaving one appointment out.
+     */
+    private static int busy(ScheduleEngine engine, Date date, Predicate<Appointment> filter, Appointment except) {
+        int mask = 0;
+        for (Appointment booked : engine.toArray()) {
+            if (booked != except && booked.getDate().equals(date) && filter.test(booked)) {
+                mask |= booked.getSpanMask();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Helper method. Checks if an appointment could start at a slot given the appointments booked,
+     * leaving the appointment itself out: its patient, provider and room must all be free.
+     */
+    private static boolean fits(ScheduleEngine engine, Appointment appointment, int slot) {
+        int span = Timeslot.fromSlotIndex(slot).spanMask(appointment.getSlotCount());
+        if (span == 0) {
+            return false;
+        }
+        Date date = appointment.getDate();
+        Profile patient = appointment.getPatient().getProfile();
+        Provider provider = (Provider) appointment.getProvider();
+        int taken = busy(engine, date, a -> a.getPatient().getProfile().equals(patient), appointment)
+                | busy(engine, date, a -> a.getProvider().equals(provider), appointment);
+        if (appointment instanceof Imaging imaging) {
+            taken |= busy(engine, date, a -> a instanceof Imaging other && other.getRoom() == imaging.getRoom()
+                    && ((Provider) a.getProvider()).getLocation() == provider.getLocation(), appointment);
+        }
+        return (taken & span) == 0;
+    }
+
+    /**
+     * Helper method. Checks every index of the engine against the booked appointments.
+     */
+    private static void assertIndexesAgree(ScheduleEngine engine) {
+        Appointment[] booked = engine.toArray();
+        assertEquals(booked.length, engine.size());
+        double total = 0;
+        for (Appointment appointment : booked) {
+            assertSame(appointment, engine.find(appointment.getPatient().getProfile(), appointment.getDate(), appointment.getTimeslot()));
+            total += appointment.getServiceCost();
+        }
+        for (int d = 0; d < DAYS; d++) {
+            Date date = DAY.plusDays(d);
+            for (Provider provider : PROVIDERS) {
+                assertEquals(busy(engine, date, a -> a.getProvider().equals(provider), null),
+                        engine.getProviderCalendar().bookedSlots(provider, date), provider + " on " + date);
+            }
+            for (Location location : Location.values()) {
+                long rooms = 0;
+                for (Radiology room : Radiology.values()) {
+                    long slots = busy(engine, date, a -> a instanceof Imaging imaging && imaging.getRoom() == room
+                            && ((Provider) a.getProvider()).getLocation() == location, null);
+                    rooms |= slots << (room.ordinal() * Timeslot.SLOTS_PER_DAY);
+                }
+                assertEquals(rooms, engine.getRoomOccupancy().occupiedRooms(location, date), location + " on " + date);
+                assertEquals(~rooms & RoomOccupancy.ALL_ROOMS, engine.freeRooms(location, date));
+            }
+            for (Profile patient : PATIENTS) {
+                int slots = busy(engine, date, a -> a.getPatient().getProfile().equals(patient), null);
+                for (Timeslot timeslot : Timeslot.values()) {
+                    assertEquals((slots & 1 << timeslot.getSlotIndex()) != 0, engine.hasAppointment(patient, date, timeslot));
+                }
+            }
+        }
+        for (Provider provider : PROVIDERS) {
+            double credit = 0;
+            for (Appointment appointment : booked) {
+                credit += appointment.getProvider().equals(provider) ? appointment.getServiceCost() : 0;
+            }
+            assertEquals(credit, engine.getLedger().creditOf(provider));
+        }
+        for (Profile patient : PATIENTS) {
+            double balance = 0;
+            for (Appointment appointment : booked) {
+                balance += appointment.getPatient().getProfile().equals(patient) ? appointment.getServiceCost() : 0;
+            }
+            assertEquals(balance, engine.getLedger().balanceOf(patient));
+        }
+        assertEquals(total, engine.getLedger().chargesBetween(DAY, DAY.plusDays(DAYS - 1)));
+    }
+
+    @Test
+    void indexesAgreeAfterRandomBookingsCancelsAndReschedules() {
+        ScheduleEngine engine = new ScheduleEngine();
+        Random random = new Random(1);
+        int booked = 0;
+        int rescheduled = 0;
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(10);
+            Appointment[] current = engine.toArray();
+            if (operation < 5 || current.length == 0) {
+                Provider provider = PROVIDERS[random.nextInt(PROVIDERS.length)];
+                Radiology room = random.nextBoolean() ? Radiology.XRAY : Radiology.CATSCAN;
+                Appointment appointment = appointment(PATIENTS[random.nextInt(PATIENTS.length)],
+                        DAY.plusDays(random.nextInt(DAYS)), random.nextInt(12), provider, room);
+                boolean expected = fits(engine, appointment, appointment.getTimeslot().getSlotIndex());
+                assertEquals(expected, engine.book(appointment), appointment.toString());
+                booked += expected ? 1 : 0;
+            } else if (operation < 7) {
+                Appointment appointment = current[random.nextInt(current.length)];
+                assertSame(appointment, engine.cancel(appointment.getPatient().getProfile(), appointment.getDate(),
+                        appointment.getTimeslot()));
+                assertNull(engine.cancel(appointment.getPatient().getProfile(), appointment.getDate(), appointment.getTimeslot()));
+            } else {
+                Appointment appointment = current[random.nextInt(current.length)];
+                int slot = random.nextInt(12);
+                boolean expected = fits(engine, appointment, slot);
+                Timeslot before = appointment.getTimeslot();
+                assertEquals(expected, engine.reschedule(appointment, Timeslot.fromSlotIndex(slot)), appointment + " to " + slot);
+                assertEquals(expected ? Timeslot.fromSlotIndex(slot) : before, appointment.getTimeslot());
+                rescheduled += expected ? 1 : 0;
+            }
+            assertIndexesAgree(engine);
+        }
+        assertTrue(booked > 100 && rescheduled > 20, booked + " booked, " + rescheduled + " rescheduled");
+    }
+
+    @Test
+    void twoSlotAppointmentsAreRejectedAtTheEndOfASession() {
+        ScheduleEngine engine = new ScheduleEngine();
+        Provider allergist = PROVIDERS[1];
+        Provider technician = PROVIDERS[2];
+        for (int slot : new int[] {5, 11}) { // last slot of the morning and of the afternoon
+            assertFalse(engine.book(appointment(PATIENTS[0], DAY, slot, allergist, null)));
+            assertFalse(engine.book(appointment(PATIENTS[0], DAY, slot, technician, Radiology.CATSCAN)));
+            assertTrue(engine.book(appointment(PATIENTS[0], DAY, slot, technician, Radiology.XRAY)));
+        }
+        Appointment allergy = appointment(PATIENTS[1], DAY, 3, allergist, null);
+        assertTrue(engine.book(allergy));
+        assertEquals(0b11000, engine.getProviderCalendar().bookedSlots((Provider) allergy.getProvider(), DAY));
+        assertFalse(engine.reschedule(allergy, Timeslot.fromSlotIndex(5)));
+        assertTrue(engine.reschedule(allergy, Timeslot.fromSlotIndex(4)));
+        assertEquals(0b110000, engine.getProviderCalendar().bookedSlots((Provider) allergy.getProvider(), DAY));
+        Appointment scan = appointment(PATIENTS[2], DAY, 9, technician, Radiology.CATSCAN);
+        assertTrue(engine.book(scan));
+        assertFalse(engine.reschedule(scan, Timeslot.fromSlotIndex(11)));
+        assertFalse(engine.isRoomAvailable(Location.BRIDGEWATER, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(10)));
+        assertIndexesAgree(engine);
+    }
+}
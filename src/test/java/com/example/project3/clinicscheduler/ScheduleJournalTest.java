@@ -0,0 +1,220 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.project3.util.Date;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of the schedule journal: replay after a crash, damaged records, checkpoints and fsync policies.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ScheduleJournalTest {
+    private static final int HEADER_BYTES = 16;
+    private static final Doctor DOCTOR =
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01");
+    private static final Technician TECHNICIAN =
+            new Technician(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), Location.BRIDGEWATER, 125);
+    private static final List<String> THREE_CHANGES = List.of(
+            "book 10/26/2026 0 Al Andrew",
+            "book 10/26/2026 1 Bo Jenny XRAY",
+            "rotate 1",
+            "reschedule 10/26/2026 0 2 Al");
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Collects the changes read back, one line each.
+     */
+    private static class Recorder implements ScheduleJournal.Replay {
+        private final ArrayList<String> changes = new ArrayList<>();
+
+        @Override
+        public void book(Date date, Timeslot timeslot, Profile patient, Profile provider, Radiology room) {
+            changes.add("book " + date + " " + timeslot.getSlotIndex() + " " + patient.getFname() + " "
+                    + provider.getFname() + (room == null ? "" : " " + room));
+        }
+
+        @Override
+        public void rotate(int position) {
+            changes.add("rotate " + position);
+        }
+
+        @Override
+        public void cancel(Profile patient, Date date, Timeslot timeslot) {
+            changes.add("cancel " + date + " " + timeslot.getSlotIndex() + " " + patient.getFname());
+        }
+
+        @Override
+        public void reschedule(Profile patient, Date date, Timeslot from, Timeslot to) {
+            changes.add("reschedule " + date + " " + from.getSlotIndex() + " " + to.getSlotIndex() + " " + patient.getFname());
+        }
+    }
+
+    /**
+     * Helper method. Creates an office visit with the doctor on 10/26/2026.
+     */
+    private static Appointment visit(String patient, int slot) {
+        return new Appointment(new Date(2026, 10, 26), Timeslot.fromSlotIndex(slot),
+                new Patient(new Profile(patient, "Roe", new Date(1989, 1, 13)), null), DOCTOR);
+    }
+
+    /**
+     * Helper method. Creates an x-ray with the technician on 10/26/2026.
+     */
+    private static Imaging xray(String patient, int slot) {
+        return new Imaging(new Date(2026, 10, 26), Timeslot.fromSlotIndex(slot),
+                new Patient(new Profile(patient, "Roe", new Date(1989, 1, 13)), null), TECHNICIAN, Radiology.XRAY);
+    }
+
+    /**
+     * Helper method. Opens a journal and replays it.
+     */
+    private static Recorder replay(Path file) throws IOException {
+        Recorder recorder = new Recorder();
+        try (ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT)) {
+            journal.replay(recorder);
+        }
+        return recorder;
+    }
+
+    /**
+     * Helper method. Records three changes with COMMIT and returns the size of the file after each one.
+     */
+    private static long[] writeThreeChanges(Path file) throws IOException {
+        long[] sizes = new long[3];
+        try (ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT)) {
+            journal.replay(new Recorder());
+            Appointment first = visit("Al", 0);
+            journal.logBook(first, ScheduleJournal.NO_ROTATION);
+            sizes[0] = Files.size(file);
+            Imaging second = xray("Bo", 1);
+            journal.logBook(second, 1);
+            sizes[1] = Files.size(file);
+            first.setTimeslot(Timeslot.fromSlotIndex(2));
+            journal.logReschedule(first, Timeslot.fromSlotIndex(0));
+            sizes[2] = Files.size(file);
+        }
+        return sizes;
+    }
+
+    @Test
+    void replaysWhatWasOnDiskAtAnUncleanStop() throws IOException {
+        Path file = directory.resolve("schedule.journal");
+        Path crashed = directory.resolve("crashed.journal");
+        ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT);
+        journal.replay(new Recorder());
+        journal.logBook(visit("Al", 0), ScheduleJournal.NO_ROTATION);
+        journal.logCancel(visit("Al", 0));
+        Files.copy(file, crashed); // the file as a kill -9 would leave it, never closed
+        Recorder recorder = replay(crashed);
+        assertEquals(List.of("book 10/26/2026 0 Al Andrew", "cancel 10/26/2026 0 Al"), recorder.changes);
+        journal.close();
+    }
+
+    @Test
+    void tornTailIsCutOff() throws IOException {
+        Path file = directory.resolve("schedule.journal");
+        long[] sizes = writeThreeChanges(file);
+        try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+            out.setLength(sizes[2] - 3); // the last record only partly written
+        }
+        Recorder recorder = new Recorder();
+        try (ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT)) {
+            assertEquals(3, journal.replay(recorder));
+            assertEquals(sizes[2] - 3 - sizes[1], journal.getDroppedBytes());
+        }
+        assertEquals(THREE_CHANGES.subList(0, 3), recorder.changes);
+        assertEquals(sizes[1], Files.size(file));
+    }
+
+    @Test
+    void damagedRecordIsSkippedAndLaterRecordsKept() throws IOException {
+        Path file = directory.resolve("schedule.journal");
+        long[] sizes = writeThreeChanges(file);
+        try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+            out.seek(HEADER_BYTES + 20); // inside the first record
+            int value = out.read();
+            out.seek(HEADER_BYTES + 20);
+            out.write(value ^ 0xFF);
+        }
+        Recorder recorder = new Recorder();
+        try (ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT)) {
+            assertEquals(3, journal.replay(recorder));
+            assertEquals(sizes[0] - HEADER_BYTES, journal.getDroppedBytes());
+        }
+        assertEquals(THREE_CHANGES.subList(1, 4), recorder.changes);
+        assertEquals(sizes[2], Files.size(file));
+    }
+
+    @Test
+    void snapshotOfALaterGenerationSupersedesTheJournal() throws IOException {
+        Path file = directory.resolve("schedule.journal");
+        Path beforeCheckpoint = directory.resolve("before.journal");
+        Appointment booked = visit("Al", 0);
+        try (ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT)) {
+            journal.replay(new Recorder());
+            journal.logBook(booked, ScheduleJournal.NO_ROTATION);
+            Files.copy(file, beforeCheckpoint);
+            journal.checkpoint(new Appointment[] {booked}, 4);
+        }
+        // a crash after the snapshot was written but before the journal was emptied
+        Files.copy(beforeCheckpoint, file, StandardCopyOption.REPLACE_EXISTING);
+        Recorder recorder = new Recorder();
+        try (ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT)) {
+            assertEquals(1, journal.replay(recorder));
+            assertEquals(0, journal.getRecordsSinceCheckpoint());
+        }
+        assertEquals(List.of("book 10/26/2026 0 Al Andrew", "rotate 4"), recorder.changes);
+        assertEquals(HEADER_BYTES, Files.size(file));
+        assertEquals(List.of("book 10/26/2026 0 Al Andrew", "rotate 4"), replay(file).changes);
+    }
+
+    @Test
+    void missingSnapshotIsAnError() throws IOException {
+        Path file = directory.resolve("schedule.journal");
+        try (ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT)) {
+            journal.replay(new Recorder());
+            journal.checkpoint(new Appointment[] {visit("Al", 0)}, ScheduleJournal.NO_ROTATION);
+        }
+        Files.delete(directory.resolve("schedule.journal.snapshot"));
+        assertThrows(IOException.class, () -> replay(file));
+    }
+
+    @Test
+    void commitWritesEachChangeBeforeReturning() throws IOException {
+        Path file = directory.resolve("schedule.journal");
+        try (ScheduleJournal journal = new ScheduleJournal(file, ScheduleJournal.FsyncPolicy.COMMIT, 60_000)) {
+            journal.replay(new Recorder());
+            journal.logBook(visit("Al", 0), ScheduleJournal.NO_ROTATION);
+            Path copy = directory.resolve("copy.journal");
+            Files.copy(file, copy);
+            assertEquals(1, replay(copy).changes.size());
+        }
+    }
+
+    @Test
+    void periodicAndNeverWriteTheGroupLaterAndOnClose() throws IOException {
+        for (ScheduleJournal.FsyncPolicy policy
+                : new ScheduleJournal.FsyncPolicy[] {ScheduleJournal.FsyncPolicy.PERIODIC, ScheduleJournal.FsyncPolicy.NEVER}) {
+            Path file = directory.resolve(policy + ".journal");
+            try (ScheduleJournal journal = new ScheduleJournal(file, policy, 60_000)) {
+                journal.replay(new Recorder());
+                journal.logBook(visit("Al", 0), ScheduleJournal.NO_ROTATION);
+                journal.logBook(visit("Bo", 1), ScheduleJournal.NO_ROTATION);
+                assertEquals(HEADER_BYTES, Files.size(file), policy.name()); // still gathering the group
+            }
+            assertEquals(2, replay(file).changes.size(), policy.name());
+        }
+    }
+}
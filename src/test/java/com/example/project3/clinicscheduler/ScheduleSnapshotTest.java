@@ -0,0 +1,150 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of writing a schedule snapshot and reading it back, and of rejecting files that are not intact.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ScheduleSnapshotTest {
+    private static final Doctor DOCTOR =
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01");
+    private static final Technician TECHNICIAN =
+            new Technician(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), Location.BRIDGEWATER, 125);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Collects the bookings read back, one line each.
+     */
+    private static class Recorder implements ScheduleSnapshot.Bookings {
+        private final ArrayList<String> bookings = new ArrayList<>();
+
+        @Override
+        public void book(Date date, Timeslot timeslot, Profile patient, Profile provider, Radiology room) {
+            bookings.add(date + " " + timeslot.getSlotIndex() + " " + patient.getFname() + " " + patient.getLname()
+                    + " " + patient.getDob() + " " + provider.getFname() + (room == null ? "" : " " + room));
+        }
+
+        @Override
+        public void rotate(int position) {
+            bookings.add("rotate " + position);
+        }
+    }
+
+    /**
+     * Helper method. Creates a patient.
+     */
+    private static Patient patient(String firstName, Date dob) {
+        return new Patient(new Profile(firstName, "Roe", dob), null);
+    }
+
+    /**
+     * Helper method. Writes a snapshot of two visits and two x-rays, one patient booked twice.
+     */
+    private Path writeSnapshot(int rotation, long generation) throws IOException {
+        ScheduleSnapshot.Builder builder = new ScheduleSnapshot.Builder();
+        Date day = new Date(2026, 10, 26);
+        builder.add(new Appointment(day, Timeslot.fromSlotIndex(0), patient("Al", new Date(1989, 1, 13)), DOCTOR));
+        builder.add(new Imaging(day, Timeslot.fromSlotIndex(6), patient("Bo", new Date(2000, 2, 29)), TECHNICIAN, Radiology.XRAY));
+        builder.add(new Appointment(day.plusDays(1), Timeslot.fromSlotIndex(11), patient("Al", new Date(1989, 1, 13)), DOCTOR));
+        builder.book(day.plusDays(2), Timeslot.fromSlotIndex(7), new Profile("Cy", "Roe", new Date(1975, 12, 31)),
+                TECHNICIAN.getProfile(), Radiology.CATSCAN);
+        builder.rotate(rotation);
+        Path file = directory.resolve("schedule.snapshot");
+        builder.write(file, generation);
+        return file;
+    }
+
+    /**
+     * Helper method. Overwrites one byte of a file.
+     */
+    private static void overwrite(Path file, long position, int value) throws IOException {
+        try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+            out.seek(position);
+            out.write(value);
+        }
+    }
+
+    @Test
+    void readGivesBackTheBookingsInOrderAndTheRotation() throws IOException {
+        Path file = writeSnapshot(3, 7);
+        Recorder recorder = new Recorder();
+        ScheduleSnapshot.Info info = ScheduleSnapshot.read(file, recorder);
+        assertEquals(new ScheduleSnapshot.Info(7, 4), info);
+        assertEquals(7, ScheduleSnapshot.generationOf(file));
+        assertEquals(List.of(
+                "10/26/2026 0 Al Roe 1/13/1989 Andrew",
+                "10/26/2026 6 Bo Roe 2/29/2000 Jenny XRAY",
+                "10/27/2026 11 Al Roe 1/13/1989 Andrew",
+                "10/28/2026 7 Cy Roe 12/31/1975 Jenny CATSCAN",
+                "rotate 3"), recorder.bookings);
+    }
+
+    @Test
+    void snapshotWithoutRotationDoesNotRotate() throws IOException {
+        Path file = writeSnapshot(ScheduleSnapshot.NO_ROTATION, 0);
+        Recorder recorder = new Recorder();
+        ScheduleSnapshot.read(file, recorder);
+        assertEquals(4, recorder.bookings.size());
+        assertTrue(recorder.bookings.stream().noneMatch(booking -> booking.startsWith("rotate")));
+    }
+
+    @Test
+    void emptySnapshotRoundTrips() throws IOException {
+        Path file = directory.resolve("empty.snapshot");
+        new ScheduleSnapshot.Builder().write(file, 1);
+        Recorder recorder = new Recorder();
+        assertEquals(new ScheduleSnapshot.Info(1, 0), ScheduleSnapshot.read(file, recorder));
+        assertEquals(List.of(), recorder.bookings);
+    }
+
+    @Test
+    void badMagicNumberIsRejected() throws IOException {
+        Path file = writeSnapshot(3, 7);
+        overwrite(file, 0, 'X');
+        IOException e = assertThrows(IOException.class, () -> ScheduleSnapshot.read(file, new Recorder()));
+        assertTrue(e.getMessage().startsWith("Not a schedule snapshot"), e.getMessage());
+        assertThrows(IOException.class, () -> ScheduleSnapshot.generationOf(file));
+    }
+
+    @Test
+    void otherVersionIsRejected() throws IOException {
+        Path file = writeSnapshot(3, 7);
+        overwrite(file, 7, 2);
+        IOException e = assertThrows(IOException.class, () -> ScheduleSnapshot.read(file, new Recorder()));
+        assertTrue(e.getMessage().startsWith("Unsupported snapshot version 2"), e.getMessage());
+    }
+
+    @Test
+    void checksumMismatchIsRejected() throws IOException {
+        Path file = writeSnapshot(3, 7);
+        long last = file.toFile().length() - 1; // room of the last row
+        overwrite(file, last, Radiology.ULTRASOUND.ordinal());
+        Recorder recorder = new Recorder();
+        IOException e = assertThrows(IOException.class, () -> ScheduleSnapshot.read(file, recorder));
+        assertTrue(e.getMessage().startsWith("Corrupt schedule snapshot"), e.getMessage());
+        assertEquals(List.of(), recorder.bookings);
+    }
+
+    @Test
+    void truncatedSnapshotIsRejected() throws IOException {
+        Path file = writeSnapshot(3, 7);
+        try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+            out.setLength(out.length() - 12);
+        }
+        assertThrows(IOException.class, () -> ScheduleSnapshot.read(file, new Recorder()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.project3.util.Date;
+import com.example.project3.util.Sort;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the schedule views of the ScheduleEngine list the appointments in the order a stable sort
+ * of the appointments in booking order gives, ties included.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ScheduleViewTest {
+    private static final Date DAY = new Date(2026, 10, 26);
+    // ties on every ordering: two Gary Johnsons in one county, two Andrews in another
+    private static final Provider[] PROVIDERS = {
+            new Doctor(new Profile("Gary", "Johnson", new Date(1977, 12, 13)), Location.EDISON, Specialty.FAMILY, "85"),
+            new Technician(new Profile("Gary", "Johnson", new Date(1987, 11, 14)), Location.PISCATAWAY, 110),
+            new Doctor(new Profile("Andrew", "Patel", new Date(1989, 1, 21)), Location.BRIDGEWATER, Specialty.FAMILY, "01"),
+            new Doctor(new Profile("Andrew", "Lim", new Date(1975, 11, 30)), Location.BRIDGEWATER, Specialty.PEDIATRICIAN, "23"),
+            new Technician(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), Location.BRIDGEWATER, 125),
+            new Doctor(new Profile("Tom", "Kaur", new Date(1972, 11, 5)), Location.PRINCETON, Specialty.FAMILY, "54")};
+
+    /**
+     * Helper method. Creates a patient; the same name with another date of birth is another patient.
+     */
+    private static Patient patient(String name, int birthDay) {
+        return new Patient(new Profile(name, "Doe", new Date(1990, 1, birthDay)), null);
+    }
+
+    /**
+     * Helper method. Creates a one-slot appointment: an x-ray with a technician, an office visit otherwise.
+     */
+    private static Appointment appointment(Date date, int slot, Patient patient, Provider provider) {
+        Timeslot timeslot = Timeslot.fromSlotIndex(slot);
+        return provider instanceof Technician
+                ? new Imaging(date, timeslot, patient, provider, Radiology.XRAY)
+                : new Appointment(date, timeslot, patient, provider);
+    }
+
+    /**
+     * Helper method. Lists the appointments of a view.
+     */
+    private static ArrayList<Appointment> listOf(Iterable<Appointment> view) {
+        ArrayList<Appointment> list = new ArrayList<>();
+        view.forEach(list::add);
+        return list;
+    }
+
+    /**
+     * Helper method. Sorts the booked appointments, in booking order, and keeps those matching a filter.
+     */
+    private static ArrayList<Appointment> sorted(ScheduleEngine engine, Comparator<Appointment> order,
+                                                Predicate<Appointment> filter) {
+        Appointment[] appointments = engine.toArray();
+        Sort.sort(appointments, order);
+        ArrayList<Appointment> list = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            if (filter.test(appointment)) {
+                list.add(appointment);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Helper method. Checks that two lists hold the same appointment objects in the same order.
+     */
+    private static void assertSameOrder(List<Appointment> expected, List<Appointment> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i), "position " + i);
+        }
+    }
+
+    /**
+     * Helper method. Checks every view, and the views of a day and of a county on a day, against sorts.
+     */
+    private static void assertViewsMatchSorts(ScheduleEngine engine) {
+        assertSameOrder(sorted(engine, Sort.BY_DATE_TIME_PROVIDER, a -> true), listOf(engine.byDateTimeProvider()));
+        assertSameOrder(sorted(engine, Sort.BY_PATIENT_DATE_TIME, a -> true), listOf(engine.byPatientDateTime()));
+        assertSameOrder(sorted(engine, Sort.BY_COUNTY_DATE_TIME_PATIENT, a -> true), listOf(engine.byCountyDateTimePatient()));
+        assertSameOrder(sorted(engine, Sort.BY_COUNTY_DATE_TIME_PROVIDER, a -> true), listOf(engine.byCountyDateTimeProvider()));
+        for (int days = 0; days < 2; days++) {
+            Date date = DAY.plusDays(days);
+            assertSameOrder(sorted(engine, Sort.BY_DATE_TIME_PROVIDER, a -> a.getDate().equals(date)),
+                    listOf(engine.appointmentsOn(date)));
+            for (Location location : Location.values()) {
+                assertSameOrder(sorted(engine, Sort.BY_COUNTY_DATE_TIME_PROVIDER, a -> a.getDate().equals(date)
+                                && ((Provider) a.getProvider()).getLocation().getCountyRank() == location.getCountyRank()),
+                        listOf(engine.appointmentsIn(location, date)));
+            }
+        }
+    }
+
+    @Test
+    void viewsMatchSortsAfterRandomBookingsCancelsAndReschedules() {
+        ScheduleEngine engine = new ScheduleEngine();
+        Random random = new Random(18);
+        for (int i = 0; i < 3000; i++) {
+            Patient patient = patient(random.nextBoolean() ? "John" : "Jo", 1 + random.nextInt(4));
+            Date date = DAY.plusDays(random.nextInt(2));
+            int slot = random.nextInt(12);
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                engine.book(appointment(date, slot, patient, PROVIDERS[random.nextInt(PROVIDERS.length)]));
+            } else if (operation < 7) {
+                engine.cancel(patient.getProfile(), date, Timeslot.fromSlotIndex(slot));
+            } else {
+                Appointment booked = engine.find(patient.getProfile(), date, Timeslot.fromSlotIndex(slot));
+                if (booked != null) {
+                    engine.reschedule(booked, Timeslot.fromSlotIndex(random.nextInt(12)));
+                }
+            }
+            if (i % 50 == 0) {
+                assertViewsMatchSorts(engine);
+            }
+        }
+        assertTrue(engine.size() > 20);
+        assertViewsMatchSorts(engine);
+    }
+
+    @Test
+    void rescheduledAppointmentMovesBehindItsTies() {
+        ScheduleEngine engine = new ScheduleEngine();
+        Appointment doctor = appointment(DAY, 3, patient("John", 1), PROVIDERS[0]);
+        Appointment technician = appointment(DAY, 3, patient("John", 2), PROVIDERS[1]);
+        assertTrue(engine.book(doctor));
+        assertTrue(engine.book(technician));
+        // same date, time, county, provider name and patient name: only the booking order tells them apart
+        assertSameOrder(List.of(doctor, technician), listOf(engine.byDateTimeProvider()));
+        assertSameOrder(List.of(doctor, technician), listOf(engine.byCountyDateTimePatient()));
+        assertSameOrder(List.of(doctor, technician), listOf(engine.byCountyDateTimeProvider()));
+        assertSameOrder(List.of(doctor, technician), listOf(engine.appointmentsIn(Location.EDISON, DAY)));
+        assertTrue(engine.reschedule(doctor, Timeslot.fromSlotIndex(4)));
+        assertTrue(engine.reschedule(doctor, Timeslot.fromSlotIndex(3)));
+        assertSameOrder(List.of(technician, doctor), listOf(engine.byDateTimeProvider()));
+        assertSameOrder(List.of(technician, doctor), listOf(engine.byCountyDateTimePatient()));
+        assertSameOrder(List.of(technician, doctor), listOf(engine.byCountyDateTimeProvider()));
+        assertSameOrder(List.of(technician, doctor), listOf(engine.appointmentsOn(DAY)));
+        assertSameOrder(List.of(technician, doctor), listOf(engine.appointmentsIn(Location.PISCATAWAY, DAY)));
+        assertSameOrder(List.of(), listOf(engine.appointmentsIn(Location.BRIDGEWATER, DAY)));
+        assertSameOrder(List.of(), listOf(engine.appointmentsOn(DAY.plusDays(1))));
+        assertViewsMatchSorts(engine);
+    }
+}
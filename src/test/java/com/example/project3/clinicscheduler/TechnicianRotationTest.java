@@ -0,0 +1,98 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.project3.util.Date;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the round-robin search of TechnicianRotation over the technician and room masks.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class TechnicianRotationTest {
+    private static final Technician JENNY =
+            new Technician(new Profile("Jenny", "Patel", new Date(1991, 8, 9)), Location.BRIDGEWATER, 125);
+    private static final Technician MONICA =
+            new Technician(new Profile("Monica", "Fox", new Date(1995, 10, 10)), Location.BRIDGEWATER, 130);
+    private static final Technician FRANK =
+            new Technician(new Profile("Frank", "Lin", new Date(1999, 6, 24)), Location.PRINCETON, 120);
+    private static final Date DAY = new Date(2026, 10, 26); // a Monday
+
+    private final AvailabilityCalendar calendar = new AvailabilityCalendar();
+    private final RoomOccupancy occupancy = new RoomOccupancy();
+    private final TechnicianRotation rotation =
+            new TechnicianRotation(new Technician[] {JENNY, MONICA, FRANK}, calendar, occupancy);
+
+    @Test
+    void freeTechniciansAreFoundInTurn() {
+        Timeslot nine = Timeslot.fromSlotIndex(0);
+        assertSame(JENNY, rotation.next(DAY, nine, Radiology.XRAY));
+        assertSame(MONICA, rotation.next(DAY, nine, Radiology.XRAY));
+        assertSame(FRANK, rotation.next(DAY, nine, Radiology.XRAY));
+        assertSame(JENNY, rotation.next(DAY, nine, Radiology.XRAY));
+        assertEquals(1, rotation.getPosition());
+        assertEquals(0, rotation.getSkippedCount());
+    }
+
+    @Test
+    void busyTechniciansAndOccupiedRoomsAreSkipped() {
+        Timeslot slot = Timeslot.fromSlotIndex(7);
+        calendar.book(JENNY, DAY, slot); // booked after the rotation was created
+        assertSame(MONICA, rotation.next(DAY, slot, Radiology.XRAY));
+        assertEquals(1, rotation.getSkippedCount());
+        occupancy.occupy(Location.BRIDGEWATER, Radiology.ULTRASOUND, DAY, slot);
+        rotation.setPosition(0);
+        assertSame(FRANK, rotation.next(DAY, slot, Radiology.ULTRASOUND)); // Monica is free, her room is not
+        assertSame(MONICA, rotation.next(DAY, slot, Radiology.XRAY));
+    }
+
+    @Test
+    void spansAreCheckedWhole() {
+        calendar.book(JENNY, DAY, Timeslot.fromSlotIndex(3));
+        occupancy.occupy(Location.PRINCETON, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(3));
+        calendar.book(MONICA, DAY, Timeslot.fromSlotIndex(3));
+        assertNull(rotation.next(DAY, Timeslot.fromSlotIndex(2), Radiology.CATSCAN, 2));
+        assertEquals(0, rotation.getPosition()); // stays where it was
+        assertSame(JENNY, rotation.next(DAY, Timeslot.fromSlotIndex(4), Radiology.CATSCAN, 2));
+        assertThrows(IllegalArgumentException.class, () -> rotation.next(DAY, Timeslot.fromSlotIndex(5), Radiology.CATSCAN, 2));
+    }
+
+    @Test
+    void masksStayLiveAcrossClear() {
+        calendar.clear();
+        occupancy.clear();
+        calendar.book(JENNY, DAY, Timeslot.fromSlotIndex(0));
+        occupancy.occupy(Location.BRIDGEWATER, Radiology.XRAY, DAY, Timeslot.fromSlotIndex(0));
+        assertSame(FRANK, rotation.next(DAY, Timeslot.fromSlotIndex(0), Radiology.XRAY));
+    }
+
+    @Test
+    void openSlotsCoverTheWholeSpanAndLeaveTheRotationAlone() {
+        TechnicianRotation single = new TechnicianRotation(new Technician[] {JENNY}, calendar, occupancy);
+        calendar.book(JENNY, DAY, Timeslot.fromSlotIndex(0), 2);
+        occupancy.occupy(Location.BRIDGEWATER, Radiology.CATSCAN, DAY, Timeslot.fromSlotIndex(6), 2);
+        OpenSlot[] open = single.findOpenSlots(Radiology.CATSCAN, 2, DAY, new BookingWindow(DAY), 4);
+        int[] starts = new int[open.length];
+        for (int i = 0; i < open.length; i++) {
+            assertEquals(DAY, open[i].getDate());
+            starts[i] = open[i].getTimeslot().getSlotIndex();
+        }
+        assertArrayEquals(new int[] {2, 3, 4, 8}, starts);
+        assertEquals(0, single.getPosition());
+    }
+
+    @Test
+    void positionMustNameATechnician() {
+        rotation.setPosition(2);
+        assertSame(FRANK, rotation.next(DAY, Timeslot.fromSlotIndex(0), Radiology.XRAY));
+        assertThrows(IllegalArgumentException.class, () -> rotation.setPosition(3));
+        assertThrows(IllegalArgumentException.class, () -> rotation.setPosition(-1));
+        TechnicianRotation empty = new TechnicianRotation(new Technician[0], calendar, occupancy);
+        empty.setPosition(0);
+        assertNull(empty.next(DAY, Timeslot.fromSlotIndex(0), Radiology.XRAY));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.project3.clinicscheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that Timeslot compares and hashes by its time of day.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class TimeslotTest {
+    @Test
+    void sameTimeIsEqualHoweverItIsMade() {
+        assertEquals(Timeslot.of(14, 30), Timeslot.fromSlotIndex(7));
+        assertEquals(Timeslot.of(14, 30).hashCode(), Timeslot.fromSlotIndex(7).hashCode());
+    }
+
+    @Test
+    void differentTimesAreDifferent() {
+        assertNotEquals(Timeslot.of(14, 30), Timeslot.fromSlotIndex(6));
+    }
+}
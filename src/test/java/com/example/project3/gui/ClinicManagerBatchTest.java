@@ -0,0 +1,114 @@
+package com.example.project3.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of running command files through ClinicManagerBatch, with today fixed at 10/17/2026.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ClinicManagerBatchTest {
+    private static final String TERMINATED = "Clinic Manager terminated.\n";
+    private static final String VISIT = "10/26/2026 9:00 AM John Doe 12/13/1989 "
+            + "[ANDREW PATEL 1/21/1989, BRIDGEWATER, Somerset 08807][FAMILY, #01]";
+    private static final String XRAY = "10/26/2026 2:00 PM John Doe 12/13/1989 "
+            + "[JENNY PATEL 8/9/1991, BRIDGEWATER, Somerset 08807][rate: $125.00][XRAY]";
+
+    private final StringWriter output = new StringWriter();
+    private ClinicManagerBatch batch;
+
+    @BeforeEach
+    void loadProviders() {
+        ZoneId zone = ZoneId.systemDefault();
+        Clock clock = Clock.fixed(LocalDate.of(2026, 10, 17).atStartOfDay(zone).toInstant(), zone);
+        batch = new ClinicManagerBatch(output, clock);
+        batch.getClinicManager().loadProviders(new File("providers.txt"));
+        output.getBuffer().setLength(0);
+    }
+
+    /**
+     * Helper method. Runs commands, one per line, and returns what was written.
+     */
+    private String run(String... commands) throws IOException {
+        output.getBuffer().setLength(0);
+        batch.run(new BufferedReader(new StringReader(String.join("\n", commands))));
+        return output.toString();
+    }
+
+    @Test
+    void bookingsCancelsAndReschedulesAreReported() throws IOException {
+        assertEquals(VISIT + " booked.\n"
+                        + XRAY + " booked.\n"
+                        + "Rescheduled to " + VISIT.replace("9:00 AM", "10:00 AM") + "\n"
+                        + "10/26/2026 2:00 PM John Doe 12/13/1989 - appointment has been canceled.\n"
+                        + "10/26/2026 2:00 PM John Doe 12/13/1989 - appointment does not exist.\n"
+                        + TERMINATED,
+                run("D,10/26/2026,1,John,Doe,12/13/1989,01",
+                        "T,10/26/2026,7,John,Doe,12/13/1989,xray",
+                        "R,10/26/2026,1,John,Doe,12/13/1989,3",
+                        "C,10/26/2026,7,John,Doe,12/13/1989",
+                        "C,10/26/2026,7,John,Doe,12/13/1989"));
+    }
+
+    @Test
+    void malformedLinesAreReportedAndSkipped() throws IOException {
+        assertEquals("Invalid command!\n"
+                        + "Missing data tokens.\n"
+                        + "Appointment date: 13/26/2026 is not a valid calendar date.\n"
+                        + "13 is not a valid time slot.\n"
+                        + "Appointment date: 10/16/2026 is today or a date before today.\n"
+                        + "Patient dob: 12/13/2030 is today or a date after today.\n"
+                        + "mri - imaging service not provided.\n"
+                        + "99 - provider doesn't exist.\n"
+                        + "Missing data tokens.\n"
+                        + VISIT + " booked.\n"
+                        + TERMINATED,
+                run("Z,1",
+                        "D,10/26/2026,1,John",
+                        "D,13/26/2026,1,John,Doe,12/13/1989,01",
+                        "D,10/26/2026,13,John,Doe,12/13/1989,01",
+                        "D,10/16/2026,1,John,Doe,12/13/1989,01",
+                        "D,10/26/2026,1,John,Doe,12/13/2030,01",
+                        "T,10/26/2026,8,John,Doe,12/13/1989,mri",
+                        "D,10/26/2026,1,John,Doe,12/13/1989,99",
+                        "H,John",
+                        "D,10/26/2026,1,John,Doe,12/13/1989,01"));
+    }
+
+    @Test
+    void listsStatementsAndHistoryFollowTheBookings() throws IOException {
+        String text = run("D,10/26/2026,1,John,Doe,12/13/1989,01",
+                "T,10/26/2026,7,John,Doe,12/13/1989,xray",
+                "PA", "PP", "PL", "PO", "PI", "PC", "PS",
+                "H,John,Doe,12/13/1989",
+                "B,10/01/2026,10/31/2026",
+                "B,10/31/2026,10/01/2026");
+        assertTrue(text.contains("** List of appointments, ordered by date/time/provider.**\n" + VISIT + "\n" + XRAY + "\n"), text);
+        assertTrue(text.contains("** Appointments ordered by patient/date/time **\n" + VISIT + "\n" + XRAY + "\n"), text);
+        assertTrue(text.contains("** List of office appointments ordered by county/date/time.**\n" + VISIT + "\n** end of list **"), text);
+        assertTrue(text.contains("** List of radiology appointments ordered by county/date/time.**\n" + XRAY + "\n** end of list **"), text);
+        assertTrue(text.contains("(1) ANDREW PATEL 1/21/1989 [credit amount: $250.00]\n(2) JENNY PATEL 8/9/1991 [credit amount: $125.00]\n"), text);
+        assertTrue(text.contains("(1) John Doe 12/13/1989 [due: $375.00]\n"), text);
+        assertTrue(text.contains("** Visit history of John Doe 12/13/1989 **\n" + VISIT + "\n" + XRAY + "\n** end of list **"), text);
+        assertTrue(text.contains("** Visits billed from 10/1/2026 to 10/31/2026: 2 **"), text);
+        assertTrue(text.endsWith("Start date 10/31/2026 is after end date 10/1/2026.\n" + TERMINATED), text);
+    }
+
+    @Test
+    void quitStopsTheRunAndBlankLinesAreIgnored() throws IOException {
+        assertEquals(VISIT + " booked.\n" + TERMINATED,
+                run("", "  D,10/26/2026,1,John,Doe,12/13/1989,01  ", "\t", "Q", "PA", "D,10/27/2026,1,John,Doe,12/13/1989,01"));
+        assertEquals(TERMINATED, run());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.project3.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of converting a schedule snapshot to text and back.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ScheduleSnapshotToolTest {
+    private static final String SCHEDULE = """
+            10/26/2026,1,Al,Roe,1/13/1989,Andrew,Patel,1/21/1989
+            10/26/2026,7,Bo,Roe,2/29/2000,Jenny,Patel,8/9/1991,xray
+            10/27/2026,12,Al,Roe,1/13/1989,Andrew,Patel,1/21/1989
+            rotation,4
+            generation,9
+            """;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Helper method. Converts text to a snapshot and returns the errors reported.
+     */
+    private static String toSnapshot(String text, Path snapshot, int expectedSkipped) throws IOException {
+        StringWriter errors = new StringWriter();
+        assertEquals(expectedSkipped, ScheduleSnapshotTool.toSnapshot(new BufferedReader(new StringReader(text)), snapshot, errors));
+        return errors.toString();
+    }
+
+    /**
+     * Helper method. Converts a snapshot to text.
+     */
+    private static String toText(Path snapshot) throws IOException {
+        StringWriter text = new StringWriter();
+        ScheduleSnapshotTool.toText(snapshot, text);
+        return text.toString();
+    }
+
+    @Test
+    void textRoundTripsThroughASnapshot() throws IOException {
+        Path snapshot = directory.resolve("schedule.snapshot");
+        assertEquals("", toSnapshot(SCHEDULE, snapshot, 0));
+        assertEquals(SCHEDULE, toText(snapshot));
+        Path copy = directory.resolve("copy.snapshot");
+        toSnapshot(toText(snapshot), copy, 0);
+        assertEquals(SCHEDULE, toText(copy));
+    }
+
+    @Test
+    void commentsBlankLinesAndSpacesAreIgnored() throws IOException {
+        Path snapshot = directory.resolve("schedule.snapshot");
+        String text = "# hand-edited\n\n" + SCHEDULE.replace(",xray", ", XRAY ").replace("rotation,4", "  rotation, 4");
+        assertEquals("", toSnapshot(text, snapshot, 0));
+        assertEquals(SCHEDULE, toText(snapshot));
+    }
+
+    @Test
+    void badLinesAreReportedAndSkipped() throws IOException {
+        Path snapshot = directory.resolve("schedule.snapshot");
+        String text = SCHEDULE
+                + "10/28/2026,13,Cy,Roe,1/1/1990,Andrew,Patel,1/21/1989\n"
+                + "10/28/2026,1,Cy,Roe,2/30/1990,Andrew,Patel,1/21/1989\n"
+                + "10/28/2026,1,Cy,Roe,1/1/1990,Jenny,Patel,8/9/1991,mri\n"
+                + "10/28/2026,1,Cy\n"
+                + "rotation,-1\n";
+        assertEquals("Error at line 6, column 2: 13 is not a valid time slot\n"
+                + "Error at line 7, column 5: 2/30/1990 is not a valid calendar date\n"
+                + "Error at line 8, column 9: mri is not an imaging service\n"
+                + "Error at line 9, column 1: expected 8 or 9 fields, found 3\n"
+                + "Error at line 10, column 2: expected a single number after rotation\n", toSnapshot(text, snapshot, 5));
+        assertEquals(SCHEDULE, toText(snapshot));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.project3.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of Date validation, arithmetic and hashing.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class DateTest {
+    @Test
+    void leapDayIsValidInLeapYear() {
+        assertTrue(new Date(2024, 2, 29).isValid());
+        assertFalse(new Date(2023, 2, 29).isValid());
+    }
+
+    @Test
+    void endOfYearIsValid() {
+        assertTrue(new Date(2021, 12, 31).isValid());
+    }
+
+    @Test
+    void aprilHasThirtyDays() {
+        assertFalse(new Date(2019, 4, 31).isValid());
+    }
+
+    @Test
+    void monthAndDayOutOfRangeAreInvalid() {
+        assertFalse(new Date(2022, 13, 1).isValid());
+        assertFalse(new Date(2017, 6, 0).isValid());
+    }
+
+    @Test
+    void weekendFollowsTheEpochDay() {
+        Date saturday = new Date(2024, 11, 2);
+        assertTrue(saturday.isWeekend());
+        assertFalse(saturday.plusDays(2).isWeekend());
+    }
+
+    @Test
+    void plusMonthsClampsToTheEndOfTheMonth() {
+        assertEquals(new Date(2024, 2, 29), new Date(2023, 8, 31).plusMonths(6));
+    }
+
+    @Test
+    void equalDatesHashTheSame() {
+        assertEquals(new Date(2024, 2, 29), new Date(2024, 2, 29));
+        assertEquals(new Date(2024, 2, 29).hashCode(), new Date(2024, 2, 29).hashCode());
+        assertNotEquals(new Date(2024, 2, 29).hashCode(), new Date(2024, 3, 1).hashCode());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.project3.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.DayOfWeek;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the case-insensitive enum lookup of EnumLookup.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class EnumLookupTest {
+    private final EnumLookup<DayOfWeek> days = new EnumLookup<>(DayOfWeek.class);
+
+    @Test
+    void everyConstantIsFoundInAnyCase() {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            assertEquals(day, days.find(day.name()));
+            assertEquals(day, days.find(day.name().toLowerCase()));
+        }
+        assertEquals(DayOfWeek.WEDNESDAY, days.find("WeDnEsDaY"));
+    }
+
+    @Test
+    void regionsAreLookedUpInPlace() {
+        String line = "open mondaY and friday";
+        assertEquals(DayOfWeek.MONDAY, days.find(line, 5, 11));
+        assertEquals(DayOfWeek.FRIDAY, days.find(line, 16, 22));
+        assertNull(days.find(line, 5, 10)); // "monda"
+        assertNull(days.find(line, 0, 4));
+        assertNull(days.find(new StringBuilder("xsundayx"), 0, 8));
+        assertEquals(DayOfWeek.SUNDAY, days.find(new StringBuilder("xsundayx"), 1, 7));
+    }
+
+    @Test
+    void namesOfNoConstantAreNotFound() {
+        assertNull(days.find(""));
+        assertNull(days.find("MONDAYS"));
+        assertNull(days.find("WEDNESDAYS")); // longer than every name
+        assertNull(days.find("MONDAZ"));
+        assertNull(days.find("MON DAY"));
+        assertNull(days.find("monday", 4, 2));
+    }
+
+    @Test
+    void constantsOfTheSameLengthAreToldApart() {
+        EnumLookup<TimeUnit> units = new EnumLookup<>(TimeUnit.class);
+        assertEquals(TimeUnit.MINUTES, units.find("minutes"));
+        assertEquals(TimeUnit.SECONDS, units.find("seconds"));
+        assertEquals(TimeUnit.HOURS, units.find("hours"));
+        assertEquals(TimeUnit.DAYS, units.find("days"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.project3.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the duplicate check of List, linear and hashed, and of its iterators and spliterators.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class ListTest {
+    /**
+     * Helper method. Creates a list holding the given elements.
+     */
+    private static List<String> listOf(boolean hashed, String... elements) {
+        List<String> list = new List<>(0, hashed);
+        for (String element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    /**
+     * Helper method. Reverses a list in place by swapping with set(), as the technician rotation does.
+     */
+    private static void reverse(List<String> list) {
+        int n = list.size();
+        for (int i = 0; i < n / 2; i++) {
+            String temp = list.get(i);
+            list.set(i, list.get(n - i - 1));
+            list.set(n - i - 1, temp);
+        }
+    }
+
+    @Test
+    void addSkipsDuplicates() {
+        for (boolean hashed : new boolean[] {false, true}) {
+            List<String> list = listOf(hashed, "A", "B");
+            assertFalse(list.add("A"));
+            assertTrue(list.add("C"));
+            assertEquals(3, list.size());
+            assertTrue(list.contains("A"));
+        }
+    }
+
+    @Test
+    void hashedListKeepsMembersThroughSwaps() {
+        List<String> list = listOf(true, "A", "B", "C");
+        reverse(list);
+        assertEquals("C", list.get(0));
+        assertEquals("A", list.get(2));
+        for (String element : new String[] {"A", "B", "C"}) {
+            assertTrue(list.contains(element), element);
+        }
+        list.add("C");
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void hashedListForgetsReplacedElement() {
+        List<String> list = listOf(true, "A", "B");
+        list.set(0, "C");
+        assertFalse(list.contains("A"));
+        assertTrue(list.contains("C"));
+        list.add("A");
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void hashedListSetToSameElement() {
+        List<String> list = listOf(true, "A");
+        list.set(0, "A");
+        assertTrue(list.contains("A"));
+    }
+
+    @Test
+    void hashedListRemoveKeepsDuplicateSlot() {
+        List<String> list = new List<>(0, true);
+        list.append("A");
+        list.append("A");
+        list.remove("A");
+        assertEquals(1, list.size());
+        assertTrue(list.contains("A"));
+        list.remove("A");
+        assertFalse(list.contains("A"));
+    }
+
+    @Test
+    void hashedListIteratorRemove() {
+        List<String> list = listOf(true, "A", "B");
+        Iterator<String> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse(list.contains("A"));
+        assertTrue(list.contains("B"));
+    }
+
+    @Test
+    void iteratorsWalkTheListIndependently() {
+        List<String> list = listOf(false, "A", "B", "C");
+        list.next(); // the legacy cursor is not shared with the iterators
+        StringBuilder pairs = new StringBuilder();
+        for (String outer : list) {
+            for (String inner : list) {
+                pairs.append(outer).append(inner).append(' ');
+            }
+        }
+        assertEquals("AA AB AC BA BB BC CA CB CC ", pairs.toString());
+        Iterator<String> first = list.iterator();
+        Iterator<String> second = list.iterator();
+        assertEquals("A", first.next());
+        assertEquals("B", first.next());
+        assertEquals("A", second.next());
+        assertEquals("C", first.next());
+        assertFalse(first.hasNext());
+        assertTrue(second.hasNext());
+        assertEquals("B", list.next());
+    }
+
+    @Test
+    void iteratorFailsFastOnAddsAndRemoves() {
+        List<String> list = listOf(true, "A", "B", "C");
+        Iterator<String> adding = list.iterator();
+        adding.next();
+        list.add("D");
+        assertThrows(ConcurrentModificationException.class, adding::next);
+        Iterator<String> removing = list.iterator();
+        removing.next();
+        list.remove("C");
+        assertThrows(ConcurrentModificationException.class, removing::next);
+        Iterator<String> setting = list.iterator();
+        setting.next();
+        list.set(1, "E"); // not a structural change
+        assertEquals("E", setting.next());
+        Iterator<String> own = list.iterator();
+        own.next();
+        own.remove();
+        assertEquals("E", own.next()); // its own removals keep it valid
+        Iterator<String> other = list.iterator();
+        own.remove();
+        assertThrows(ConcurrentModificationException.class, other::next);
+        assertThrows(IllegalStateException.class, own::remove);
+    }
+
+    @Test
+    void spliteratorIsSizedAndSplits() {
+        List<Integer> list = new List<>();
+        for (int i = 0; i < 1000; i++) {
+            list.append(i);
+        }
+        Spliterator<Integer> whole = list.spliterator();
+        assertTrue(whole.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(1000, whole.getExactSizeIfKnown());
+        Spliterator<Integer> prefix = whole.trySplit();
+        assertNotNull(prefix);
+        assertTrue(prefix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(1000, prefix.getExactSizeIfKnown() + whole.getExactSizeIfKnown());
+        ArrayList<Integer> elements = new ArrayList<>();
+        prefix.forEachRemaining(elements::add);
+        whole.forEachRemaining(elements::add);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, elements.get(i));
+        }
+        assertEquals(499500, list.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(list.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                list.parallelStream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+}
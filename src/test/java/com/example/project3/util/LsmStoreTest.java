@@ -0,0 +1,114 @@
+package com.example.project3.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of LsmStore against a TreeMap holding the same entries.
+ * @author Sriya Vemuri, Zeel Patel
+ */
+class LsmStoreTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Helper method. Creates a random key from a small set, so keys are often overwritten and deleted.
+     * Keys vary in length and use bytes above 0x7F, which must order as unsigned.
+     */
+    private static byte[] randomKey(Random random) {
+        int id = random.nextInt(3000);
+        byte[] key = new byte[1 + id % 7];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (byte) (id * 37 >>> (i * 3));
+        }
+        return key;
+    }
+
+    /**
+     * Helper method. Creates a random value, now and then one longer than a block.
+     */
+    private static byte[] randomValue(Random random) {
+        byte[] value = new byte[random.nextInt(50) == 0 ? 5000 : random.nextInt(200)];
+        random.nextBytes(value);
+        return value;
+    }
+
+    /**
+     * Helper method. Scans a store into a list of entries.
+     */
+    private static ArrayList<Map.Entry<byte[], byte[]>> scan(LsmStore store, byte[] from, byte[] to) {
+        ArrayList<Map.Entry<byte[], byte[]>> entries = new ArrayList<>();
+        store.scan(from, to, (key, value) -> entries.add(Map.entry(key, value)));
+        return entries;
+    }
+
+    /**
+     * Helper method. Checks that a scan returned exactly the entries of the model in the range, in order.
+     */
+    private static void assertScan(TreeMap<byte[], byte[]> model, byte[] from, byte[] to,
+                                   ArrayList<Map.Entry<byte[], byte[]>> entries) {
+        Map<byte[], byte[]> expected = to == null ? model.tailMap(from, true) : model.subMap(from, true, to, false);
+        assertEquals(expected.size(), entries.size());
+        int i = 0;
+        for (Map.Entry<byte[], byte[]> entry : expected.entrySet()) {
+            assertArrayEquals(entry.getKey(), entries.get(i).getKey());
+            assertArrayEquals(entry.getValue(), entries.get(i).getValue());
+            i++;
+        }
+    }
+
+    @Test
+    void randomOperationsMatchATreeMap() throws IOException {
+        TreeMap<byte[], byte[]> model = new TreeMap<>(Arrays::compareUnsigned);
+        Random random = new Random(24);
+        LsmStore store = new LsmStore(directory);
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                int operation = random.nextInt(100);
+                if (operation < 45) {
+                    byte[] key = randomKey(random);
+                    byte[] value = randomValue(random);
+                    store.put(key, value);
+                    model.put(key, value);
+                } else if (operation < 65) {
+                    byte[] key = randomKey(random);
+                    store.delete(key);
+                    model.remove(key);
+                } else if (operation < 88) {
+                    byte[] key = randomKey(random);
+                    assertArrayEquals(model.get(key), store.get(key));
+                } else if (operation < 96) {
+                    byte[] from = randomKey(random);
+                    byte[] to = random.nextInt(4) == 0 ? null : randomKey(random);
+                    if (to != null && Arrays.compareUnsigned(from, to) > 0) {
+                        byte[] swap = from;
+                        from = to;
+                        to = swap;
+                    }
+                    assertScan(model, from, to, scan(store, from, to));
+                } else if (operation < 99) {
+                    store.flush(); // a segment per flush, so the segments are merged every few
+                } else {
+                    store.close();
+                    store = new LsmStore(directory);
+                }
+            }
+            assertScan(model, new byte[0], null, scan(store, new byte[0], null));
+        } finally {
+            store.close();
+        }
+        try (LsmStore reopened = new LsmStore(directory)) {
+            assertScan(model, new byte[0], null, scan(reopened, new byte[0], null));
+        }
+    }
+}